@@ -3,6 +3,7 @@ plugins {
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
     id("jacoco")
+    alias(libs.plugins.jmh)
 }
 
 configurations {
@@ -11,6 +12,18 @@ configurations {
     }
 }
 
+// load test (src/loadtest/java) - main 코드와 같은 classpath 에서 애플리케이션을 띄워 부하를 보낸다
+sourceSets {
+    create("loadtest") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+configurations {
+    getByName("loadtestImplementation").extendsFrom(implementation.get())
+    getByName("loadtestRuntimeOnly").extendsFrom(runtimeOnly.get())
+}
+
 allprojects {
     group = property("app.group").toString()
 }
@@ -23,10 +36,12 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
     testImplementation(libs.spring.boot.starter.test)
+    "loadtestImplementation"(libs.hdrhistogram)
 }
 
 // about source and compilation
@@ -38,6 +53,25 @@ with(extensions.getByType(JacocoPluginExtension::class.java)) {
     toolVersion = "0.8.7"
 }
 
+// benchmarks (src/jmh/java) - ./gradlew jmh [-Pjmh.includes=<benchmark regex>]
+jmh {
+    profilers.add("gc")
+    (findProperty("jmh.includes") as String?)?.let { includes.add(it) }
+}
+
+// load test - ./gradlew loadTest [-PloadTest.rate=3 -PloadTest.durationSeconds=30 -PloadTest.schedulers=priority,fair ...]
+// 설정 목록은 src/loadtest/java/io/hhplus/tdd/loadtest/LoadTestConfig.java
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs the open-loop load generator against the point API and reports latency percentiles."
+    classpath = sourceSets["loadtest"].runtimeClasspath
+    mainClass.set("io.hhplus.tdd.loadtest.PointLoadTest")
+    systemProperty("loadTest.reportDir", layout.buildDirectory.dir("reports/loadtest").get().asFile.path)
+    project.properties
+        .filterKeys { it.startsWith("loadTest.") }
+        .forEach { (key, value) -> systemProperty(key, value.toString()) }
+}
+
 // bundling tasks
 tasks.getByName("bootJar") {
     enabled = true
@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 응답 직렬화: Jackson vs PointJsonWriter
+ * 응답당 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 비교한다.
+ *
+ * ./gradlew jmh -Pjmh.includes=PointJsonBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointJsonBenchmark {
+
+    // 쓴 바이트 수만 세고 버리는 출력 스트림 (소켓 쓰기 비용은 비교 대상에서 제외한다)
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    @Param({"1", "100"})
+    private int historyCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PointJsonWriter writer = new PointJsonWriter(4096);
+    private UserPoint userPoint;
+    private List<PointHistory> histories;
+    private final CountingOutputStream out = new CountingOutputStream();
+
+    @Setup
+    public void setUp() {
+        userPoint = new UserPoint(1, 4500, System.currentTimeMillis());
+        histories = new ArrayList<>();
+        for (int i = 1; i <= historyCount; i++)
+            histories.add(new PointHistory(i, 1, i * 100L, i % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, System.currentTimeMillis()));
+    }
+
+    @Benchmark
+    public long jacksonUserPoint() throws IOException {
+        objectMapper.writeValue(out, userPoint);
+        return out.count;
+    }
+
+    @Benchmark
+    public long writerUserPoint() throws IOException {
+        writer.reset().write(userPoint).writeTo(out);
+        return out.count;
+    }
+
+    @Benchmark
+    public long jacksonHistories() throws IOException {
+        objectMapper.writeValue(out, histories);
+        return out.count;
+    }
+
+    @Benchmark
+    public long writerHistories() throws IOException {
+        writer.reset().write(histories).writeTo(out);
+        return out.count;
+    }
+}
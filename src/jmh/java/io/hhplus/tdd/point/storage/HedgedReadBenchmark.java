@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point.storage;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔액 조회 지연: UserPointTable 직접 조회 vs 헤지 조회
+ * SampleTime 모드의 p0.99 / p0.999 로 꼬리 지연을 비교한다.
+ * - direct : UserPointTable.selectById
+ * - hedged-p90 : p90 임계값, 추가 부하 10% (기본 설정)
+ * - hedged-p50 : p50 임계값, 추가 부하 50%
+ * UserPointTable 의 조회 지연은 0~200ms 균등분포라 꼬리가 짧다.
+ * 모든 조회를 두 번 보내도 p99 는 약 180ms 가 하한이므로, 헤지의 효과는 꼬리가 긴 저장소에서 더 크다.
+ *
+ * ./gradlew jmh -Pjmh.includes=HedgedReadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Threads(16)
+@Fork(1)
+public class HedgedReadBenchmark {
+
+    private static final int USERS = 100;
+
+    @Param({"direct", "hedged-p90", "hedged-p50"})
+    private String mode;
+
+    private UserPointReader reader;
+    private HedgedUserPointReader hedged;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserPointTable table = new UserPointTable(); // 조회 지연은 유저가 있든 없든 같다
+        switch (mode) {
+            case "direct" -> reader = table::selectById;
+            case "hedged-p90" -> reader = hedged = new HedgedUserPointReader(table::selectById, new SimpleMeterRegistry(),
+                    0.9, 0.1, 20, 100, 5);
+            case "hedged-p50" -> reader = hedged = new HedgedUserPointReader(table::selectById, new SimpleMeterRegistry(),
+                    0.5, 0.5, 20, 100, 5);
+            default -> throw new RuntimeException("알 수 없는 mode 입니다: " + mode);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (hedged != null)
+            hedged.close();
+    }
+
+    @Benchmark
+    public UserPoint read() {
+        return reader.read(ThreadLocalRandom.current().nextLong(1, USERS + 1));
+    }
+}
@@ -0,0 +1,55 @@
+package io.hhplus.tdd.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 부하가 끝난 뒤 유저별 최종 잔액을 포인트 내역과 비교한다.
+ * - 잔액 = CHARGE 합계 - USE 합계 - EXPIRE 합계 이어야 한다.
+ * - 이번 부하에서 성공(200) 응답을 받은 요청 수만큼 내역이 있어야 한다. (offset 유저는 부하 전에 내역이 없다고 가정한다)
+ */
+final class ConsistencyCheck {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    List<String> verify(String baseUrl, Collection<Long> userIds, Map<Long, AtomicLong> committed) throws IOException, InterruptedException {
+        List<String> mismatches = new ArrayList<>();
+        for (long userId : userIds) {
+            long balance = get(baseUrl + "/point/" + userId).get("point").asLong();
+            JsonNode histories = get(baseUrl + "/point/" + userId + "/histories");
+
+            long expected = 0;
+            for (JsonNode history : histories) {
+                long amount = history.get("amount").asLong();
+                expected += "CHARGE".equals(history.get("type").asText()) ? amount : -amount;
+            }
+            if (balance != expected)
+                mismatches.add("userId=" + userId + " 잔액=" + balance + " 내역합계=" + expected);
+
+            AtomicLong committedCount = committed.get(userId);
+            long succeeded = committedCount == null ? 0 : committedCount.get();
+            if (histories.size() != succeeded)
+                mismatches.add("userId=" + userId + " 성공응답=" + succeeded + " 내역수=" + histories.size());
+        }
+        return mismatches;
+    }
+
+    private JsonNode get(String url) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200)
+            throw new IOException(url + " 조회 실패 status=" + response.statusCode());
+        return objectMapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 시드로 미리 만들어 두는 요청 목록
+ * 요청마다 보낼 시각(시작 기준 ns), 유저, 충전/사용, 포인트가 정해져 있어 실행할 때마다 같은 부하가 나온다.
+ */
+final class LoadPlan {
+
+    record Request(long sendAtNanos, long userId, boolean charge, long amount) {
+    }
+
+    private LoadPlan() {
+    }
+
+    static List<Request> of(LoadTestConfig config) {
+        Random random = new Random(config.seed());
+        double[] cdf = zipfCdf(config.users(), config.zipfSkew());
+        long intervalNanos = (long) (1_000_000_000L / config.ratePerSecond());
+
+        List<Request> requests = new ArrayList<>(config.totalRequests());
+        for (int i = 0; i < config.totalRequests(); i++) {
+            long userId = config.userIdOffset() + 1 + rankOf(cdf, random.nextDouble());
+            boolean charge = random.nextDouble() < config.chargeRatio();
+            long amount = charge ? 1000 : 100L * (1 + random.nextInt(5)); // 충전 1000, 사용 100~500
+            requests.add(new Request(i * intervalNanos, userId, charge, amount));
+        }
+        return requests;
+    }
+
+    // 순위 k(0부터)의 유저가 뽑힐 확률이 1/(k+1)^skew 에 비례하는 누적분포
+    private static double[] zipfCdf(int users, double skew) {
+        double[] cdf = new double[users];
+        double sum = 0;
+        for (int k = 0; k < users; k++) {
+            sum += 1.0 / Math.pow(k + 1, skew);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < users; k++)
+            cdf[k] /= sum;
+        return cdf;
+    }
+
+    private static int rankOf(double[] cdf, double u) {
+        int low = 0;
+        int high = cdf.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cdf[mid] < u)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,86 @@
+package io.hhplus.tdd.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 요청 목록을 open-loop 로 실제 HTTP 로 보낸다.
+ * - 요청은 응답을 기다리지 않고 계획된 시각에 보낸다. 서버가 느려져도 보내는 속도는 줄지 않는다.
+ * - 지연시간은 실제로 보낸 시각이 아니라 계획된 시각부터 잰다.
+ *   보내는 쪽이 밀려서 늦게 보낸 시간도 지연시간에 들어가므로 coordinated omission 이 생기지 않는다.
+ */
+final class LoadRunner {
+
+    private static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+
+    /**
+     * @param latency : 계획된 시각부터 응답까지 걸린 시간(us)
+     * @param statusCounts : 응답 상태별 개수 (-1 은 통신 실패)
+     * @param committed : 유저별로 성공(200) 응답을 받은 충전/사용 수
+     * @param elapsedNanos : 첫 요청부터 마지막 응답까지 걸린 시간
+     */
+    record Result(Histogram latency, Map<Integer, AtomicLong> statusCounts, Map<Long, AtomicLong> committed, long elapsedNanos) {
+
+        long count(int status) {
+            AtomicLong count = statusCounts.get(status);
+            return count == null ? 0 : count.get();
+        }
+
+        long total() {
+            return statusCounts.values().stream().mapToLong(AtomicLong::get).sum();
+        }
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    Result run(String baseUrl, List<LoadPlan.Request> plan, long requestTimeoutMillis) {
+        Histogram latency = new ConcurrentHistogram(Duration.ofMinutes(10).toNanos() / 1000, 3);
+        Map<Integer, AtomicLong> statusCounts = new ConcurrentHashMap<>();
+        Map<Long, AtomicLong> committed = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[plan.size()];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < plan.size(); i++) {
+            LoadPlan.Request request = plan.get(i);
+            long intendedNanos = start + request.sendAtNanos();
+            long waitNanos = intendedNanos - System.nanoTime();
+            if (waitNanos > 0)
+                LockSupport.parkNanos(waitNanos);
+
+            responses[i] = client.sendAsync(httpRequest(baseUrl, request, requestTimeoutMillis), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        latency.recordValue(Math.max(0, (System.nanoTime() - intendedNanos) / 1000));
+                        int status = error != null ? -1 : response.statusCode();
+                        statusCounts.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+                        if (status == 200)
+                            committed.computeIfAbsent(request.userId(), id -> new AtomicLong()).incrementAndGet();
+                        return null;
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+        return new Result(latency, statusCounts, committed, System.nanoTime() - start);
+    }
+
+    private HttpRequest httpRequest(String baseUrl, LoadPlan.Request request, long requestTimeoutMillis) {
+        String path = "/point/" + request.userId() + (request.charge() ? "/charge" : "/use");
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .header(REQUEST_TIMEOUT_HEADER, String.valueOf(requestTimeoutMillis))
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(request.amount())))
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package io.hhplus.tdd.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 부하 테스트 설정. 모두 시스템 프로퍼티(-PloadTest.xxx=값)로 바꿀 수 있다.
+ *
+ * @param targetUrl : 부하를 보낼 서버 주소. 비어 있으면 schedulers 마다 애플리케이션을 이 프로세스에 띄운다.
+ * @param schedulers : 비교할 쓰기 스케줄러 목록 (point.write.scheduler 값)
+ * @param ratePerSecond : 초당 요청 수 (open-loop: 응답을 기다리지 않고 정해진 시각에 보낸다)
+ * @param durationSeconds : 부하를 보내는 시간(초)
+ * @param users : 유저아이디 범위 (userIdOffset+1 ~ userIdOffset+users)
+ * @param userIdOffset : 유저아이디 시작값 (이미 떠 있는 서버의 다른 유저와 겹치지 않게 할 때 사용한다)
+ * @param zipfSkew : 유저 분포의 치우침. 0 이면 균등 분포, 클수록 일부 유저에게 몰린다.
+ * @param chargeRatio : 요청 중 충전 비율 (나머지는 사용)
+ * @param requestTimeoutMillis : 요청마다 보내는 X-Request-Timeout 값
+ * @param seed : 요청 순서를 만드는 난수 시드. 같은 시드면 같은 요청 순서가 나온다.
+ * @param reportDir : 보고서를 쓸 디렉터리
+ * @param readyTimeoutSeconds : 측정 전에 서버의 readiness(워밍업 포함)가 UP 이 되기를 기다리는 최대 시간(초)
+ */
+record LoadTestConfig(
+        String targetUrl,
+        List<String> schedulers,
+        double ratePerSecond,
+        int durationSeconds,
+        int users,
+        long userIdOffset,
+        double zipfSkew,
+        double chargeRatio,
+        long requestTimeoutMillis,
+        long seed,
+        String reportDir,
+        int readyTimeoutSeconds
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                System.getProperty("loadTest.targetUrl", ""),
+                Arrays.stream(System.getProperty("loadTest.schedulers", "priority,fair").split(","))
+                        .map(String::trim).filter(s -> !s.isEmpty()).toList(),
+                Double.parseDouble(System.getProperty("loadTest.rate", "3")),
+                Integer.parseInt(System.getProperty("loadTest.durationSeconds", "30")),
+                Integer.parseInt(System.getProperty("loadTest.users", "50")),
+                Long.parseLong(System.getProperty("loadTest.userIdOffset", "100000")),
+                Double.parseDouble(System.getProperty("loadTest.zipfSkew", "1.0")),
+                Double.parseDouble(System.getProperty("loadTest.chargeRatio", "0.5")),
+                Long.parseLong(System.getProperty("loadTest.requestTimeoutMillis", "3000")),
+                Long.parseLong(System.getProperty("loadTest.seed", "42")),
+                System.getProperty("loadTest.reportDir", "build/reports/loadtest"),
+                Integer.parseInt(System.getProperty("loadTest.readyTimeoutSeconds", "120")));
+    }
+
+    int totalRequests() {
+        return (int) Math.round(ratePerSecond * durationSeconds);
+    }
+}
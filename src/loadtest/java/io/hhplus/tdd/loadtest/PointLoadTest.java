@@ -0,0 +1,123 @@
+package io.hhplus.tdd.loadtest;
+
+import io.hhplus.tdd.TddApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 API 부하 테스트 (./gradlew loadTest)
+ * - 시드로 만든 같은 요청 목록을 쓰기 스케줄러(point.write.scheduler)별로 실행해 지연시간과 처리량을 비교한다.
+ * - loadTest.targetUrl 을 주면 이미 떠 있는 서버 하나에만 부하를 보낸다.
+ * - 부하를 보내기 전에 서버의 readiness 가 UP 이 될 때까지 기다린다. (워밍업이 끝나기 전의 요청은 측정에 넣지 않는다)
+ * - 부하가 끝나면 유저별 잔액을 포인트 내역과 비교하고, 하나라도 어긋나면 실패(exit 1)로 끝난다.
+ * - 보고서는 콘솔과 loadTest.reportDir/report.txt 에 남긴다.
+ */
+public class PointLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        List<LoadPlan.Request> plan = LoadPlan.of(config);
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("요청 %d건 | %.1f req/s x %ds | 유저 %d명 (zipf %.2f) | 충전 비율 %.2f | seed %d",
+                plan.size(), config.ratePerSecond(), config.durationSeconds(), config.users(),
+                config.zipfSkew(), config.chargeRatio(), config.seed()));
+        report.add(String.format("%-10s %8s %8s %8s %8s %8s %10s %10s %10s %10s %10s  %s",
+                "scheduler", "total", "200", "500", "503", "error", "ok/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "consistency"));
+
+        boolean consistent = true;
+        if (!config.targetUrl().isEmpty()) {
+            consistent = run("remote", config.targetUrl(), config, plan, report);
+        } else {
+            for (String scheduler : config.schedulers()) {
+                try (ConfigurableApplicationContext app = start(scheduler)) {
+                    int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                    consistent &= run(scheduler, "http://localhost:" + port, config, plan, report);
+                }
+            }
+        }
+
+        report.forEach(System.out::println);
+        Path reportFile = Path.of(config.reportDir(), "report.txt");
+        Files.createDirectories(reportFile.getParent());
+        Files.write(reportFile, report, StandardCharsets.UTF_8);
+        System.exit(consistent ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext start(String scheduler) {
+        return new SpringApplicationBuilder(TddApplication.class).run(
+                "--server.port=0",
+                "--point.write.scheduler=" + scheduler);
+    }
+
+    private static boolean run(String name, String baseUrl, LoadTestConfig config, List<LoadPlan.Request> plan, List<String> report)
+            throws IOException, InterruptedException {
+        awaitReady(baseUrl, config.readyTimeoutSeconds());
+        LoadRunner.Result result = new LoadRunner().run(baseUrl, plan, config.requestTimeoutMillis());
+
+        TreeSet<Long> userIds = new TreeSet<>();
+        plan.forEach(request -> userIds.add(request.userId()));
+        List<String> mismatches = new ConsistencyCheck().verify(baseUrl, userIds, result.committed());
+
+        Histogram latency = result.latency();
+        double seconds = result.elapsedNanos() / 1e9;
+        report.add(String.format("%-10s %8d %8d %8d %8d %8d %10.2f %10.1f %10.1f %10.1f %10.1f  %s",
+                name, result.total(), result.count(200), result.count(500), result.count(503), result.count(-1),
+                result.count(200) / seconds,
+                latency.getValueAtPercentile(50) / 1000.0,
+                latency.getValueAtPercentile(99) / 1000.0,
+                latency.getValueAtPercentile(99.9) / 1000.0,
+                latency.getMaxValue() / 1000.0,
+                mismatches.isEmpty() ? "OK" : "불일치 " + mismatches.size() + "건"));
+        mismatches.forEach(mismatch -> report.add("    " + mismatch));
+        return mismatches.isEmpty();
+    }
+
+    /**
+     * /actuator/health/readiness 가 UP 이 될 때까지 기다린다.
+     * readiness 그룹에 워밍업(pointWarmup)이 들어 있으므로, 워밍업 중의 느린 요청이 측정에 섞이지 않는다.
+     * 서버에 readiness probe 가 없으면(404) 기다리지 않는다.
+     *
+     * @throws IllegalStateException timeoutSeconds 안에 UP 이 되지 않은 경우
+     */
+    private static void awaitReady(String baseUrl, int timeoutSeconds) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        String last = "응답 없음";
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 404) {
+                    System.out.println("readiness probe 가 없어 기다리지 않습니다. " + baseUrl);
+                    return;
+                }
+                if (response.statusCode() == 200 && response.body().contains("\"UP\""))
+                    return;
+                last = response.statusCode() + " " + response.body();
+            } catch (IOException e) {
+                last = e.getMessage();
+            }
+            TimeUnit.MILLISECONDS.sleep(200);
+        }
+        throw new IllegalStateException("서버가 " + timeoutSeconds + "초 안에 준비되지 않았습니다. " + baseUrl + " (" + last + ")");
+    }
+}
@@ -1,5 +1,7 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.PointNotOwnedException;
+import io.hhplus.tdd.point.PointRequestTimeoutException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -7,6 +9,18 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
+    // 마감시각이 지나 버려진 요청은 과부하 상황이므로 503 으로 응답한다.
+    @ExceptionHandler(value = PointRequestTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleRequestTimeout(PointRequestTimeoutException e) {
+        return ResponseEntity.status(503).body(new ErrorResponse("503", e.getMessage()));
+    }
+
+    // 다른 노드가 소유한 유저의 요청은 소유 노드로 다시 보내야 하므로 421 로 응답한다.
+    @ExceptionHandler(value = PointNotOwnedException.class)
+    public ResponseEntity<ErrorResponse> handleNotOwned(PointNotOwnedException e) {
+        return ResponseEntity.status(421).body(new ErrorResponse("421", e.getMessage()));
+    }
+
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 커밋된 포인트 변경 (유저포인트 업데이트 + 포인트 내역 insert)
+ *
+ * @param userPoint : 변경후 유저포인트
+ * @param history : 함께 insert 된 포인트 내역
+ * @param replicated : 다른 노드에서 복제되어 적용된 변경이면 true
+ */
+public record PointCommit(
+        UserPoint userPoint,
+        PointHistory history,
+        boolean replicated
+) {
+}
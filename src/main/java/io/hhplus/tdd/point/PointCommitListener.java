@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 변경이 커밋된 뒤 호출되는 리스너
+ * 쓰기 권한을 가진 상태에서 호출되므로 같은 유저의 변경은 커밋된 순서대로 전달된다.
+ * 쓰기 작업을 붙잡고 있으므로 오래 걸리는 작업은 하지 않는다.
+ */
+public interface PointCommitListener {
+    void onCommit(PointCommit commit);
+
+    /**
+     * 쓰기 도중 실패했을 때 호출된다. 잔액과 내역 중 일부만 쓰였을 수 있다.
+     */
+    default void onWriteFailure(long userId, RuntimeException cause) {
+    }
+}
@@ -2,9 +2,14 @@ package io.hhplus.tdd.point;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import io.hhplus.tdd.point.routing.PointRequestRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/point")
@@ -12,28 +17,57 @@ public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
     private final PointService service;
-    public PointController(PointService service) {
+    private final PointVersionRegistry versions; // 조회 응답의 ETag 를 만드는 유저별 버전
+    private final PointRequestTimeout requestTimeout; // X-Request-Timeout 으로 마감시각을 계산한다
+    private final PointRequestRouter router; // 노드 간 라우팅을 켜지 않았으면 null
+    private final long promotionExpiryMillis; // 프로모션 포인트의 유효기간(ms)
+
+    public PointController(
+            PointService service,
+            PointVersionRegistry versions,
+            ObjectProvider<PointRequestRouter> router,
+            PointRequestTimeout requestTimeout,
+            @Value("${point.expiry.promotion-days:30}") long promotionDays
+    ) {
         this.service = service;
+        this.versions = versions;
+        this.router = router.getIfAvailable();
+        this.requestTimeout = requestTimeout;
+        this.promotionExpiryMillis = TimeUnit.DAYS.toMillis(promotionDays);
     }
 
     /**
      * 특정 유저의 포인트를 조회하는 기능
+     * If-None-Match 가 현재 ETag 와 같으면 저장소를 읽지 않고 304 로 응답한다.
      */
     @GetMapping("{id}")
     public UserPoint point(
-            @PathVariable long id
+            @PathVariable long id,
+            WebRequest request
     ) {
+        // 버전을 먼저 읽어야 응답 본문이 ETag 보다 오래된 데이터가 되지 않는다.
+        if (request.checkNotModified(versions.pointETag(id)))
+            return null;
         return service.getUserPointByUserId(id);
     }
 
     /**
      * 특정 유저의 포인트 충전/이용 내역을 조회하는 기능
+     * afterId 나 limit 을 주면 내역 id 가 afterId 보다 큰 내역을 최대 limit 개만 조회한다. (다음 페이지는 마지막 id 로 조회)
+     * If-None-Match 가 현재 ETag 와 같으면 저장소를 읽지 않고 304 로 응답한다.
      */
     @GetMapping("{id}/histories")
     public List<PointHistory> history(
-            @PathVariable long id
+            @PathVariable long id,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request
     ) {
-        return service.getPointHistoryByUserId(id);
+        if (request.checkNotModified(versions.historyETag(id)))
+            return null;
+        if (afterId == null && limit == null)
+            return service.getPointHistoryByUserId(id);
+        return service.getPointHistoryByUserId(id, afterId == null ? 0 : afterId, limit == null ? Integer.MAX_VALUE : limit);
     }
 
     /**
@@ -42,9 +76,24 @@ public class PointController {
     @PatchMapping("{id}/charge")
     public UserPoint charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = PointRequestTimeout.HEADER, required = false) Long timeoutMillis
+    ) {
+        return service.chargePoint(id, amount, deadlineOf(timeoutMillis));
+    }
+
+    /**
+     * 특정 유저에게 프로모션 포인트를 충전하는 기능
+     * 충전한 포인트는 설정된 유효기간(point.expiry.promotion-days)이 지나면 남은 만큼 만료된다.
+     */
+    @PatchMapping("{id}/charge/promotion")
+    public UserPoint chargePromotion(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = PointRequestTimeout.HEADER, required = false) Long timeoutMillis
     ) {
-        return service.chargePoint(id, amount);
+        long expireAtMillis = System.currentTimeMillis() + promotionExpiryMillis;
+        return service.chargePromotionPoint(id, amount, expireAtMillis, deadlineOf(timeoutMillis));
     }
 
     /**
@@ -53,8 +102,32 @@ public class PointController {
     @PatchMapping("{id}/use")
     public UserPoint use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = PointRequestTimeout.HEADER, required = false) Long timeoutMillis
     ) {
-        return service.usePoint(id, amount);
+        return service.usePoint(id, amount, deadlineOf(timeoutMillis));
+    }
+
+    /**
+     * 한 유저의 포인트를 다른 유저에게 이체하는 기능
+     * 노드 간 라우팅을 켠 경우 두 유저 모두 이 노드가 소유해야 한다. (유저의 쓰기는 소유 노드에서만 실행한다)
+     * 아니면 421 로 응답한다.
+     */
+    @PostMapping("transfer")
+    public PointTransfer transfer(
+            @RequestBody PointTransferRequest transfer,
+            @RequestHeader(value = PointRequestTimeout.HEADER, required = false) Long timeoutMillis
+    ) {
+        if (router != null && !(router.isLocal(transfer.from()) && router.isLocal(transfer.to())))
+            throw new PointNotOwnedException("이 노드가 소유하지 않은 유저의 포인트는 이체할 수 없습니다.");
+        return service.transferPoint(transfer.from(), transfer.to(), transfer.amount(), deadlineOf(timeoutMillis));
+    }
+
+    /**
+     * 요청 제한시간으로 마감시각(epoch millis)을 계산한다.
+     * 헤더가 없으면 설정된 기본 제한시간을 사용하고, 헤더 값은 1ms ~ 최대 제한시간으로 맞춘다. (PointRequestTimeout)
+     */
+    private long deadlineOf(Long timeoutMillis) {
+        return requestTimeout.deadlineOf(timeoutMillis);
     }
 }
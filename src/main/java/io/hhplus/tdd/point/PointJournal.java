@@ -0,0 +1,277 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.storage.PointHistoryStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 잔액 변경과 포인트 내역을 한 단위로 커밋하는 메모리 저널
+ * - 변경 전 잔액(before)과 변경 후 잔액(after), 내역을 먼저 저널에 올린(stage) 뒤 잔액 → 내역 순서로 쓴다.
+ * - 쓰는 도중 실패하면
+ *   내역을 하나도 쓰지 않았으면 잔액을 before 로 되돌리고(rollback) 실패로 끝낸다.
+ *   내역을 하나라도 썼으면(내역은 지울 수 없으므로) 남은 내역을 다시 써서(redo) 커밋을 마친다.
+ * - 복구까지 실패한 항목은 저널에 남는다. 그 유저의 다음 쓰기 전에 recover 로 먼저 마무리한다.
+ *   나중에 redo 로 마친 커밋은 recover 가 돌려준다. 호출한 쪽이 커밋으로 알려야 한다.
+ * - 내역을 다시 쓸 때는 같은 내역이 이미 있는지 먼저 확인한다. (쓰기는 됐는데 실패로 응답한 경우 중복을 막는다)
+ *   insert 를 시도했다가 실패한 내역만 확인하고, 항목을 올릴 때의 내역 id 다음부터의 유저 내역만 읽는다.
+ * - 잔액은 행(rowId) 단위로 쓴다. 줄무늬 잔액(StripedBalances)을 합칠 때는 내역 없이 잔액만 바꾸는 변경도 함께 올린다.
+ * - 저널은 메모리에만 있다. 내역 저장소도 실행마다 새로 시작하므로 프로세스가 죽으면 함께 사라진다.
+ * - 쓰기 권한을 가진 상태에서만 호출한다. (Table 클래스는 스레드 안전하지 않다)
+ */
+final class PointJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(PointJournal.class);
+
+    /**
+     * 잔액 행 하나의 변경과 그에 따른 내역
+     *
+     * @param rowId : 잔액을 쓸 UserPointTable 행. 보통은 userId 이고, 줄무늬 잔액이면 줄무늬 행이다.
+     * @param userId : 내역을 남길 유저아이디
+     * @param beforePoint : 변경 전 잔액 (rollback 할 값)
+     * @param afterPoint : 변경 후 잔액
+     * @param type : 내역의 트랜잭션 종류. null 이면 잔액만 바꾸고 내역은 남기지 않는다. (줄무늬 잔액 합치기)
+     * @param historyMillis : 내역에 남길 시각. USE_BALANCE_MILLIS 면 잔액이 바뀐 시각을 쓴다.
+     */
+    record Mutation(long rowId, long userId, long beforePoint, long afterPoint, long amount, TransactionType type, long historyMillis) {
+
+        static final long USE_BALANCE_MILLIS = -1;
+
+        Mutation(long userId, long beforePoint, long afterPoint, long amount, TransactionType type) {
+            this(userId, userId, beforePoint, afterPoint, amount, type, USE_BALANCE_MILLIS);
+        }
+
+        Mutation(long userId, long beforePoint, long afterPoint, long amount, TransactionType type, long historyMillis) {
+            this(userId, userId, beforePoint, afterPoint, amount, type, historyMillis);
+        }
+
+        // 내역 없이 잔액 행만 바꾼다
+        static Mutation balanceOnly(long rowId, long userId, long beforePoint, long afterPoint) {
+            return new Mutation(rowId, userId, beforePoint, afterPoint, 0, null, USE_BALANCE_MILLIS);
+        }
+
+        boolean hasHistory() {
+            return type != null;
+        }
+    }
+
+    // 저널에 올라간 변경 묶음. 어디까지 썼는지 기록한다.
+    private static final class Entry {
+        final List<Mutation> mutations;
+        final long historyIdFloor; // 이 항목을 올릴 때까지 쓴 내역 id. 이 항목의 내역은 이보다 큰 id 를 가진다.
+        final boolean replicated;
+        final UserPoint[] balances;
+        final PointHistory[] histories;
+        int balancesApplied;
+        int historiesApplied;
+        int historyAttempted = -1; // 마지막으로 insert 를 시도한 내역. 이 내역만 실패로 응답하고도 쓰였을 수 있다.
+
+        Entry(List<Mutation> mutations, long historyIdFloor, boolean replicated) {
+            this.mutations = mutations;
+            this.historyIdFloor = historyIdFloor;
+            this.replicated = replicated;
+            this.balances = new UserPoint[mutations.size()];
+            this.histories = new PointHistory[mutations.size()];
+        }
+
+        long historyMillis(int i) {
+            Mutation mutation = mutations.get(i);
+            return mutation.historyMillis() == Mutation.USE_BALANCE_MILLIS ? balances[i].updateMillis() : mutation.historyMillis();
+        }
+
+        boolean anyHistoryWritten() {
+            for (PointHistory history : histories)
+                if (history != null)
+                    return true;
+            return false;
+        }
+
+        // 내역을 남기는 첫 변경. 없으면 -1
+        int firstHistory() {
+            for (int i = 0; i < mutations.size(); i++)
+                if (mutations.get(i).hasHistory())
+                    return i;
+            return -1;
+        }
+
+        // 내역을 남기는 변경만 mutations 순서대로 돌려준다
+        List<PointCommit> commits() {
+            List<PointCommit> commits = new ArrayList<>(mutations.size());
+            for (int i = 0; i < mutations.size(); i++)
+                if (mutations.get(i).hasHistory())
+                    commits.add(new PointCommit(balances[i], histories[i], replicated));
+            return commits;
+        }
+    }
+
+    private final UserPointTable userPointRepository;
+    private final PointHistoryStore pointHistoryStore;
+    private final int attempts; // 복구할 때 한 단계를 다시 시도하는 횟수
+    private final Map<Long, Entry> pending = new ConcurrentHashMap<>(); // 유저아이디 → 마무리하지 못한 항목
+    private long lastHistoryId; // 마지막으로 쓴 내역 id (쓰기 권한을 가진 상태에서만 읽고 쓴다)
+
+    PointJournal(UserPointTable userPointRepository, PointHistoryStore pointHistoryStore, int attempts) {
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryStore = pointHistoryStore;
+        this.attempts = attempts;
+    }
+
+    /**
+     * 변경들을 한 단위로 커밋한다.
+     *
+     * @return 커밋된 변경 (내역을 남기는 변경만, mutations 순서)
+     * @throws RuntimeException 커밋하지 못한 경우. 잔액은 되돌려졌거나, 복구하지 못해 저널에 남아 있다.
+     */
+    List<PointCommit> commit(List<Mutation> mutations, boolean replicated) {
+        Entry entry = new Entry(mutations, lastHistoryId, replicated);
+        for (Mutation mutation : mutations)
+            pending.put(mutation.rowId(), entry);
+        try {
+            for (; entry.balancesApplied < mutations.size(); entry.balancesApplied++) {
+                Mutation mutation = mutations.get(entry.balancesApplied);
+                entry.balances[entry.balancesApplied] = userPointRepository.insertOrUpdate(mutation.rowId(), mutation.afterPoint());
+            }
+            for (; entry.historiesApplied < mutations.size(); entry.historiesApplied++) {
+                int i = entry.historiesApplied;
+                Mutation mutation = mutations.get(i);
+                if (!mutation.hasHistory())
+                    continue;
+                entry.historyAttempted = i;
+                entry.histories[i] = pointHistoryStore.insert(mutation.userId(), mutation.amount(), mutation.type(), entry.historyMillis(i));
+                lastHistoryId = entry.histories[i].id();
+            }
+        } catch (RuntimeException e) {
+            if (!recover(entry))
+                throw e;
+            if (entry.historiesApplied < mutations.size())
+                throw e; // rollback 됨
+            // redo 로 커밋을 마쳤다
+        }
+        release(entry);
+        return entry.commits();
+    }
+
+    /**
+     * 잔액 행들에 마무리하지 못한 항목이 있으면 먼저 마무리한다.
+     *
+     * @param rowIds : 유저아이디 (줄무늬 잔액이 있으면 줄무늬 행까지)
+     * @return redo 로 마친 커밋 (내역을 남기는 변경만). rollback 한 항목은 커밋이 아니므로 들어있지 않다.
+     * @throws PointJournalException 복구하지 못한 경우 (이 유저의 쓰기를 진행하면 안 된다)
+     */
+    List<PointCommit> recover(long... rowIds) {
+        List<PointCommit> redone = new ArrayList<>();
+        for (long rowId : rowIds) {
+            Entry entry = pending.get(rowId);
+            if (entry == null)
+                continue;
+            if (!recover(entry))
+                throw new PointJournalException("rowId=" + rowId + " 의 이전 쓰기를 복구하지 못했습니다.");
+            if (entry.anyHistoryWritten())
+                redone.addAll(entry.commits());
+        }
+        return redone;
+    }
+
+    boolean hasPending(long... rowIds) {
+        if (pending.isEmpty())
+            return false;
+        for (long rowId : rowIds)
+            if (pending.containsKey(rowId))
+                return true;
+        return false;
+    }
+
+    int pendingCount() {
+        return (int) pending.values().stream().distinct().count();
+    }
+
+    // 내역을 하나도 쓰지 않았으면 rollback, 하나라도 썼으면 redo 한다. 마무리하면 저널에서 뺀다.
+    private boolean recover(Entry entry) {
+        try {
+            // 실패로 응답한 첫 내역이 실제로는 쓰였다면 지울 수 없으므로 redo 해야 한다.
+            int first = entry.firstHistory();
+            if (first >= 0 && first == entry.historyAttempted && !entry.anyHistoryWritten()) {
+                PointHistory written = findHistory(entry, first);
+                if (written != null) {
+                    entry.histories[first] = written;
+                    entry.historiesApplied = first + 1;
+                }
+            }
+            if (!entry.anyHistoryWritten())
+                rollback(entry);
+            else
+                redo(entry);
+            release(entry);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("포인트 저널 복구 실패 rowIds={}", entry.mutations.stream().map(Mutation::rowId).toList(), e);
+            return false;
+        }
+    }
+
+    private void rollback(Entry entry) {
+        // 실패한 잔액 쓰기도 실제로는 반영됐을 수 있으므로 그것까지 포함해 역순으로 되돌린다.
+        int touched = Math.min(entry.balancesApplied + 1, entry.mutations.size());
+        for (int i = touched - 1; i >= 0; i--) {
+            Mutation mutation = entry.mutations.get(i);
+            retry(() -> userPointRepository.insertOrUpdate(mutation.rowId(), mutation.beforePoint()));
+        }
+        entry.balancesApplied = 0;
+    }
+
+    private void redo(Entry entry) {
+        for (; entry.historiesApplied < entry.mutations.size(); entry.historiesApplied++) {
+            int i = entry.historiesApplied;
+            Mutation mutation = entry.mutations.get(i);
+            if (!mutation.hasHistory())
+                continue;
+            entry.histories[i] = retry(() -> {
+                PointHistory written = i == entry.historyAttempted ? findHistory(entry, i) : null;
+                if (written != null)
+                    return written;
+                entry.historyAttempted = i;
+                return pointHistoryStore.insert(mutation.userId(), mutation.amount(), mutation.type(), entry.historyMillis(i));
+            });
+            lastHistoryId = Math.max(lastHistoryId, entry.histories[i].id());
+        }
+    }
+
+    /**
+     * 쓰기는 됐지만 실패로 응답한 i 번째 내역을 찾는다. 항목을 올린 뒤에 쓰인 내역(id > historyIdFloor)만 읽는다.
+     * (계층 저장소는 그보다 오래된 블록을 디스크에서 읽지 않는다)
+     */
+    private PointHistory findHistory(Entry entry, int i) {
+        Mutation mutation = entry.mutations.get(i);
+        long historyMillis = entry.historyMillis(i);
+        List<PointHistory> histories = pointHistoryStore.selectByUserId(mutation.userId(), entry.historyIdFloor, Integer.MAX_VALUE);
+        for (int k = histories.size() - 1; k >= 0; k--) {
+            PointHistory history = histories.get(k);
+            if (history.amount() == mutation.amount() && history.type() == mutation.type() && history.updateMillis() == historyMillis)
+                return history;
+        }
+        return null;
+    }
+
+    private <T> T retry(Supplier<T> step) {
+        RuntimeException last = null;
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            try {
+                return step.get();
+            } catch (RuntimeException e) {
+                last = e;
+            }
+        }
+        throw last;
+    }
+
+    private void release(Entry entry) {
+        for (Mutation mutation : entry.mutations)
+            pending.remove(mutation.rowId(), entry);
+    }
+}
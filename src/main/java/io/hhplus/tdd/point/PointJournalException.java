@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 저널에 남은 이전 쓰기를 복구하지 못해 새 쓰기를 진행할 수 없을 때 발생하는 예외
+ */
+public class PointJournalException extends RuntimeException {
+
+    public PointJournalException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 노드 간 라우팅을 켠 경우, 이 노드가 소유하지 않은 유저의 요청을 나타내는 예외
+ * - 두 유저 중 하나라도 다른 노드가 소유한 이체 요청
+ * 클라이언트가 소유 노드로 다시 보내야 하므로 421(Misdirected Request) 로 응답한다.
+ */
+public class PointNotOwnedException extends RuntimeException {
+    public PointNotOwnedException(String message) {
+        super(message);
+    }
+}
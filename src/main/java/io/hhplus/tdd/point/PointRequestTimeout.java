@@ -0,0 +1,60 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청 제한시간 (X-Request-Timeout)
+ * JSON / 바이너리 엔드포인트와 노드 간 라우팅이 같은 규칙으로 마감시각을 계산하도록 한 곳에 둔다.
+ * - 헤더가 없거나 숫자가 아니면 기본 제한시간을 쓴다.
+ * - 헤더 값은 1 ~ 최대 제한시간으로 맞춘다.
+ *   (0 이하면 모든 요청이 바로 버려지고, 너무 크면 현재시각에 더할 때 넘쳐서 과거의 마감시각이 된다)
+ */
+@Component
+public class PointRequestTimeout {
+
+    // 클라이언트가 기다릴 수 있는 시간(ms)을 전달하는 요청 헤더
+    public static final String HEADER = "X-Request-Timeout";
+
+    private final long defaultTimeoutMillis;
+    private final long maxTimeoutMillis;
+
+    /**
+     * @param defaultTimeoutMillis : 헤더가 없을 때 사용하는 요청 제한시간(ms)
+     * @param maxTimeoutMillis : 헤더로 지정할 수 있는 최대 제한시간(ms)
+     */
+    public PointRequestTimeout(
+            @Value("${point.request.default-timeout-millis:3000}") long defaultTimeoutMillis,
+            @Value("${point.request.max-timeout-millis:60000}") long maxTimeoutMillis
+    ) {
+        if (maxTimeoutMillis < 1)
+            throw new IllegalArgumentException("최대 요청 제한시간은 1ms 이상이어야 합니다.");
+        this.maxTimeoutMillis = maxTimeoutMillis;
+        this.defaultTimeoutMillis = clamp(defaultTimeoutMillis);
+    }
+
+    // 요청 제한시간(ms). requested 가 없으면 기본 제한시간
+    public long timeoutMillis(Long requested) {
+        return requested != null ? clamp(requested) : defaultTimeoutMillis;
+    }
+
+    // 헤더 문자열 그대로 받는다. 숫자가 아니면 기본 제한시간
+    public long timeoutMillis(String header) {
+        if (header == null)
+            return defaultTimeoutMillis;
+        try {
+            return clamp(Long.parseLong(header.trim()));
+        } catch (NumberFormatException e) {
+            return defaultTimeoutMillis;
+        }
+    }
+
+    // 지금부터 요청 제한시간이 지난 마감시각(epoch millis)
+    public long deadlineOf(Long requested) {
+        return System.currentTimeMillis() + timeoutMillis(requested);
+    }
+
+    private long clamp(long timeoutMillis) {
+        return Math.min(Math.max(1, timeoutMillis), maxTimeoutMillis);
+    }
+}
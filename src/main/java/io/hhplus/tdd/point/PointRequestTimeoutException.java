@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 요청 마감시각(deadline)이 지나서 처리하지 않고 버린 요청을 나타내는 예외
+ * - 락 대기 중 마감시각을 넘긴 경우
+ * - 저장소 작업 전에 이미 마감시각을 넘긴 경우
+ */
+public class PointRequestTimeoutException extends RuntimeException {
+    public PointRequestTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -9,15 +9,36 @@ public interface PointService {
     int MAX_USE_AMOUNT = 50000;
     int MIN_USE_AMOUNT = 100;
 
+    // 요청 마감시각이 없음 (마감시각 없이 처리될 때까지 기다린다)
+    long NO_DEADLINE = Long.MAX_VALUE;
+
     // 포인트 충전
     UserPoint chargePoint(long userId, long chargeAmount);
 
+    // 포인트 충전 - 마감시각(epoch millis)이 지나면 처리하지 않고 PointRequestTimeoutException 을 던진다
+    UserPoint chargePoint(long userId, long chargeAmount, long deadlineMillis);
+
+    // 프로모션 포인트 충전 - 충전한 포인트는 만료시각(epoch millis)에 남은 만큼 만료된다
+    UserPoint chargePromotionPoint(long userId, long chargeAmount, long expireAtMillis, long deadlineMillis);
+
     // 포인트 사용
     UserPoint usePoint(long userId, long useAmount);
 
+    // 포인트 사용 - 마감시각(epoch millis)이 지나면 처리하지 않고 PointRequestTimeoutException 을 던진다
+    UserPoint usePoint(long userId, long useAmount, long deadlineMillis);
+
+    // 포인트 이체 - 보내는 유저에게 USE, 받는 유저에게 CHARGE 내역을 남긴다
+    PointTransfer transferPoint(long fromUserId, long toUserId, long amount);
+
+    // 포인트 이체 - 마감시각(epoch millis)이 지나면 처리하지 않고 PointRequestTimeoutException 을 던진다
+    PointTransfer transferPoint(long fromUserId, long toUserId, long amount, long deadlineMillis);
+
     // 포인트 조회
     UserPoint getUserPointByUserId(long userId);
 
     // 포인트 내역 조회
     List<PointHistory> getPointHistoryByUserId(long userId);
+
+    // 포인트 내역 페이지 조회 - 내역 id 가 afterId 보다 큰 내역을 id 순서로 최대 limit 개
+    List<PointHistory> getPointHistoryByUserId(long userId, long afterId, int limit);
 }
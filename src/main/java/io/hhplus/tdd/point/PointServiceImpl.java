@@ -2,26 +2,171 @@ package io.hhplus.tdd.point;
 
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.cache.PointBalanceCache;
+import io.hhplus.tdd.point.expiry.PointLotStore;
+import io.hhplus.tdd.point.hotkey.HotKeyDetector;
+import io.hhplus.tdd.point.scheduler.PointWriteScheduler;
+import io.hhplus.tdd.point.scheduler.PriorityWriteScheduler;
+import io.hhplus.tdd.point.scheduler.UserLocks;
+import io.hhplus.tdd.point.scheduler.WritePriority;
+import io.hhplus.tdd.point.scheduler.WriteSchedulerMetrics;
+import io.hhplus.tdd.point.storage.PointHistoryStore;
+import io.hhplus.tdd.point.storage.UserPointReader;
 import io.hhplus.tdd.point.validators.PointValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
 
 
 @Service
 public class PointServiceImpl implements  PointService, PointValidator {
 
+    private static final Logger log = LoggerFactory.getLogger(PointServiceImpl.class);
 
-    private final PointHistoryTable pointHistoryRepository;
+    // 만료되지 않는 포인트
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    // 저널 복구(rollback/redo)에서 한 단계를 다시 시도하는 횟수
+    private static final int JOURNAL_RECOVERY_ATTEMPTS = 3;
+
+    // 포인트 내역 저장소. 기본은 PointHistoryTable 이고, point.history.store=tiered 면 계층 저장소(TieredPointHistoryStore)다.
+    private final PointHistoryStore pointHistoryStore;
     private final UserPointTable userPointRepository;
 
-    private final ReentrantLock lock = new ReentrantLock(true); // 공정성을 보장하는 락이다.
+    // 잔액 조회(getUserPointByUserId) 전용. 헤지 조회(HedgedUserPointReader)가 있으면 느린 조회의 꼬리 지연을 줄인다.
+    // 쓰기에 쓸 잔액은 쓰기 권한을 가진 상태에서 저장소를 직접 읽는다. (balanceOf)
+    private final UserPointReader userPointReader;
+
+    // 같은 유저의 변경을 한번에 하나씩 실행한다. 서로 다른 유저의 변경은 이 잠금을 서로 기다리지 않는다.
+    // (잔액 읽기, 계산, 커밋은 아래 쓰기 권한 안에서 하므로 서로 다른 유저라도 한번에 하나씩 실행된다)
+    private final UserLocks userLocks = new UserLocks();
+
+    // 잔액 변경과 포인트 내역을 한 단위로 커밋한다. 중간에 실패하면 되돌리거나(rollback) 마저 쓴다(redo).
+    private final PointJournal journal;
+
+    // 저장소 쓰기를 한번에 하나씩, 우선순위(결제 > 충전 > 배치)에 따라 실행한다.
+    // (Table 클래스들은 스레드 안전하지 않으므로 서로 다른 유저의 쓰기도 겹치면 안 된다)
+    private final PointWriteScheduler writeScheduler;
+
+    // 포인트 변경이 커밋될 때마다 알림을 받는 리스너 (복제 등)
+    private final List<PointCommitListener> commitListeners;
+
+    // 만료시각이 있는 포인트 묶음(lot). 여기에 없는 보유포인트는 만료되지 않는다.
+    private final PointLotStore lotStore;
+
+    // 요청이 몰리는 유저(핫키) 감지. 핫키 유저의 충전은 줄무늬 잔액으로 나눠 받는다.
+    private final HotKeyDetector hotKeys;
+    private final StripedBalances stripedBalances;
+
+    // 최근 조회/변경된 유저의 잔액. 조회만 캐시를 쓰고, 쓰기는 항상 저장소를 읽는다.
+    private final PointBalanceCache balanceCache;
+
+
+    @Autowired
+    public PointServiceImpl(PointHistoryStore pointHistoryStore, UserPointTable userPointRepository,
+                            PointWriteScheduler writeScheduler, ObjectProvider<PointCommitListener> commitListeners,
+                            PointLotStore lotStore, ObjectProvider<UserPointReader> userPointReader,
+                            ObjectProvider<HotKeyDetector> hotKeys, PointBalanceCache balanceCache) {
+        this(builder(pointHistoryStore, userPointRepository)
+                .writeScheduler(writeScheduler)
+                .commitListeners(commitListeners.orderedStream().toList())
+                .lotStore(lotStore)
+                .userPointReader(userPointReader.getIfAvailable(() -> userPointRepository::selectById))
+                .hotKeys(hotKeys.getIfAvailable(HotKeyDetector::disabled))
+                .balanceCache(balanceCache));
+    }
+
+    // 스프링 밖에서(테스트, 워밍업) 만들 때 쓴다. 지정하지 않은 항목은 Builder 의 기본값을 쓴다.
+    protected PointServiceImpl(Builder builder) {
+        this.pointHistoryStore = builder.pointHistoryStore;
+        this.userPointRepository = builder.userPointRepository;
+        this.userPointReader = builder.userPointReader != null ? builder.userPointReader : builder.userPointRepository::selectById;
+        this.writeScheduler = builder.writeScheduler != null ? builder.writeScheduler
+                : new PriorityWriteScheduler(Map.of(), 2000, new WriteSchedulerMetrics(new SimpleMeterRegistry(), "priority"));
+        this.commitListeners = builder.commitListeners;
+        this.lotStore = builder.lotStore;
+        this.journal = new PointJournal(userPointRepository, pointHistoryStore, JOURNAL_RECOVERY_ATTEMPTS);
+        this.hotKeys = builder.hotKeys;
+        this.stripedBalances = new StripedBalances(hotKeys.stripes());
+        this.balanceCache = builder.balanceCache;
+    }
+
+    // PointHistoryTable 에 내역을 쓰는 서비스
+    public static Builder builder(PointHistoryTable pointHistoryRepository, UserPointTable userPointRepository) {
+        return builder(PointHistoryStore.of(pointHistoryRepository), userPointRepository);
+    }
+
+    public static Builder builder(PointHistoryStore pointHistoryStore, UserPointTable userPointRepository) {
+        return new Builder(pointHistoryStore, userPointRepository);
+    }
+
+    /**
+     * 기본값
+     * - writeScheduler : 설정 없는 우선순위 스케줄러 (PriorityWriteScheduler)
+     * - commitListeners : 없음
+     * - lotStore : 빈 저장소 (모든 포인트가 만료되지 않는다)
+     * - userPointReader : UserPointTable 을 직접 읽는다
+     * - hotKeys : 끈다 (줄무늬 잔액을 쓰지 않는다)
+     * - balanceCache : 끈다. 켜려면 commitListeners 에도 넣어야 캐시가 저장소와 맞게 유지된다.
+     */
+    public static final class Builder {
+        private final PointHistoryStore pointHistoryStore;
+        private final UserPointTable userPointRepository;
+        private PointWriteScheduler writeScheduler;
+        private List<PointCommitListener> commitListeners = List.of();
+        private PointLotStore lotStore = new PointLotStore();
+        private UserPointReader userPointReader;
+        private HotKeyDetector hotKeys = HotKeyDetector.disabled();
+        private PointBalanceCache balanceCache = PointBalanceCache.disabled();
+
+        private Builder(PointHistoryStore pointHistoryStore, UserPointTable userPointRepository) {
+            this.pointHistoryStore = pointHistoryStore;
+            this.userPointRepository = userPointRepository;
+        }
+
+        public Builder writeScheduler(PointWriteScheduler writeScheduler) {
+            this.writeScheduler = writeScheduler;
+            return this;
+        }
+
+        public Builder commitListeners(List<PointCommitListener> commitListeners) {
+            this.commitListeners = commitListeners;
+            return this;
+        }
+
+        public Builder lotStore(PointLotStore lotStore) {
+            this.lotStore = lotStore;
+            return this;
+        }
+
+        public Builder userPointReader(UserPointReader userPointReader) {
+            this.userPointReader = userPointReader;
+            return this;
+        }
+
+        public Builder hotKeys(HotKeyDetector hotKeys) {
+            this.hotKeys = hotKeys;
+            return this;
+        }
 
+        public Builder balanceCache(PointBalanceCache balanceCache) {
+            this.balanceCache = balanceCache;
+            return this;
+        }
 
-    public PointServiceImpl(PointHistoryTable pointHistoryRepository, UserPointTable userPointRepository) {
-        this.pointHistoryRepository = pointHistoryRepository;
-        this.userPointRepository = userPointRepository;
+        public PointServiceImpl build() {
+            return new PointServiceImpl(this);
+        }
     }
 
 
@@ -34,30 +179,147 @@ public class PointServiceImpl implements  PointService, PointValidator {
      */
     @Override
     public UserPoint chargePoint(long userId, long chargeAmount) throws RuntimeException {
+        return chargePoint(userId, chargeAmount, NO_DEADLINE);
+    }
+
+    /**
+     * 마감시각(deadlineMillis) 안에서만 포인트를 충전한다.
+     * 유저 잠금과 쓰기 권한을 마감시각까지만 기다리고, 저장소 작업 전에 마감시각이 지났으면 요청을 버린다.
+     * 충전은 CHARGE 우선순위로 실행된다.
+     */
+    @Override
+    public UserPoint chargePoint(long userId, long chargeAmount, long deadlineMillis) throws RuntimeException {
+        return charge(userId, chargeAmount, NO_EXPIRY, deadlineMillis);
+    }
+
+    /**
+     * [ 프로모션 포인트 충전 ]
+     * 충전과 같지만 충전한 포인트를 만료시각이 있는 lot 으로 기록한다.
+     * 만료시각이 되면 PointExpiryScheduler 가 남은 포인트를 EXPIRE 내역과 함께 차감한다.
+     */
+    @Override
+    public UserPoint chargePromotionPoint(long userId, long chargeAmount, long expireAtMillis, long deadlineMillis) {
+        if (expireAtMillis <= System.currentTimeMillis())
+            throw new RuntimeException("만료시각은 현재시각 이후여야 합니다.");
+        return charge(userId, chargeAmount, expireAtMillis, deadlineMillis);
+    }
+
+    // expireAtMillis 가 NO_EXPIRY 면 만료되지 않는 포인트로 충전한다.
+    private UserPoint charge(long userId, long chargeAmount, long expireAtMillis, long deadlineMillis) {
+        // 유효성 검증
+        validateUserId(userId); // 유저아이디
+        validateAmountValue(chargeAmount); // 충전포인트
+
+        // 핫키 유저의 (만료되지 않는) 충전은 줄무늬 잔액 하나에만 더한다.
+        hotKeys.record(userId);
+        if (expireAtMillis == NO_EXPIRY && hotKeys.isHot(userId)) {
+            UserPoint striped = chargeStripe(userId, chargeAmount, deadlineMillis);
+            if (striped != null)
+                return striped;
+        }
+
         // 데이터변경으로 데이터의 일관성이 깨지는 상황을 발생시키는 로직에서 동시성제어의 대상이 된다.
         // 즉, 쓰기 작업에서 동시성제어가 필요하다.
-        lock.lock(); // 동시성 제어 시작(다른스레드가 들어오지 못하도록 잠금)
+        long[] locked = lockWriteSet(deadlineMillis, userId); // 동시성 제어 시작(같은 유저의 다른 요청이 들어오지 못하도록 잠금)
         try {
-            // 유효성 검증
-            validateUserId(userId); // 유저아이디
-            validateAmountValue(chargeAmount); // 충전포인트
-
-            // 충전전 유저 조회
-            UserPoint userPoint = userPointRepository.selectById(userId);
-
-            // 충전후 유저포인트
-            long currentPointAfterCharge = addPoint(userPoint.point(), chargeAmount);
-            userPoint = this.userPointRepository.insertOrUpdate(userId, currentPointAfterCharge);
+            checkDeadline(deadlineMillis);
+            acquireWrite(WritePriority.CHARGE, deadlineMillis); // 저장소 읽기/쓰기는 한번에 하나씩
+            try {
+                checkDeadline(deadlineMillis); // 쓰기 전에 한번 더 확인한다
+
+                // 충전전 유저 조회
+                recoverPending(locked);
+                long point = balanceOf(userId);
+
+                // 충전후 유저포인트
+                long currentPointAfterCharge = addPoint(point, chargeAmount);
+
+                try {
+                    // 유저포인트 업데이트와 히스토리 생성을 한 단위로 커밋한다.
+                    PointCommit commit = journal.commit(stripedBalances.mergeMutations(
+                            userId, point, currentPointAfterCharge, chargeAmount, TransactionType.CHARGE, PointJournal.Mutation.USE_BALANCE_MILLIS
+                    ), false).get(0);
+                    stripedBalances.merged(commit.userPoint(), hotKeys.isHot(userId));
+                    if (expireAtMillis != NO_EXPIRY)
+                        lotStore.add(userId, chargeAmount, expireAtMillis);
+                    publish(commit);
+
+                    return commit.userPoint();
+                } catch (RuntimeException e) {
+                    publishWriteFailure(e, userId); // 잔액과 내역 중 일부만 쓰였을 수 있다
+                    throw e;
+                }
+            } finally {
+                writeScheduler.release();
+            }
+        } finally {
+            userLocks.unlock(locked); // 동시성제어 종료(잠금해제)
+        }
+    }
 
-            // 히스토리 생성한다.
-            this.pointHistoryRepository.insert(userId, chargeAmount, TransactionType.CHARGE, userPoint.updateMillis());
+    /**
+     * [ 핫키 유저 충전 (줄무늬 잔액) ]
+     * 1. 비어 있는 줄무늬 행을 하나 골라 그 행만 잠근다. (모두 잠겨 있으면 아무 행이나 기다린다)
+     * 2. 줄무늬 행에 충전량을 더하고 CHARGE 히스토리를 insert 한다. 잔액은 메모리의 행 값(mirror)으로 계산하므로 저장소를 읽지 않는다.
+     * 3. 합친 잔액을 커밋으로 알린다.
+     * 유저 잠금을 잡지 않으므로 같은 유저의 충전들이 줄무늬 수만큼 동시에 진행된다.
+     * 저장소 쓰기는 다른 쓰기와 같은 전역 쓰기 권한으로 한번에 하나씩 실행된다. (줄무늬는 유저 잠금 대기만 없앤다)
+     *
+     * @return 변경후 유저포인트. 줄무늬 잔액을 쓸 수 없으면(합치는 중이거나 이전 쓰기가 실패했으면) null
+     */
+    private UserPoint chargeStripe(long userId, long chargeAmount, long deadlineMillis) {
+        StripedBalances.Striped striped = stripedBalances.get(userId);
+        if (striped == null || !striped.valid())
+            return null;
 
-            return userPoint;
-        } catch (RuntimeException e ) {
-            throw e;
+        int stripe = lockFreeStripe(striped, userId, deadlineMillis);
+        long rowId = stripedBalances.rowId(userId, stripe);
+        try {
+            checkDeadline(deadlineMillis);
+            acquireWrite(WritePriority.CHARGE, deadlineMillis);
+            try {
+                // 잠그는 동안 합쳐졌거나, 다른 줄무늬의 쓰기가 실패했다
+                if (stripedBalances.get(userId) != striped || !striped.valid())
+                    return null;
+                checkDeadline(deadlineMillis); // 쓰기 전에 한번 더 확인한다 (아직 아무것도 쓰지 않았으므로 실패를 알리지 않는다)
+
+                long before = striped.cell(stripe);
+                long after = addPoint(before, chargeAmount);
+
+                try {
+                    PointCommit stripeCommit = journal.commit(List.of(new PointJournal.Mutation(
+                            rowId, userId, before, after, chargeAmount, TransactionType.CHARGE, PointJournal.Mutation.USE_BALANCE_MILLIS
+                    )), false).get(0);
+                    UserPoint merged = striped.charge(stripe, chargeAmount, stripeCommit.userPoint().updateMillis());
+                    publish(new PointCommit(merged, stripeCommit.history(), false));
+                    return merged;
+                } catch (RuntimeException e) {
+                    publishWriteFailure(e, userId); // 잔액과 내역 중 일부만 쓰였을 수 있다
+                    throw e;
+                }
+            } finally {
+                writeScheduler.release();
+            }
         } finally {
-            lock.unlock(); // 동시성제어 종료(잠금해제)
+            userLocks.unlock(rowId);
+        }
+    }
+
+    // 지금 잠겨 있지 않은 줄무늬 행을 잠근다. 모두 잠겨 있으면 임의의 행을 마감시각까지 기다린다.
+    private int lockFreeStripe(StripedBalances.Striped striped, long userId, long deadlineMillis) {
+        int start = ThreadLocalRandom.current().nextInt(striped.stripes());
+        for (int i = 0; i < striped.stripes(); i++) {
+            int stripe = (start + i) % striped.stripes();
+            try {
+                if (userLocks.lock(System.currentTimeMillis(), stripedBalances.rowId(userId, stripe)))
+                    return stripe;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PointRequestTimeoutException("요청 처리 시간이 초과되었습니다.");
+            }
         }
+        lockUsers(deadlineMillis, stripedBalances.rowId(userId, start));
+        return start;
     }
 
 
@@ -71,29 +333,220 @@ public class PointServiceImpl implements  PointService, PointValidator {
      */
     @Override
     public UserPoint usePoint(long userId, long useAmount) {
-        lock.lock(); // 동시성제어 시작
+        return usePoint(userId, useAmount, NO_DEADLINE);
+    }
+
+    /**
+     * 마감시각(deadlineMillis) 안에서만 포인트를 사용한다.
+     * 유저 잠금과 쓰기 권한을 마감시각까지만 기다리고, 저장소 작업 전에 마감시각이 지났으면 요청을 버린다.
+     * 사용(결제)은 사용자가 기다리는 요청이므로 PAYMENT 우선순위로 가장 먼저 실행된다.
+     */
+    @Override
+    public UserPoint usePoint(long userId, long useAmount, long deadlineMillis) {
+        // 유효성검사
+        validateUserId(userId); // 유저아이디
+        validateAmountValue(useAmount); // 충전포인트
+
+        hotKeys.record(userId);
+        long[] locked = lockWriteSet(deadlineMillis, userId); // 동시성제어 시작 (줄무늬 잔액이 있으면 모두 잠그고 합친다)
+        try {
+            checkDeadline(deadlineMillis);
+            acquireWrite(WritePriority.PAYMENT, deadlineMillis);
+            try {
+                checkDeadline(deadlineMillis); // 쓰기 전에 한번 더 확인한다
+
+                // 유저 포인트 조회
+                recoverPending(locked);
+                long point = balanceOf(userId);
+
+                // 포인트 사용후 현재포인트
+                long currentPointAfterUse = subtractPoint(point, useAmount);
+
+                try {
+                    // 유저 포인트 업데이트와 히스토리 생성을 한 단위로 커밋한다.
+                    PointCommit commit = journal.commit(stripedBalances.mergeMutations(
+                            userId, point, currentPointAfterUse, useAmount, TransactionType.USE, PointJournal.Mutation.USE_BALANCE_MILLIS
+                    ), false).get(0);
+                    stripedBalances.merged(commit.userPoint(), hotKeys.isHot(userId));
+                    lotStore.consume(userId, useAmount); // 만료가 가까운(먼저 충전된) 포인트부터 쓴다
+                    publish(commit);
+                    return commit.userPoint();
+                } catch (RuntimeException e) {
+                    publishWriteFailure(e, userId); // 잔액과 내역 중 일부만 쓰였을 수 있다
+                    throw e;
+                }
+            } finally {
+                writeScheduler.release();
+            }
+        } finally {
+            userLocks.unlock(locked); // 동시성제어 해제
+        }
+    }
+
+
+    /**
+     * [ 포인트 이체 서비스 로직 설계 ]
+     * 1. 보내는 유저와 받는 유저를 아이디 오름차순으로 잠근다. (A→B, B→A 가 동시에 와도 deadlock 이 생기지 않는다)
+     * 2. 보내는 유저의 보유 포인트가 이체량보다 적으면 실패한다.
+     * 3. 보내는 유저는 amount-이체량, 받는 유저는 amount+이체량 으로 업데이트한다.
+     * 4. 보내는 유저에게 USE, 받는 유저에게 CHARGE 히스토리를 insert 한다.
+     * 서로 겹치지 않는 유저들 사이의 이체는 유효성검사와 유저 잠금까지만 동시에 진행된다.
+     * 저널 복구, 잔액 읽기, 계산, 커밋은 모두 전역 쓰기 권한 안에서 하므로 서로 다른 유저의 이체도 한번에 하나씩 실행된다.
+     * (Table 클래스들이 스레드 안전하지 않아 권한을 유저별로 나눌 수 없다)
+     * 그래서 겹치지 않는 이체는 다른 유저의 잠금 줄을 기다리지 않고, 앞선 이체 한 건의 커밋이 끝나기만 기다린다.
+     */
+    @Override
+    public PointTransfer transferPoint(long fromUserId, long toUserId, long amount) {
+        return transferPoint(fromUserId, toUserId, amount, NO_DEADLINE);
+    }
+
+    @Override
+    public PointTransfer transferPoint(long fromUserId, long toUserId, long amount, long deadlineMillis) {
+        // 유효성검사
+        validateUserId(fromUserId);
+        validateUserId(toUserId);
+        validateAmountValue(amount);
+        if (fromUserId == toUserId)
+            throw new RuntimeException("자기 자신에게는 포인트를 이체할 수 없습니다.");
+
+        hotKeys.record(fromUserId);
+        hotKeys.record(toUserId);
+        long[] locked = lockWriteSet(deadlineMillis, fromUserId, toUserId);
         try {
-            // 유효성검사
-            validateUserId(userId); // 유저아이디
-            validateAmountValue(useAmount); // 충전포인트
+            checkDeadline(deadlineMillis);
+            acquireWrite(WritePriority.PAYMENT, deadlineMillis);
+            try {
+                checkDeadline(deadlineMillis); // 쓰기 전에 한번 더 확인한다
+
+                recoverPending(locked);
+                long fromPoint = balanceOf(fromUserId);
+                long toPoint = balanceOf(toUserId);
+
+                long fromPointAfterTransfer = subtractPoint(fromPoint, amount);
+                long toPointAfterTransfer = addPoint(toPoint, amount);
+
+                try {
+                    // 두 유저의 잔액과 내역을 한 단위로 커밋한다.
+                    List<PointJournal.Mutation> mutations = new ArrayList<>(stripedBalances.mergeMutations(
+                            fromUserId, fromPoint, fromPointAfterTransfer, amount, TransactionType.USE, PointJournal.Mutation.USE_BALANCE_MILLIS));
+                    mutations.addAll(stripedBalances.mergeMutations(
+                            toUserId, toPoint, toPointAfterTransfer, amount, TransactionType.CHARGE, PointJournal.Mutation.USE_BALANCE_MILLIS));
+                    List<PointCommit> commits = journal.commit(mutations, false);
+                    stripedBalances.merged(commits.get(0).userPoint(), hotKeys.isHot(fromUserId));
+                    stripedBalances.merged(commits.get(1).userPoint(), hotKeys.isHot(toUserId));
+                    lotStore.consume(fromUserId, amount); // 받는 유저에게는 만료되지 않는 포인트로 들어간다
+                    commits.forEach(this::publish);
+                    return new PointTransfer(commits.get(0).userPoint(), commits.get(1).userPoint());
+                } catch (RuntimeException e) {
+                    publishWriteFailure(e, fromUserId, toUserId); // 잔액과 내역 중 일부만 쓰였을 수 있다
+                    throw e;
+                }
+            } finally {
+                writeScheduler.release();
+            }
+        } finally {
+            userLocks.unlock(locked);
+        }
+    }
+
 
-            // 유저 포인트 조회
-            UserPoint userPoint = userPointRepository.selectById(userId);
+    /**
+     * [ 복제된 포인트 변경 적용 ]
+     * 리더 노드에서 커밋된 변경을 순서대로 그대로 적용한다.
+     * 리더에서 이미 검증하고 계산한 결과이므로 유효성검증과 포인트 계산은 하지 않는다.
+     *
+     * @param userId : 유저아이디
+     * @param point : 리더에서의 변경후 보유포인트
+     * @param amount : 충전/사용 포인트
+     * @param type : 트랜잭션 종류
+     * @param updateMillis : 리더에서 변경된 시각 (포인트 내역에 그대로 기록한다)
+     */
+    public UserPoint applyReplicated(long userId, long point, long amount, TransactionType type, long updateMillis) {
+        long[] locked = lockWriteSet(NO_DEADLINE, userId);
+        try {
+            acquireWrite(WritePriority.BATCH, NO_DEADLINE);
+            try {
+                recoverPending(locked);
+                long before = balanceOf(userId);
+                try {
+                    PointCommit commit = journal.commit(stripedBalances.mergeMutations(
+                            userId, before, point, amount, type, updateMillis
+                    ), true).get(0);
+                    stripedBalances.merged(commit.userPoint(), false);
+                    publish(commit);
+                    return commit.userPoint();
+                } catch (RuntimeException e) {
+                    publishWriteFailure(e, userId); // 잔액과 내역 중 일부만 쓰였을 수 있다
+                    throw e;
+                }
+            } finally {
+                writeScheduler.release();
+            }
+        } finally {
+            userLocks.unlock(locked);
+        }
+    }
 
-            // 포인트 사용후 현재포인트
-            long currentPointAfterUse = subtractPoint(userPoint.point(), useAmount);
 
-            // 유저 포인트 업데이트
-            userPoint = this.userPointRepository.insertOrUpdate(userId, currentPointAfterUse);
+    /**
+     * [ 포인트 만료 ]
+     * 1. 유저를 잠그고 nowMillis 기준으로 만료된 lot 의 남은 포인트를 합한다.
+     * 2. 만료된 포인트가 없으면(이미 다 사용했으면) 아무것도 하지 않는다.
+     * 3. 보유포인트에서 만료된 포인트를 차감하고 EXPIRE 히스토리를 insert 한다.
+     * 만료는 사용자가 기다리는 요청이 아니므로 BATCH 우선순위로 실행된다.
+     *
+     * @return 변경후 유저포인트. 만료된 포인트가 없으면 null
+     */
+    public UserPoint expirePoint(long userId, long nowMillis) {
+        long[] locked = lockWriteSet(NO_DEADLINE, userId);
+        try {
+            long expiredAmount = lotStore.expiredAmount(userId, nowMillis);
+            if (expiredAmount == 0) {
+                lotStore.removeExpired(userId, nowMillis);
+                return null;
+            }
+            acquireWrite(WritePriority.BATCH, NO_DEADLINE);
+            try {
+                recoverPending(locked);
+                long point = balanceOf(userId);
+                long expired = Math.min(expiredAmount, point);
+                try {
+                    PointCommit commit = journal.commit(stripedBalances.mergeMutations(
+                            userId, point, point - expired, expired, TransactionType.EXPIRE, PointJournal.Mutation.USE_BALANCE_MILLIS
+                    ), false).get(0);
+                    stripedBalances.merged(commit.userPoint(), hotKeys.isHot(userId));
+                    lotStore.removeExpired(userId, nowMillis);
+                    publish(commit);
+                    return commit.userPoint();
+                } catch (RuntimeException e) {
+                    publishWriteFailure(e, userId); // 잔액과 내역 중 일부만 쓰였을 수 있다
+                    throw e;
+                }
+            } finally {
+                writeScheduler.release();
+            }
+        } finally {
+            userLocks.unlock(locked);
+        }
+    }
 
-            // 히스토리 생성
-            this.pointHistoryRepository.insert(userId, useAmount, TransactionType.USE, userPoint.updateMillis());
-            return userPoint;
 
-        } catch (RuntimeException e) {
-            throw e;
+    /**
+     * 유저를 잠그고 쓰기 권한을 가진 상태에서 저장소의 잔액을 읽어 action 에 넘긴다. (줄무늬 잔액이 있으면 합친 값)
+     * 그동안 어떤 유저의 쓰기도, 커밋 알림도 실행되지 않으므로 잔액과 내역을 같은 시점으로 안전하게 읽을 수 있다. (검사 등)
+     * 캐시나 헤지 조회를 거치지 않는다. 쓰기 권한을 잡고 있으므로 action 은 짧게 끝내야 한다.
+     */
+    public <T> T readCommitted(long userId, LongFunction<T> action) {
+        long[] locked = lockWriteSet(NO_DEADLINE, userId);
+        try {
+            acquireWrite(WritePriority.BATCH, NO_DEADLINE);
+            try {
+                return action.apply(balanceOf(userId));
+            } finally {
+                writeScheduler.release();
+            }
         } finally {
-         lock.unlock(); // 동시성제어 해제
+            userLocks.unlock(locked);
         }
     }
 
@@ -103,10 +556,71 @@ public class PointServiceImpl implements  PointService, PointValidator {
      * 1. 유저가 존재하는지 확인한다.
      * 2. 존재하지 않으면 자동으로 amount(보유포인트)가 0인 유저포인트를 자동으로 생성한다.
      * 3. 유저의 포인트를 조회한다.
+     * 줄무늬 잔액이 있는 핫키 유저는 본 잔액과 줄무늬 잔액을 합쳐서 돌려준다.
+     * 잔액 캐시에 있으면 저장소를 읽지 않는다. 없으면 읽은 잔액을 캐시에 채운다.
      */
     @Override
     public UserPoint getUserPointByUserId(long userId) {
-        return userPointRepository.selectById(userId);
+        UserPoint cached = balanceCache.get(userId);
+        if (cached != null)
+            return cached;
+        long token = balanceCache.fillToken(userId);
+        UserPoint userPoint = stripedBalances.read(userId, userPointReader);
+        balanceCache.fill(userPoint, token);
+        return userPoint;
+    }
+
+    /**
+     * [ 식은 줄무늬 잔액 합치기 ]
+     * 핫키에서 빠진 유저의 줄무늬 잔액을 본 행으로 합치고 줄무늬 잔액을 그만 쓴다.
+     * 합친 잔액은 그대로이므로 내역을 남기지 않고 커밋 알림도 하지 않는다.
+     * 요청이 끊긴 유저는 사용/충전으로 합쳐질 기회가 없으므로 주기적으로 호출한다. (HotKeyCooldown)
+     *
+     * @return 합친 유저 수
+     */
+    public int mergeCooledStripes() {
+        int merged = 0;
+        for (long userId : stripedBalances.userIds()) {
+            if (hotKeys.isHot(userId))
+                continue;
+            long[] locked = lockWriteSet(NO_DEADLINE, userId);
+            try {
+                acquireWrite(WritePriority.BATCH, NO_DEADLINE);
+                try {
+                    if (stripedBalances.get(userId) == null || hotKeys.isHot(userId))
+                        continue; // 잠그는 동안 다른 쓰기가 합쳤거나 다시 핫키가 되었다
+                    recoverPending(locked);
+                    long point = balanceOf(userId);
+                    journal.commit(stripedBalances.mergeMutations(
+                            userId, point, point, 0, null, PointJournal.Mutation.USE_BALANCE_MILLIS
+                    ), false);
+                    stripedBalances.merged(new UserPoint(userId, point, System.currentTimeMillis()), false);
+                    merged++;
+                } catch (RuntimeException e) {
+                    log.warn("줄무늬 잔액 합치기 실패 userId={}", userId, e);
+                    publishWriteFailure(e, userId); // 본 행과 줄무늬 행 중 일부만 쓰였을 수 있다
+                } finally {
+                    writeScheduler.release();
+                }
+            } finally {
+                userLocks.unlock(locked);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 줄무늬 잔액으로 충전을 나눠 받고 있는 유저 수
+     */
+    public int stripedUserCount() {
+        return stripedBalances.size();
+    }
+
+    /**
+     * 유저가 줄무늬 잔액으로 충전을 나눠 받고 있으면 true
+     */
+    public boolean isStriped(long userId) {
+        return stripedBalances.get(userId) != null;
     }
 
 
@@ -118,7 +632,20 @@ public class PointServiceImpl implements  PointService, PointValidator {
      */
     @Override
     public List<PointHistory> getPointHistoryByUserId(long userId) {
-        return pointHistoryRepository.selectAllByUserId(userId);
+        return pointHistoryStore.selectAllByUserId(userId);
+    }
+
+    /**
+     * [ 포인트 내역 페이지 조회 로직 설계 ]
+     * 1. limit 은 양수여야 한다.
+     * 2. 내역 id 가 afterId 보다 큰 내역을 id 순서로 최대 limit 개 조회한다.
+     *    다음 페이지는 마지막으로 받은 내역의 id 를 afterId 로 조회한다.
+     */
+    @Override
+    public List<PointHistory> getPointHistoryByUserId(long userId, long afterId, int limit) {
+        if (limit <= 0)
+            throw new RuntimeException("조회할 내역 수는 양수입니다.");
+        return pointHistoryStore.selectByUserId(userId, afterId, limit);
     }
 
     // userId 의 유효성검증 - 만일 유효성검증로직이 외부에서도 사용된다면?
@@ -139,6 +666,129 @@ public class PointServiceImpl implements  PointService, PointValidator {
     }
 
 
+    /**
+     * 마감시각까지 남은 시간만큼만 유저 잠금을 기다린다.
+     * 유저 잠금은 항상 쓰기 권한보다 먼저 잡는다. (쓰기 권한을 가진 채로 유저 잠금을 기다리지 않는다)
+     *
+     * @throws PointRequestTimeoutException 마감시각 안에 잠그지 못한 경우
+     */
+    private void lockUsers(long deadlineMillis, long... userIds) throws PointRequestTimeoutException {
+        try {
+            if(!userLocks.lock(deadlineMillis, userIds))
+                throw new PointRequestTimeoutException("요청 처리 시간이 초과되었습니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointRequestTimeoutException("요청 처리 시간이 초과되었습니다.");
+        }
+    }
+
+    /**
+     * 유저들을 쓰기 위해 잠근다. 줄무늬 잔액이 있는 유저는 모든 줄무늬 행까지 함께 잠근다.
+     * 잠그는 동안 줄무늬 잔액이 생겼으면 풀고 다시 잠근다. (줄무늬 잔액은 유저 잠금을 가진 상태에서만 생기고 없어진다)
+     *
+     * @return 잠근 행 아이디. 풀 때 그대로 넘긴다.
+     */
+    private long[] lockWriteSet(long deadlineMillis, long... userIds) throws PointRequestTimeoutException {
+        while (true) {
+            long[] ids = stripedBalances.lockIds(userIds);
+            lockUsers(deadlineMillis, ids);
+            if (Arrays.equals(ids, stripedBalances.lockIds(userIds)))
+                return ids;
+            userLocks.unlock(ids);
+        }
+    }
+
+    /**
+     * 잠근 유저의 잔액. 줄무늬 잔액이 있으면 합친 값
+     * 쓰기 권한을 가진 상태에서 저장소를 직접 읽는다. (캐시나 헤지 조회를 거치지 않는다)
+     * UserPointTable 은 스레드 안전하지 않아서, 다른 유저의 쓰기(HashMap resize)와 겹친 읽기는 잔액을 놓칠 수 있다.
+     * 그렇게 읽은 잔액으로 계산하면 실제 잔액을 덮어쓰므로, 쓰기에 쓸 잔액은 쓰기와 겹치지 않게 읽는다.
+     */
+    private long balanceOf(long userId) {
+        UserPointReader store = userPointRepository::selectById;
+        StripedBalances.Striped striped = stripedBalances.get(userId);
+        if (striped == null)
+            return store.read(userId).point();
+        return stripedBalances.mergedPoint(striped, store);
+    }
+
+    /**
+     * 마감시각까지 남은 시간만큼만 쓰기 권한을 기다린다.
+     * 마감시각이 없으면(NO_DEADLINE) 권한을 얻을 때까지 기다린다.
+     *
+     * @param priority : 쓰기 요청의 우선순위 클래스
+     * @param deadlineMillis : 요청 마감시각(epoch millis)
+     * @throws PointRequestTimeoutException 마감시각 안에 쓰기 권한을 얻지 못한 경우
+     */
+    private void acquireWrite(WritePriority priority, long deadlineMillis) throws PointRequestTimeoutException {
+        try {
+            if(!writeScheduler.acquire(priority, deadlineMillis))
+                throw new PointRequestTimeoutException("요청 처리 시간이 초과되었습니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointRequestTimeoutException("요청 처리 시간이 초과되었습니다.");
+        }
+    }
+
+    // 커밋된 변경을 리스너에게 알린다. 리스너가 실패해도 이미 커밋된 변경은 되돌리지 않는다.
+    private void publish(PointCommit commit) {
+        for (PointCommitListener listener : commitListeners) {
+            try {
+                listener.onCommit(commit);
+            } catch (RuntimeException e) {
+                log.warn("포인트 커밋 리스너 실패 {} userId={}", listener.getClass().getSimpleName(), commit.userPoint().id(), e);
+            }
+        }
+    }
+
+    /**
+     * 저널에 마무리하지 못한 이전 쓰기가 있으면 잔액을 읽기 전에 먼저 마무리한다.
+     * 유저 잠금과 쓰기 권한을 가진 상태에서 호출한다.
+     * redo 로 마친 커밋은 지금 커밋 순서로 알린다. (버전, 복제, 스트림이 그 변경을 놓치지 않는다)
+     * 줄무늬 행의 커밋은 행 잔액 대신 합친 잔액으로 알린다.
+     *
+     * @throws PointJournalException 복구하지 못한 경우
+     */
+    private void recoverPending(long... userIds) {
+        if (!journal.hasPending(userIds))
+            return;
+        for (PointCommit commit : journal.recover(userIds)) {
+            long userId = commit.history().userId();
+            if (commit.userPoint().id() != userId)
+                commit = new PointCommit(new UserPoint(userId, balanceOf(userId), commit.userPoint().updateMillis()),
+                        commit.history(), commit.replicated());
+            publish(commit);
+        }
+    }
+
+    /**
+     * 저널에 남아 있는(복구하지 못한) 쓰기 수
+     */
+    public int pendingJournalEntries() {
+        return journal.pendingCount();
+    }
+
+    // 쓰기 도중 실패를 리스너에게 알린다. (잔액만 바뀌고 내역은 없는 상태일 수 있다)
+    // 줄무늬 잔액의 행 값도 알 수 없게 되었으므로 다음 합치기에서 저장소를 다시 읽는다.
+    private void publishWriteFailure(RuntimeException cause, long... userIds) {
+        stripedBalances.invalidate(userIds);
+        for (PointCommitListener listener : commitListeners) {
+            for (long userId : userIds) {
+                try {
+                    listener.onWriteFailure(userId, cause);
+                } catch (RuntimeException e) {
+                    log.warn("포인트 쓰기 실패 리스너 실패 {} userId={}", listener.getClass().getSimpleName(), userId, e);
+                }
+            }
+        }
+    }
+
+    // 마감시각이 지난 요청은 저장소 작업을 하지 않고 버린다.
+    private void checkDeadline(long deadlineMillis) throws PointRequestTimeoutException {
+        if(deadlineMillis != NO_DEADLINE && System.currentTimeMillis() >= deadlineMillis)
+            throw new PointRequestTimeoutException("요청 처리 시간이 초과되었습니다.");
+    }
+
     /**
      *
      * @param userSavedPoint: 유저보유포인트
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 결과
+ *
+ * @param from : 이체후 보내는 유저의 유저포인트
+ * @param to : 이체후 받는 유저의 유저포인트
+ */
+public record PointTransfer(
+        UserPoint from,
+        UserPoint to
+) {
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 요청
+ *
+ * @param from : 보내는 유저아이디
+ * @param to : 받는 유저아이디
+ * @param amount : 이체할 포인트
+ */
+public record PointTransferRequest(
+        long from,
+        long to,
+        long amount
+) {
+}
@@ -0,0 +1,94 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저별 포인트 버전
+ * 조회 응답의 ETag 를 만들 때 사용하므로, 버전 확인만으로는 UserPointTable / PointHistoryTable 을 읽지 않는다.
+ * 이 노드에서 커밋된 변경과 복제받은 변경을 모두 센다.
+ *
+ * [ 버전 로직 설계 ]
+ * - 버전은 유저별 카운터가 아니라 이 노드의 전체 커밋 순번이다. 유저의 버전은 그 유저의 마지막 커밋 순번이다.
+ * - ETag 에는 실행마다 새로 뽑는 난수(nonce)를 넣는다.
+ *   순번은 메모리에만 있어 재시작하면 0 부터 다시 세므로, 재시작 전이나 다른 노드가 준 ETag 가 우연히 같아지지 않게 한다.
+ *   (다른 노드나 재시작 전의 ETag 로 조회하면 항상 200 으로 응답한다)
+ * - 버전을 기억하는 유저 수는 maxUsers 로 제한한다. 넘으면 최근 maxUsers/2 커밋 안에 변경되지 않은 유저를 잊는다.
+ *   잊은 유저와 한번도 변경되지 않은 유저의 버전은 floor 이다. floor 는 잊은 버전 중 가장 큰 값 이상이므로
+ *   유저의 잔액이 바뀌면 ETag 도 반드시 바뀐다. (잊을 때 floor 가 올라가 변경되지 않은 유저의 ETag 가 바뀔 수는 있다)
+ */
+@Component
+public class PointVersionRegistry implements PointCommitListener {
+
+    private final String nonce = Long.toHexString(new SecureRandom().nextLong());
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final ReentrantLock evictLock = new ReentrantLock();
+    private final int maxUsers;
+
+    private volatile long floor; // 잊은 유저의 버전
+
+    /**
+     * @param maxUsers : 버전을 기억할 최대 유저 수
+     */
+    public PointVersionRegistry(@Value("${point.version.max-users:100000}") int maxUsers) {
+        if (maxUsers < 2)
+            throw new IllegalArgumentException("maxUsers 는 2 이상이어야 합니다.");
+        this.maxUsers = maxUsers;
+    }
+
+    @Override
+    public void onCommit(PointCommit commit) {
+        versions.put(commit.userPoint().id(), sequence.incrementAndGet());
+        if (versions.size() > maxUsers && evictLock.tryLock()) {
+            try {
+                evict();
+            } finally {
+                evictLock.unlock();
+            }
+        }
+    }
+
+    public long versionOf(long userId) {
+        Long version = versions.get(userId);
+        return version != null ? version : floor;
+    }
+
+    // 포인트 조회 응답의 ETag
+    public String pointETag(long userId) {
+        return "\"p-" + nonce + "-" + userId + "-" + versionOf(userId) + "\"";
+    }
+
+    // 포인트 내역 조회 응답의 ETag
+    public String historyETag(long userId) {
+        return "\"h-" + nonce + "-" + userId + "-" + versionOf(userId) + "\"";
+    }
+
+    // 기억하는 유저 수
+    int trackedUsers() {
+        return versions.size();
+    }
+
+    /**
+     * 최근 maxUsers/2 커밋 안에 변경되지 않은 유저를 잊는다. (남는 유저는 많아야 maxUsers/2 명이다)
+     * floor 를 먼저 올리고 지우므로, 지운 뒤에 읽는 쪽은 항상 올라간 floor 를 본다.
+     * 지우는 사이에 다시 커밋된 유저는 값이 달라져 지워지지 않는다.
+     */
+    private void evict() {
+        long threshold = sequence.get() - maxUsers / 2;
+        for (Map.Entry<Long, Long> entry : versions.entrySet()) {
+            long version = entry.getValue();
+            if (version > threshold)
+                continue;
+            if (version > floor)
+                floor = version;
+            versions.remove(entry.getKey(), version);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.storage.UserPointReader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+/**
+ * [ 줄무늬 잔액(striped sub-balance) ]
+ * 핫키 유저의 충전을 유저 잠금 하나로 줄세우지 않도록 잔액을 여러 행으로 나눈다.
+ * - 유저 u 의 잔액 = 본 행(u) + 줄무늬 행들. 줄무늬 행은 UserPointTable 의 음수 아이디 행이다. (유저아이디는 양수이므로 겹치지 않는다)
+ * - 충전은 줄무늬 행 하나만 잠그고 그 행에 더한다. 서로 다른 줄무늬의 충전은 유저 잠금을 두고 줄서지 않는다.
+ *   단, 저장소 쓰기는 여전히 전역 쓰기 권한(PointWriteScheduler) 하나로 한번에 하나씩 실행된다. (Table 클래스는 스레드 안전하지 않다)
+ *   그래서 핫키 유저의 충전 처리량은 저장소 쓰기 한 건의 시간으로 정해지는 전체 쓰기 처리량을 넘지 못한다.
+ *   줄무늬가 줄이는 것은 유저 잠금 대기와 그 대기 때문에 마감시각을 넘겨 버려지는 요청이다.
+ * - 핫키에서 빠진 유저의 줄무늬 잔액은 사용/만료/이체나 다음 충전에서 합치고, 그런 요청이 없으면 주기적으로 합친다.
+ *   (PointServiceImpl.mergeCooledStripes)
+ * - 조회는 합친 잔액을 돌려준다. 사용/만료/이체는 유저와 모든 줄무늬 행을 잠그고 줄무늬 잔액을 본 행으로 합친다(merge).
+ * - 행 값은 메모리에도 들고 있어서(mirror) 충전과 조회가 저장소를 읽지 않는다.
+ *   쓰기가 실패하면 mirror 를 무효로 하고, 다음 합치기에서 저장소를 다시 읽는다.
+ * - 여기 없는 유저의 줄무늬 행은 모두 0 이다. (합치기를 마치고 나서만 뺀다)
+ *
+ * 본 행/줄무늬 값은 해당 행의 잠금과 쓰기 권한을 가진 상태에서만 바꾼다.
+ */
+final class StripedBalances {
+
+    // 유저 한명의 줄무늬 잔액
+    static final class Striped {
+        private final long userId;
+        private final long[] cells;
+        private long main;
+        private volatile UserPoint merged;
+        private volatile boolean valid = true;
+
+        private Striped(long userId, int stripes, UserPoint main) {
+            this.userId = userId;
+            this.cells = new long[stripes];
+            this.main = main.point();
+            this.merged = main;
+        }
+
+        int stripes() {
+            return cells.length;
+        }
+
+        long cell(int stripe) {
+            return cells[stripe];
+        }
+
+        long main() {
+            return main;
+        }
+
+        boolean valid() {
+            return valid;
+        }
+
+        // 합친 잔액
+        UserPoint merged() {
+            return merged;
+        }
+
+        // stripe 번 줄무늬에 amount 를 더한 뒤의 합친 잔액
+        UserPoint charge(int stripe, long amount, long updateMillis) {
+            cells[stripe] += amount;
+            merged = new UserPoint(userId, merged.point() + amount, updateMillis);
+            return merged;
+        }
+
+        // 줄무늬를 본 행으로 합쳤다
+        private void reset(UserPoint main) {
+            Arrays.fill(cells, 0);
+            this.main = main.point();
+            this.merged = main;
+            this.valid = true;
+        }
+
+        void invalidate() {
+            valid = false;
+        }
+    }
+
+    private final int stripes;
+    private final Map<Long, Striped> users = new ConcurrentHashMap<>();
+
+    StripedBalances(int stripes) {
+        this.stripes = stripes;
+    }
+
+    Striped get(long userId) {
+        return users.get(userId);
+    }
+
+    // 줄무늬 행 아이디: -(userId * stripes + stripe + 1)
+    long rowId(long userId, int stripe) {
+        return -(userId * stripes + stripe + 1);
+    }
+
+    // 줄무늬 행 아이디가 long 범위 안에 들어오는 유저만 나눌 수 있다
+    boolean eligible(long userId) {
+        return userId > 0 && userId <= (Long.MAX_VALUE - stripes) / stripes;
+    }
+
+    /**
+     * 유저들을 쓰려면 잠가야 하는 행 아이디. 줄무늬 잔액이 있는 유저는 줄무늬 행까지 포함한다.
+     */
+    long[] lockIds(long... userIds) {
+        LongStream.Builder ids = LongStream.builder();
+        for (long userId : userIds) {
+            ids.add(userId);
+            if (users.containsKey(userId))
+                for (int stripe = 0; stripe < stripes; stripe++)
+                    ids.add(rowId(userId, stripe));
+        }
+        return ids.build().sorted().distinct().toArray();
+    }
+
+    /**
+     * 유저와 모든 줄무늬 행을 잠근 상태에서 합친 잔액을 읽는다.
+     * mirror 가 무효면 저장소에서 본 행과 줄무늬 행을 다시 읽는다.
+     */
+    long mergedPoint(Striped striped, UserPointReader reader) {
+        if (!striped.valid) {
+            striped.main = reader.read(striped.userId).point();
+            long total = striped.main;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                striped.cells[stripe] = reader.read(rowId(striped.userId, stripe)).point();
+                total += striped.cells[stripe];
+            }
+            striped.merged = new UserPoint(striped.userId, total, striped.merged.updateMillis());
+            striped.valid = true;
+        }
+        return striped.merged.point();
+    }
+
+    /**
+     * 잠그지 않고 합친 잔액을 읽는다. (조회)
+     */
+    UserPoint read(long userId, UserPointReader reader) {
+        Striped striped = users.get(userId);
+        if (striped == null)
+            return reader.read(userId);
+        UserPoint merged = striped.merged;
+        if (striped.valid)
+            return merged;
+        long total = reader.read(userId).point();
+        for (int stripe = 0; stripe < stripes; stripe++)
+            total += reader.read(rowId(userId, stripe)).point();
+        return new UserPoint(userId, total, merged.updateMillis());
+    }
+
+    /**
+     * 합친 잔액을 본 행 하나로 쓰는 변경. 0 이 아닌 줄무늬 행은 내역 없이 0 으로 되돌린다.
+     *
+     * @param beforePoint : 줄무늬 잔액이 없는 유저의 변경 전 잔액
+     */
+    List<PointJournal.Mutation> mergeMutations(long userId, long beforePoint, long afterPoint,
+                                               long amount, TransactionType type, long historyMillis) {
+        Striped striped = users.get(userId);
+        if (striped == null)
+            return List.of(new PointJournal.Mutation(userId, beforePoint, afterPoint, amount, type, historyMillis));
+        List<PointJournal.Mutation> mutations = new ArrayList<>(stripes + 1);
+        mutations.add(new PointJournal.Mutation(userId, striped.main, afterPoint, amount, type, historyMillis));
+        for (int stripe = 0; stripe < stripes; stripe++)
+            if (striped.cells[stripe] != 0)
+                mutations.add(PointJournal.Mutation.balanceOnly(rowId(userId, stripe), userId, striped.cells[stripe], 0));
+        return mutations;
+    }
+
+    /**
+     * 합치기 커밋을 마쳤다. 핫키면 줄무늬 잔액을 (다시) 쓰고, 아니면 줄무늬 잔액을 그만 쓴다.
+     * 유저와 모든 줄무늬 행을 잠그고 쓰기 권한을 가진 상태에서 호출한다.
+     */
+    void merged(UserPoint userPoint, boolean hot) {
+        long userId = userPoint.id();
+        Striped striped = users.get(userId);
+        if (striped != null && hot)
+            striped.reset(userPoint);
+        else if (striped != null)
+            users.remove(userId);
+        else if (hot && eligible(userId))
+            users.put(userId, new Striped(userId, stripes, userPoint));
+    }
+
+    // 쓰기가 실패했다. 행 값을 알 수 없으므로 다음 합치기에서 다시 읽는다.
+    void invalidate(long... userIds) {
+        for (long userId : userIds) {
+            Striped striped = users.get(userId);
+            if (striped != null)
+                striped.invalidate();
+        }
+    }
+
+    int size() {
+        return users.size();
+    }
+
+    // 줄무늬 잔액이 있는 유저아이디 (복사본)
+    List<Long> userIds() {
+        return List.copyOf(users.keySet());
+    }
+}
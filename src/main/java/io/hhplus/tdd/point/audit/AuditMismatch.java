@@ -0,0 +1,30 @@
+package io.hhplus.tdd.point.audit;
+
+/**
+ * 잔액과 포인트 내역 합계가 맞지 않는 유저
+ *
+ * @param userId : 유저아이디
+ * @param balance : 현재 잔액
+ * @param historySum : 포인트 내역 합계 (CHARGE - USE - EXPIRE)
+ * @param detectedAtMillis : 발견한 시각
+ */
+public record AuditMismatch(
+        long userId,
+        long balance,
+        long historySum,
+        long detectedAtMillis
+) {
+
+    public long difference() {
+        return balance - historySum;
+    }
+
+    /**
+     * 복구 방법 제안
+     * 잔액 쓰기와 내역 쓰기 사이에서 실패하면 잔액만 바뀌고 내역이 빠진다. 그래서 내역을 기준으로 잔액을 맞추는 것을 먼저 제안한다.
+     */
+    public String repair() {
+        return "잔액을 내역 합계 " + historySum + " 로 맞추거나(insertOrUpdate), 빠진 내역 "
+                + (difference() > 0 ? "CHARGE " : "USE ") + Math.abs(difference()) + " 를 추가한다.";
+    }
+}
@@ -0,0 +1,39 @@
+package io.hhplus.tdd.point.audit;
+
+import io.hhplus.tdd.point.PointServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * 잔액/내역 감사기 설정 (point.audit.enabled=false 로 끌 수 있다)
+ * - point.audit.cpu-share : 감사 스레드의 CPU 사용률 상한
+ * - point.audit.slice-millis : 이만큼 CPU 를 쓸 때마다 상한에 맞게 쉰다
+ * - point.audit.idle-millis : 검사할 유저가 없을 때 쉬는 시간
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "point.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PointAuditConfig {
+
+    // 감사기는 커밋 리스너이므로 PointServiceImpl 이 만들어질 때 함께 만들어진다. 서비스는 지연 주입으로 순환 참조를 끊는다.
+    @Bean(destroyMethod = "close")
+    public PointAuditor pointAuditor(
+            @Lazy PointServiceImpl pointService,
+            MeterRegistry meterRegistry,
+            @Value("${point.audit.cpu-share:0.05}") double cpuShare,
+            @Value("${point.audit.slice-millis:10}") long sliceMillis,
+            @Value("${point.audit.idle-millis:1000}") long idleMillis
+    ) {
+        PointAuditor auditor = new PointAuditor(pointService, meterRegistry, cpuShare, sliceMillis, idleMillis);
+        auditor.start();
+        return auditor;
+    }
+
+    @Bean
+    public PointAuditEndpoint pointAuditEndpoint(PointAuditor auditor) {
+        return new PointAuditEndpoint(auditor);
+    }
+}
@@ -0,0 +1,44 @@
+package io.hhplus.tdd.point.audit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 잔액/내역 불일치 복구 보고서를 보여주는 actuator 엔드포인트
+ * - GET /actuator/pointaudit : 불일치 유저 목록과 유저별 복구 방법
+ * 보고서만 만들고 자동으로 복구하지는 않는다.
+ */
+@Endpoint(id = "pointaudit")
+public class PointAuditEndpoint {
+
+    private final PointAuditor auditor;
+
+    public PointAuditEndpoint(PointAuditor auditor) {
+        this.auditor = auditor;
+    }
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        List<Map<String, Object>> mismatches = auditor.mismatches().stream()
+                .sorted(Comparator.comparingLong(AuditMismatch::userId))
+                .map(mismatch -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("userId", mismatch.userId());
+                    row.put("balance", mismatch.balance());
+                    row.put("historySum", mismatch.historySum());
+                    row.put("difference", mismatch.difference());
+                    row.put("detectedAtMillis", mismatch.detectedAtMillis());
+                    row.put("repair", mismatch.repair());
+                    return row;
+                })
+                .toList();
+        return Map.of(
+                "pendingUsers", auditor.dirtyCount(),
+                "mismatches", mismatches);
+    }
+}
@@ -0,0 +1,180 @@
+package io.hhplus.tdd.point.audit;
+
+import io.hhplus.tdd.point.PointCommit;
+import io.hhplus.tdd.point.PointCommitListener;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointServiceImpl;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 잔액과 포인트 내역이 맞는지 백그라운드에서 검사하는 감사기
+ * - 잔액 = CHARGE 합계 - USE 합계 - EXPIRE 합계 이어야 한다.
+ * - 커밋되거나 쓰기에 실패한 유저만 검사 대상(dirty)으로 표시하고, 그 유저들만 검사한다. (전체 유저를 다시 훑지 않는다)
+ * - 유저별 내역 합계는 커밋 알림(onCommit)으로 누적한다. 검사할 때 내역을 다시 읽지 않는다.
+ *   · 커밋 알림은 쓰기 권한 아래에서 커밋 순서대로 오므로 누적 합계는 저장소의 내역과 같은 순서로 바뀐다.
+ *   · 처음 보는 유저이거나 쓰기가 실패한 유저(내역이 일부만 쓰였을 수 있다)는 합계를 모르는 상태로 두고,
+ *     다음 검사에서 내역을 한 번 다시 세어 채운다.
+ * - 잔액은 쓰기 권한 아래에서 저장소를 직접 읽는다. (PointServiceImpl.readCommitted)
+ *   캐시나 헤지 조회의 값과 비교하지 않고, 스레드 안전하지 않은 Table 을 쓰기와 겹쳐 읽지도 않는다.
+ * - 누적 합계와 잔액이 다를 때만 같은 쓰기 권한 아래에서 내역을 다시 세어 확인한다.
+ * - 가장 낮은 우선순위의 스레드 하나에서 CPU 사용률 상한(cpuShare) 안에서만 실행한다.
+ */
+public class PointAuditor implements PointCommitListener, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PointAuditor.class);
+
+    private final PointServiceImpl pointService;
+    private final double cpuShare;
+    private final long sliceNanos;
+    private final long idleMillis;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Long> historySums = new ConcurrentHashMap<>(); // 유저 → 커밋으로 누적한 내역 합계 (없으면 모르는 상태)
+    private final Map<Long, AuditMismatch> mismatches = new ConcurrentHashMap<>();
+    private final Counter checked;
+    private final Counter detected;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * @param cpuShare : 감사 스레드가 쓸 수 있는 CPU 비율 (0.05 면 코어 하나의 5%)
+     * @param sliceMillis : 이만큼 CPU 를 쓰면 비율에 맞게 쉰다
+     * @param idleMillis : 검사할 유저가 없을 때 쉬는 시간
+     */
+    public PointAuditor(PointServiceImpl pointService, MeterRegistry meterRegistry, double cpuShare, long sliceMillis, long idleMillis) {
+        if (cpuShare <= 0 || cpuShare > 1)
+            throw new IllegalArgumentException("cpuShare 는 0 보다 크고 1 이하여야 합니다.");
+        this.pointService = pointService;
+        this.cpuShare = cpuShare;
+        this.sliceNanos = sliceMillis * 1_000_000;
+        this.idleMillis = idleMillis;
+        this.checked = Counter.builder("point.audit.checked").register(meterRegistry);
+        this.detected = Counter.builder("point.audit.mismatch.detected").register(meterRegistry);
+        Gauge.builder("point.audit.mismatches", mismatches, Map::size).register(meterRegistry);
+        Gauge.builder("point.audit.dirty", dirty, Set::size).register(meterRegistry);
+
+        this.thread = new Thread(this::run, "point-auditor");
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MIN_PRIORITY);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+    }
+
+    @Override
+    public void onCommit(PointCommit commit) {
+        long userId = commit.userPoint().id();
+        historySums.computeIfPresent(userId, (id, sum) -> sum + signedAmount(commit.history()));
+        dirty.add(userId);
+    }
+
+    @Override
+    public void onWriteFailure(long userId, RuntimeException cause) {
+        historySums.remove(userId); // 어떤 내역이 쓰였는지 모르므로 다음 검사에서 다시 센다
+        dirty.add(userId);
+    }
+
+    public Collection<AuditMismatch> mismatches() {
+        return List.copyOf(mismatches.values());
+    }
+
+    public int dirtyCount() {
+        return dirty.size();
+    }
+
+    /**
+     * 유저 한명을 검사한다.
+     *
+     * @return 잔액과 내역이 맞으면 true
+     */
+    boolean audit(long userId) {
+        checked.increment();
+        return pointService.readCommitted(userId, balance -> {
+            Long sum = historySums.get(userId);
+            if (sum == null || sum != balance) {
+                // 누적 합계를 모르거나 맞지 않으면 내역을 다시 센다. (쓰기 권한 아래라 내역이 바뀌지 않는다)
+                sum = sumOf(pointService.getPointHistoryByUserId(userId));
+                historySums.put(userId, sum);
+            }
+            if (sum == balance) {
+                mismatches.remove(userId);
+                return true;
+            }
+
+            AuditMismatch mismatch = new AuditMismatch(userId, balance, sum, System.currentTimeMillis());
+            if (mismatches.put(userId, mismatch) == null) {
+                detected.increment();
+                log.warn("잔액과 포인트 내역 불일치 userId={} 잔액={} 내역합계={}", userId, balance, sum);
+            }
+            return false;
+        });
+    }
+
+    private static long sumOf(List<PointHistory> histories) {
+        long sum = 0;
+        for (PointHistory history : histories)
+            sum += signedAmount(history);
+        return sum;
+    }
+
+    private static long signedAmount(PointHistory history) {
+        return history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+    }
+
+    private void run() {
+        long sliceStart = cpuTime();
+        while (running) {
+            try {
+                if (dirty.isEmpty()) {
+                    Thread.sleep(idleMillis);
+                    continue;
+                }
+                for (Long userId : new ArrayList<>(dirty)) {
+                    if (!running)
+                        return;
+                    dirty.remove(userId);
+                    audit(userId);
+
+                    // 이번 구간에 쓴 CPU 시간이 slice 를 넘으면 cpuShare 에 맞게 쉰다.
+                    long used = cpuTime() - sliceStart;
+                    if (used >= sliceNanos) {
+                        Thread.sleep(Math.max(1, (long) (used * (1 - cpuShare) / cpuShare / 1_000_000)));
+                        sliceStart = cpuTime();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("포인트 감사 실패", e);
+            }
+        }
+    }
+
+    // 이 스레드가 쓴 CPU 시간. 지원하지 않는 JVM 이면 경과 시간으로 대신한다.
+    private long cpuTime() {
+        return threadMXBean.isCurrentThreadCpuTimeSupported() ? threadMXBean.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+}
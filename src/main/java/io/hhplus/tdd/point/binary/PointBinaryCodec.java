@@ -0,0 +1,48 @@
+package io.hhplus.tdd.point.binary;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 내부 정산 서비스용 고정 길이 바이너리 프레임 (big-endian)
+ *
+ * 요청 프레임 (17 bytes) : [op:1][userId:8][amount:8]
+ * - op : 1=조회(GET), 2=충전(CHARGE), 3=사용(USE). 조회는 amount 를 무시한다.
+ *
+ * 응답 프레임 (25 bytes) : [status:1][id:8][point:8][updateMillis:8]
+ * - status : 0=성공, 1=요청 실패(유효성검증/잔액부족 등), 2=마감시각 초과, 3=다른 노드가 소유한 유저, 4=알 수 없는 op
+ * - 실패한 프레임은 id 에 요청의 userId 를, point/updateMillis 에 0 을 담는다.
+ *
+ * 요청 본문에는 프레임을 여러 개 이어 붙일 수 있고, 응답은 같은 순서로 이어 붙여 돌려준다.
+ */
+public final class PointBinaryCodec {
+
+    public static final int REQUEST_FRAME_SIZE = 17;
+    public static final int RESPONSE_FRAME_SIZE = 25;
+
+    public static final byte OP_GET = 1;
+    public static final byte OP_CHARGE = 2;
+    public static final byte OP_USE = 3;
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_FAILED = 1;
+    public static final byte STATUS_TIMEOUT = 2;
+    public static final byte STATUS_NOT_OWNER = 3;
+    public static final byte STATUS_UNKNOWN_OP = 4;
+
+    private PointBinaryCodec() {
+    }
+
+    public static void writeRequest(ByteBuffer buffer, byte op, long userId, long amount) {
+        buffer.put(op).putLong(userId).putLong(amount);
+    }
+
+    public static void writeResponse(ByteBuffer buffer, UserPoint userPoint) {
+        buffer.put(STATUS_OK).putLong(userPoint.id()).putLong(userPoint.point()).putLong(userPoint.updateMillis());
+    }
+
+    public static void writeFailure(ByteBuffer buffer, byte status, long userId) {
+        buffer.put(status).putLong(userId).putLong(0).putLong(0);
+    }
+}
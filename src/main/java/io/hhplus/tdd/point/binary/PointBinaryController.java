@@ -0,0 +1,89 @@
+package io.hhplus.tdd.point.binary;
+
+import io.hhplus.tdd.point.PointRequestTimeout;
+import io.hhplus.tdd.point.PointRequestTimeoutException;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.routing.PointRequestRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.ByteBuffer;
+
+import static io.hhplus.tdd.point.binary.PointBinaryCodec.*;
+
+/**
+ * 내부 정산 서비스용 바이너리 엔드포인트
+ * JSON 파싱 없이 고정 길이 프레임(PointBinaryCodec)으로 충전/사용/조회를 처리한다.
+ * 한 요청에 여러 프레임을 담아 보내면(pipelining) 순서대로 처리해 같은 순서로 응답한다.
+ */
+@RestController
+@RequestMapping("/point")
+public class PointBinaryController {
+
+    private final PointService service;
+    private final PointRequestRouter router; // 노드 간 라우팅을 켜지 않았으면 null
+    private final PointRequestTimeout requestTimeout;
+
+    public PointBinaryController(
+            PointService service,
+            ObjectProvider<PointRequestRouter> router,
+            PointRequestTimeout requestTimeout
+    ) {
+        this.service = service;
+        this.router = router.getIfAvailable();
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * 프레임 묶음을 처리한다.
+     * X-Request-Timeout 은 묶음 전체의 제한시간이다(1ms ~ 최대 제한시간으로 맞춘다). 마감시각이 지난 뒤의 쓰기 프레임은 처리하지 않는다.
+     * 본문 길이가 요청 프레임 크기의 배수가 아니면 400 으로 응답한다.
+     */
+    @PostMapping(
+            value = "binary",
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            produces = MediaType.APPLICATION_OCTET_STREAM_VALUE
+    )
+    public ResponseEntity<byte[]> binary(
+            @RequestBody byte[] frames,
+            @RequestHeader(value = PointRequestTimeout.HEADER, required = false) Long timeoutMillis
+    ) {
+        if (frames.length % REQUEST_FRAME_SIZE != 0)
+            return ResponseEntity.badRequest().build();
+
+        int count = frames.length / REQUEST_FRAME_SIZE;
+        long deadline = requestTimeout.deadlineOf(timeoutMillis);
+
+        ByteBuffer requests = ByteBuffer.wrap(frames);
+        ByteBuffer responses = ByteBuffer.allocate(count * RESPONSE_FRAME_SIZE);
+        for (int i = 0; i < count; i++) {
+            byte op = requests.get();
+            long userId = requests.getLong();
+            long amount = requests.getLong();
+            handle(responses, op, userId, amount, deadline);
+        }
+        return ResponseEntity.ok(responses.array());
+    }
+
+    private void handle(ByteBuffer responses, byte op, long userId, long amount, long deadline) {
+        if (router != null && userId > 0 && !router.isLocal(userId)) {
+            writeFailure(responses, STATUS_NOT_OWNER, userId);
+            return;
+        }
+
+        try {
+            switch (op) {
+                case OP_GET -> writeResponse(responses, service.getUserPointByUserId(userId));
+                case OP_CHARGE -> writeResponse(responses, service.chargePoint(userId, amount, deadline));
+                case OP_USE -> writeResponse(responses, service.usePoint(userId, amount, deadline));
+                default -> writeFailure(responses, STATUS_UNKNOWN_OP, userId);
+            }
+        } catch (PointRequestTimeoutException e) {
+            writeFailure(responses, STATUS_TIMEOUT, userId);
+        } catch (RuntimeException e) {
+            writeFailure(responses, STATUS_FAILED, userId);
+        }
+    }
+}
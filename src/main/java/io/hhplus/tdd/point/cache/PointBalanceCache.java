@@ -0,0 +1,140 @@
+package io.hhplus.tdd.point.cache;
+
+import io.hhplus.tdd.point.PointCommit;
+import io.hhplus.tdd.point.PointCommitListener;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * [ 잔액 캐시 ]
+ * 포인트 조회(getUserPointByUserId)가 매번 UserPointTable 을 읽지 않도록 최근 조회/변경된 유저의 잔액을 메모리에 둔다.
+ * 1. 커밋된 변경은 커밋 리스너로 받아 바로 캐시에 쓴다. 커밋은 쓰기 권한을 가진 채로 순서대로 전달되므로 캐시도 같은 순서로 바뀐다.
+ * 2. 쓰기가 실패한 유저는 잔액을 알 수 없으므로 캐시에서 뺀다.
+ * 3. 캐시에 없으면 저장소에서 읽어 채운다(fill). 읽는 동안 그 유저의 커밋이 있었으면 읽은 값이 오래된 것이므로 채우지 않는다.
+ *    유저아이디를 해시한 칸마다 커밋 수(generation)를 세고, 읽기 전과 후의 값이 같을 때만 채운다.
+ * 4. maxEntries 를 넘으면 가장 오래 쓰이지 않은 유저부터 뺀다(LRU). 최근에 쓰인 순서는 hot-set 파일로도 저장한다.
+ *
+ * 메트릭
+ * - point.cache.hits / point.cache.misses : 조회 적중/실패 수
+ * - point.cache.size : 캐시에 있는 유저 수
+ */
+@Component
+public class PointBalanceCache implements PointCommitListener {
+
+    private static final int GENERATION_SLOTS = 1024;
+
+    private final int maxEntries;
+    // 접근 순서 LinkedHashMap (this 로 잠그고 읽고 쓴다). 맨 앞이 가장 오래 쓰이지 않은 유저다.
+    private final LinkedHashMap<Long, UserPoint> entries;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_SLOTS);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxEntries : 캐시에 둘 최대 유저 수. 0 이면 캐시하지 않는다.
+     */
+    public PointBalanceCache(int maxEntries) {
+        if (maxEntries < 0)
+            throw new RuntimeException("캐시 크기는 0 이상입니다.");
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+                return size() > PointBalanceCache.this.maxEntries;
+            }
+        };
+    }
+
+    @Autowired
+    public PointBalanceCache(@Value("${point.cache.max-entries:100000}") int maxEntries, MeterRegistry meterRegistry) {
+        this(maxEntries);
+        FunctionCounter.builder("point.cache.hits", hits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("point.cache.misses", misses, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("point.cache.size", this, PointBalanceCache::size).register(meterRegistry);
+    }
+
+    // 캐시하지 않는다
+    public static PointBalanceCache disabled() {
+        return new PointBalanceCache(0);
+    }
+
+    /**
+     * @return 캐시된 잔액. 없으면 null
+     */
+    public UserPoint get(long userId) {
+        UserPoint userPoint;
+        synchronized (this) {
+            userPoint = entries.get(userId);
+        }
+        (userPoint != null ? hits : misses).increment();
+        return userPoint;
+    }
+
+    /**
+     * 저장소에서 읽기 전에 받는 값. 읽은 잔액을 fill 할 때 그대로 넘긴다.
+     */
+    public long fillToken(long userId) {
+        return generations.get(slot(userId));
+    }
+
+    /**
+     * 저장소에서 읽은 잔액을 캐시에 넣는다. fillToken 을 받은 뒤로 이 유저의 커밋이나 쓰기 실패가 있었으면 넣지 않는다.
+     */
+    public void fill(UserPoint userPoint, long token) {
+        if (maxEntries == 0)
+            return;
+        synchronized (this) {
+            if (generations.get(slot(userPoint.id())) == token)
+                entries.putIfAbsent(userPoint.id(), userPoint);
+        }
+    }
+
+    @Override
+    public void onCommit(PointCommit commit) {
+        UserPoint userPoint = commit.userPoint();
+        synchronized (this) {
+            generations.incrementAndGet(slot(userPoint.id()));
+            if (maxEntries > 0)
+                entries.put(userPoint.id(), userPoint);
+        }
+    }
+
+    @Override
+    public void onWriteFailure(long userId, RuntimeException cause) {
+        synchronized (this) {
+            generations.incrementAndGet(slot(userId));
+            entries.remove(userId);
+        }
+    }
+
+    /**
+     * 최근에 쓰인 유저아이디. 가장 최근에 쓰인 유저부터 최대 limit 명
+     */
+    public synchronized List<Long> recentUserIds(int limit) {
+        List<Long> userIds = new ArrayList<>(entries.keySet());
+        List<Long> recent = new ArrayList<>(Math.min(limit, userIds.size()));
+        for (int i = userIds.size() - 1; i >= 0 && recent.size() < limit; i--)
+            recent.add(userIds.get(i));
+        return recent;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static int slot(long userId) {
+        return (int) ((userId ^ (userId >>> 32)) & (GENERATION_SLOTS - 1));
+    }
+}
@@ -0,0 +1,128 @@
+package io.hhplus.tdd.point.expiry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠 (hierarchical timing wheel)
+ * - 만료시각을 tick 단위로 올림한 뒤, 남은 시간에 맞는 단계(level)의 칸(slot)에 넣는다.
+ *   level 0 은 tick 단위 칸 2^bits 개, level 1 은 tick*2^bits 단위 칸 2^bits 개 ... 로 위로 갈수록 칸이 넓다.
+ * - 시간이 한 칸 지날 때마다 그 칸의 항목만 처리하므로, 전체 항목을 훑지 않고 만료를 찾는다.
+ * - 윗단계 칸의 시작 시각이 되면 그 칸의 항목을 아랫단계로 내려보낸다(cascade).
+ * - 넣기/꺼내기 모두 O(1) 이다. 한 스레드에서만 사용한다. (스레드 안전하지 않다)
+ *
+ * @param <T> : 만료시 돌려받을 항목
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final List<Entry<T>>[][] slots; // [level][slot]
+    private long currentTick; // 처리를 마친 마지막 tick
+    private int size;
+
+    private record Entry<T>(long deadlineTick, T item) {
+    }
+
+    /**
+     * @param tickMillis : 한 칸의 시간(ms). 만료는 최대 이만큼 늦게 처리된다.
+     * @param bits : 단계별 칸 수 = 2^bits
+     * @param levels : 단계 수. 덮는 시간 = tickMillis * 2^(bits*levels). 그보다 먼 항목은 맨 윗단계에서 다시 내려보낸다.
+     * @param startMillis : 시작 시각
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int bits, int levels, long startMillis) {
+        if (tickMillis <= 0 || bits <= 0 || levels <= 0 || bits * levels >= 62)
+            throw new IllegalArgumentException("잘못된 타이밍 휠 설정입니다.");
+        this.tickMillis = tickMillis;
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        this.slots = new List[levels][1 << bits];
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * 만료시각에 꺼낼 항목을 넣는다.
+     *
+     * @return 이미 만료시각이 지나 넣지 않았으면 false (호출한 쪽에서 바로 처리한다)
+     */
+    public boolean schedule(long expireAtMillis, T item) {
+        long deadlineTick = Math.floorDiv(expireAtMillis + tickMillis - 1, tickMillis); // 올림: 만료시각 전에는 꺼내지 않는다
+        if (deadlineTick <= currentTick)
+            return false;
+        place(new Entry<>(deadlineTick, item));
+        size++;
+        return true;
+    }
+
+    /**
+     * nowMillis 까지 시간을 진행하며 만료된 항목을 expired 에 넘긴다.
+     */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // 윗단계부터 이번 tick 에 시작하는 칸을 아랫단계로 내려보낸다.
+            for (int level = slots.length - 1; level >= 1; level--) {
+                int shift = bits * level;
+                if ((currentTick & ((1L << shift) - 1)) == 0)
+                    cascade(level, (int) ((currentTick >>> shift) & mask), expired);
+            }
+            List<Entry<T>> due = slots[0][(int) (currentTick & mask)];
+            if (due != null) {
+                slots[0][(int) (currentTick & mask)] = null;
+                for (Entry<T> entry : due)
+                    expire(entry, expired);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long currentTimeMillis() {
+        return currentTick * tickMillis;
+    }
+
+    private void cascade(int level, int slot, Consumer<T> expired) {
+        List<Entry<T>> entries = slots[level][slot];
+        if (entries == null)
+            return;
+        slots[level][slot] = null;
+        for (Entry<T> entry : entries) {
+            if (entry.deadlineTick() <= currentTick)
+                expire(entry, expired);
+            else
+                place(entry);
+        }
+    }
+
+    private void expire(Entry<T> entry, Consumer<T> expired) {
+        size--;
+        expired.accept(entry.item());
+    }
+
+    // 남은 tick 수에 맞는 가장 낮은 단계에 넣는다. 가장 높은 단계보다 멀면 맨 윗단계의 마지막 칸에 넣는다.
+    private void place(Entry<T> entry) {
+        long delta = entry.deadlineTick() - currentTick;
+        int top = slots.length - 1;
+        for (int level = 0; level <= top; level++) {
+            if (delta < 1L << (bits * (level + 1))) {
+                add(level, (int) ((entry.deadlineTick() >>> (bits * level)) & mask), entry);
+                return;
+            }
+        }
+        long farthest = currentTick + (1L << (bits * (top + 1))) - 1;
+        add(top, (int) ((farthest >>> (bits * top)) & mask), entry);
+    }
+
+    private void add(int level, int slot, Entry<T> entry) {
+        List<Entry<T>> entries = slots[level][slot];
+        if (entries == null)
+            slots[level][slot] = entries = new ArrayList<>();
+        entries.add(entry);
+    }
+}
@@ -0,0 +1,126 @@
+package io.hhplus.tdd.point.expiry;
+
+import io.hhplus.tdd.point.PointServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프로모션 포인트 만료 스케줄러
+ * - 새 lot 을 계층형 타이밍 휠에 넣고, tick 마다 시간을 진행해 만료시각이 된 lot 만 꺼낸다.
+ *   모든 유저를 주기적으로 훑지 않으므로 대기중인 lot 이 많아도 tick 비용은 만료되는 lot 수에 비례한다.
+ * - 한 tick 에 만료된 lot 은 유저별로 모아 유저당 한번만 만료 처리한다.
+ * - 만료 처리는 이 스케줄러의 스레드에서 BATCH 우선순위로 실행된다. 충전/사용 요청 스레드는 휠을 건드리지 않는다.
+ * - 만료 처리에 실패한 유저는 retryMillis 뒤에 다시 꺼내도록 휠에 다시 넣는다.
+ *   연속으로 실패하면 maxRetryMillis 까지 두 배씩 늘린다. 휠에서 꺼낸 lot 은 다시 들어오지 않으므로, 다시 넣지 않으면 만료되지 않는다.
+ * point.expiry.enabled=false 면 만료 스레드를 띄우지 않는다. (lot 은 쌓이지만 만료되지 않는다)
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.expiry", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PointExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(PointExpiryScheduler.class);
+
+    private final PointServiceImpl pointService;
+    private final PointLotStore lotStore;
+    private final HierarchicalTimingWheel<Long> wheel; // 항목은 유저아이디
+    private final ScheduledExecutorService ticker;
+    private final Counter expiredUsers;
+    private final Counter retries;
+    private final long retryMillis;
+    private final long maxRetryMillis;
+    private final Map<Long, Long> backoffMillis = new HashMap<>(); // 만료 처리에 실패한 유저 → 다음 재시도 간격 (tick 안에서만 읽고 쓴다)
+
+    public PointExpiryScheduler(PointServiceImpl pointService, PointLotStore lotStore, MeterRegistry meterRegistry, long tickMillis) {
+        this(pointService, lotStore, meterRegistry, tickMillis, 5_000, 300_000);
+    }
+
+    @Autowired
+    public PointExpiryScheduler(
+            PointServiceImpl pointService,
+            PointLotStore lotStore,
+            MeterRegistry meterRegistry,
+            @Value("${point.expiry.tick-millis:1000}") long tickMillis,
+            @Value("${point.expiry.retry-millis:5000}") long retryMillis,
+            @Value("${point.expiry.max-retry-millis:300000}") long maxRetryMillis
+    ) {
+        this.pointService = pointService;
+        this.lotStore = lotStore;
+        this.retryMillis = Math.max(tickMillis, retryMillis); // 휠은 tick 단위로만 꺼내므로 tick 보다 짧게 둘 수 없다
+        this.maxRetryMillis = Math.max(this.retryMillis, maxRetryMillis);
+        // 칸 64개 x 5단계: 1초 tick 이면 약 34년까지 덮는다.
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, 6, 5, System.currentTimeMillis());
+        this.expiredUsers = Counter.builder("point.expiry.users").register(meterRegistry);
+        this.retries = Counter.builder("point.expiry.retries").register(meterRegistry);
+        Gauge.builder("point.expiry.pending.lots", this, scheduler -> scheduler.wheel.size()).register(meterRegistry);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 새 lot 을 휠에 넣고 nowMillis 까지 시간을 진행해 만료된 유저들의 포인트를 만료시킨다.
+     * 타이밍 휠은 스레드 안전하지 않으므로 한번에 하나의 tick 만 실행한다.
+     */
+    synchronized void tick(long nowMillis) {
+        Set<Long> dueUsers = new LinkedHashSet<>();
+        PointLot lot;
+        while ((lot = lotStore.pollNewLot()) != null) {
+            if (!wheel.schedule(lot.expireAtMillis(), lot.userId()))
+                dueUsers.add(lot.userId());
+        }
+        wheel.advance(nowMillis, dueUsers::add);
+
+        for (Long userId : dueUsers) {
+            try {
+                if (pointService.expirePoint(userId, nowMillis) != null)
+                    expiredUsers.increment();
+                backoffMillis.remove(userId);
+            } catch (RuntimeException e) {
+                long backoff = scheduleRetry(userId, nowMillis);
+                log.warn("포인트 만료 처리 실패 userId={}. {}ms 뒤에 다시 시도합니다.", userId, backoff, e);
+            }
+        }
+    }
+
+    // 실패한 유저를 backoff 뒤에 다시 꺼내도록 휠에 넣고, 다음 실패 때의 간격을 두 배로 늘린다.
+    private long scheduleRetry(long userId, long nowMillis) {
+        long backoff = backoffMillis.getOrDefault(userId, retryMillis);
+        backoffMillis.put(userId, Math.min(backoff * 2, maxRetryMillis));
+        // 휠은 nowMillis 까지 진행했으므로 tick 하나 이상 뒤의 시각은 항상 들어간다.
+        wheel.schedule(Math.max(wheel.currentTimeMillis(), nowMillis) + backoff, userId);
+        retries.increment();
+        return backoff;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    private void tick() {
+        try {
+            tick(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.warn("포인트 만료 tick 실패", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.expiry;
+
+/**
+ * 만료시각이 있는 포인트 묶음(lot)
+ * 프로모션 충전 한번이 lot 하나가 된다. 사용하면 remaining 이 줄어든다.
+ *
+ * @param userId : 유저아이디
+ * @param remaining : 아직 쓰지 않은 포인트
+ * @param expireAtMillis : 만료시각(epoch millis)
+ */
+public record PointLot(
+        long userId,
+        long remaining,
+        long expireAtMillis
+) {
+}
@@ -0,0 +1,104 @@
+package io.hhplus.tdd.point.expiry;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 유저별 만료 포인트 묶음(lot) 저장소
+ * - lot 은 충전된 순서대로 쌓이고, 사용할 때 먼저 충전된 lot 부터(FIFO) 차감한다.
+ * - lot 으로 추적하지 않는 나머지 보유포인트는 만료되지 않는 포인트다.
+ * - 새로 추가된 lot 은 newLots 큐에도 넣어 만료 스케줄러가 가져가게 한다. (충전 경로에서 타이밍 휠을 직접 건드리지 않는다)
+ * - 변경은 PointServiceImpl 이 유저 잠금을 잡은 상태에서만 한다. 유저별 deque 는 조회와 겹칠 수 있으므로 동기화한다.
+ */
+@Component
+public class PointLotStore {
+
+    private final Map<Long, ArrayDeque<PointLot>> lots = new ConcurrentHashMap<>();
+    private final Queue<PointLot> newLots = new ConcurrentLinkedQueue<>();
+
+    public void add(long userId, long amount, long expireAtMillis) {
+        PointLot lot = new PointLot(userId, amount, expireAtMillis);
+        ArrayDeque<PointLot> userLots = lots.computeIfAbsent(userId, id -> new ArrayDeque<>());
+        synchronized (userLots) {
+            userLots.addLast(lot);
+        }
+        newLots.add(lot);
+    }
+
+    /**
+     * 먼저 충전된 lot 부터 amount 만큼 차감한다. lot 합계보다 많이 쓰면 나머지는 만료되지 않는 포인트에서 쓴 것이다.
+     */
+    public void consume(long userId, long amount) {
+        ArrayDeque<PointLot> userLots = lots.get(userId);
+        if (userLots == null)
+            return;
+        synchronized (userLots) {
+            long left = amount;
+            while (left > 0 && !userLots.isEmpty()) {
+                PointLot oldest = userLots.pollFirst();
+                if (oldest.remaining() > left) {
+                    userLots.addFirst(new PointLot(userId, oldest.remaining() - left, oldest.expireAtMillis()));
+                    left = 0;
+                } else {
+                    left -= oldest.remaining();
+                }
+            }
+        }
+    }
+
+    /**
+     * nowMillis 기준으로 만료된 lot 의 남은 포인트 합계
+     */
+    public long expiredAmount(long userId, long nowMillis) {
+        ArrayDeque<PointLot> userLots = lots.get(userId);
+        if (userLots == null)
+            return 0;
+        synchronized (userLots) {
+            long expired = 0;
+            for (PointLot lot : userLots)
+                if (lot.expireAtMillis() <= nowMillis)
+                    expired += lot.remaining();
+            return expired;
+        }
+    }
+
+    /**
+     * nowMillis 기준으로 만료된 lot 을 지운다.
+     */
+    public void removeExpired(long userId, long nowMillis) {
+        ArrayDeque<PointLot> userLots = lots.get(userId);
+        if (userLots == null)
+            return;
+        synchronized (userLots) {
+            Iterator<PointLot> iterator = userLots.iterator();
+            while (iterator.hasNext())
+                if (iterator.next().expireAtMillis() <= nowMillis)
+                    iterator.remove();
+        }
+    }
+
+    /**
+     * 유저가 가진 만료 예정 포인트 합계
+     */
+    public long expiringAmount(long userId) {
+        ArrayDeque<PointLot> userLots = lots.get(userId);
+        if (userLots == null)
+            return 0;
+        synchronized (userLots) {
+            return userLots.stream().mapToLong(PointLot::remaining).sum();
+        }
+    }
+
+    /**
+     * 마지막으로 가져간 뒤 새로 추가된 lot 을 가져간다. (만료 스케줄러 전용)
+     */
+    PointLot pollNewLot() {
+        return newLots.poll();
+    }
+}
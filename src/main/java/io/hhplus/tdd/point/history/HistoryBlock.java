@@ -0,0 +1,123 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 한 유저의 연속된 내역 묶음을 압축해서 저장하는 블록 형식
+ *
+ * [ 인코딩 설계 ]
+ * - 헤더 : [magic:4][version:1][userId:varint][count:varint]
+ * - 내역 한 건 : [id 차이][amount][type:1][updateMillis 차이]
+ *   · 유저아이디는 블록마다 한 번만 적는다.
+ *   · id, updateMillis 는 앞 내역과의 차이를 적는다. (같은 유저의 내역 사이 id 차이는 보통 작다)
+ *   · 정수는 varint 로 적는다. id 차이와 개수 말고는 음수일 수 있으므로 zigzag 로 바꿔 적는다.
+ * - 전체를 deflate 로 한 번 더 압축한다.
+ * 헤더와 deflate 오버헤드가 블록마다 붙으므로, 블록에 내역이 많을수록 내역 한 건이 차지하는 크기가 작아진다.
+ */
+final class HistoryBlock {
+
+    private static final int MAGIC = 0x50484253; // "PHBS"
+    private static final int VERSION = 1;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private HistoryBlock() {
+    }
+
+    // histories 는 모두 userId 의 내역이고 id 가 증가하는 순서여야 한다.
+    static byte[] encode(long userId, List<PointHistory> histories) throws IOException {
+        if (histories.isEmpty())
+            throw new IllegalArgumentException("빈 블록은 만들 수 없습니다.");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(histories.size() * 8);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes)) {
+            writeInt(out, MAGIC);
+            out.write(VERSION);
+            writeVarLong(out, zigzag(userId));
+            writeVarLong(out, histories.size());
+
+            long previousId = 0;
+            long previousMillis = 0;
+            for (PointHistory history : histories) {
+                if (history.userId() != userId || history.id() <= previousId)
+                    throw new IllegalArgumentException("블록에 넣을 수 없는 내역입니다. id=" + history.id());
+                writeVarLong(out, history.id() - previousId);
+                writeVarLong(out, zigzag(history.amount()));
+                out.write(history.type().ordinal());
+                writeVarLong(out, zigzag(history.updateMillis() - previousMillis));
+                previousId = history.id();
+                previousMillis = history.updateMillis();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<PointHistory> decode(byte[] block) throws IOException {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(block)))) {
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION)
+                throw new IOException("내역 블록 형식이 아닙니다.");
+            long userId = unzigzag(readVarLong(in));
+            int count = Math.toIntExact(readVarLong(in));
+
+            List<PointHistory> histories = new ArrayList<>(count);
+            long id = 0;
+            long updateMillis = 0;
+            for (int i = 0; i < count; i++) {
+                id += readVarLong(in);
+                long amount = unzigzag(readVarLong(in));
+                TransactionType type = TYPES[in.readUnsignedByte()];
+                updateMillis += unzigzag(readVarLong(in));
+                histories.add(new PointHistory(id, userId, amount, type, updateMillis));
+            }
+            return histories;
+        }
+    }
+
+    private static void writeInt(OutputStream out, int value) throws IOException {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0)
+                throw new EOFException("내역 블록이 중간에 끊겼습니다.");
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("varint 가 너무 깁니다.");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.storage.PointHistoryStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * 포인트 내역 저장소 설정
+ * point.history.store 로 구현체를 고른다.
+ * - table (기본값) : PointHistoryTable 에 그대로 쓴다. 내역 id 도 테이블이 매긴다.
+ * - tiered : 최근 내역만 메모리에 두고 오래된 내역은 압축해서 디스크로 옮긴다 (TieredPointHistoryStore)
+ *   이 저장소는 PointHistoryTable 을 쓰지 않는다. "Table 클래스는 변경하지 않고 공개된 API 만을 사용" 한다는 규칙에서 벗어나
+ *   내역을 테이블이 아닌 이 서비스가 가진 저장소에 두고, id 도 직접 매긴다. (PointHistoryTable 빈은 남지만 내역이 쓰이지 않는다)
+ *   테이블에는 지우는 API 가 없어 테이블의 힙은 줄일 수 없으므로, 내역이 메모리를 계속 차지하는 게 문제일 때만 켠다.
+ *   디스크로 옮긴 내역은 실행마다 새로 만든 파일에 있고 종료할 때 지우므로, 재시작하면 남지 않는다.
+ *   · point.history.dir : 오래된 내역을 옮길 파일을 만들 디렉터리. 비우면 모든 내역을 메모리에 둔다.
+ *     파일 이름은 실행마다 다르고 닫을 때 지우므로 여러 노드가 같은 디렉터리를 써도 된다.
+ *   · point.history.hot-entries : 메모리에 둘 최대 내역 수
+ *
+ * 메트릭 (tiered)
+ * - point.history.hot.entries : 메모리에 있는 내역 수
+ * - point.history.archived.entries / point.history.archived.bytes : 디스크로 옮긴 내역 수와 파일 크기
+ */
+@Configuration
+public class PointHistoryConfig {
+
+    @Bean
+    public PointHistoryStore pointHistoryStore(
+            PointHistoryTable pointHistoryTable,
+            MeterRegistry meterRegistry,
+            @Value("${point.history.store:table}") String store,
+            @Value("${point.history.dir:${java.io.tmpdir}}") String dir,
+            @Value("${point.history.hot-entries:100000}") int hotEntries
+    ) {
+        return switch (store) {
+            case "table" -> PointHistoryStore.of(pointHistoryTable);
+            case "tiered" -> {
+                TieredPointHistoryStore tiered = dir.isBlank()
+                        ? new TieredPointHistoryStore()
+                        : new TieredPointHistoryStore(Path.of(dir), hotEntries);
+                Gauge.builder("point.history.hot.entries", tiered, TieredPointHistoryStore::hotSize).register(meterRegistry);
+                Gauge.builder("point.history.archived.entries", tiered, TieredPointHistoryStore::archivedEntries).register(meterRegistry);
+                Gauge.builder("point.history.archived.bytes", tiered, TieredPointHistoryStore::archivedBytes).register(meterRegistry);
+                yield tiered;
+            }
+            default -> throw new IllegalArgumentException("지원하지 않는 포인트 내역 저장소입니다. (" + store + ")");
+        };
+    }
+}
@@ -0,0 +1,283 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.storage.PointHistoryStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 최근 내역은 메모리에, 오래된 내역은 압축해서 디스크에 두는 포인트 내역 저장소
+ * 내역 id 는 이 저장소가 1부터 매긴다. PointHistoryTable 을 쓰지 않으므로 켤 때는 PointHistoryConfig 의 설명을 본다.
+ *
+ * [ 보관 로직 설계 ]
+ * - 디렉터리를 주지 않으면 모든 내역을 메모리에 둔다.
+ * - 디렉터리를 주면 메모리의 내역이 hotEntries 개를 넘을 때 백그라운드 스레드가
+ *   가장 오래 조회/변경되지 않은 유저(LRU)부터 그 유저의 메모리 내역을 블록 하나로 압축해 파일 끝에 붙인다.
+ *   hotEntries 의 3/4 까지 옮기고 멈춘다. (넘을 때마다 한 유저씩 옮기면 작은 블록이 많아진다)
+ *   · 유저마다 블록 색인(파일 위치, 길이, 마지막 id)을 메모리에 둔다.
+ *   · 블록을 다 쓴 뒤에 색인에 넣고 메모리에서 지우므로(같은 잠금 안에서), 어느 순간에도 모든 내역이 둘 중 한 곳에는 있다.
+ *   · 디스크 쓰기에 실패하면 메모리에 남겨두고 다음 insert 때 다시 옮긴다.
+ *   · insert 는 디스크를 기다리지 않는다. (디스크가 느리면 잠시 hotEntries 를 넘을 수 있다)
+ * - 파일은 실행마다 새로 만들고(이름이 겹치지 않는다) 닫을 때 지운다. 다른 노드나 지난 실행의 파일은 건드리지 않는다.
+ *
+ * [ 조회 로직 설계 ]
+ * - 유저의 블록 색인과 메모리 내역을 잠금 안에서 복사하고, 블록은 잠금 밖에서 읽는다. (블록은 바뀌지 않는다)
+ * - 블록 → 메모리 순서로 이어 붙이면 id 순서가 된다.
+ * - 페이지 조회는 마지막 id 가 afterId 이하인 블록을 읽지 않고, limit 개를 채우면 남은 블록을 읽지 않는다.
+ */
+public class TieredPointHistoryStore implements PointHistoryStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TieredPointHistoryStore.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, UserHistory> users = new HashMap<>(); // 내역이 있는 모든 유저
+    private final LinkedHashMap<Long, UserHistory> recent = new LinkedHashMap<>(16, 0.75f, true); // 메모리 내역이 있는 유저 (접근 순서)
+
+    private final int hotEntries;
+    private final Path path;
+    private final FileChannel file;
+    private final ExecutorService archiver;
+
+    private long nextId = 1;
+    private int hotSize; // 메모리에 있는 내역 수
+    private long archivedEntries;
+    private boolean archiving;
+    private volatile long fileSize; // 아카이브 스레드만 늘린다
+
+    // 모든 내역을 메모리에 둔다.
+    public TieredPointHistoryStore() {
+        this.hotEntries = Integer.MAX_VALUE;
+        this.path = null;
+        this.file = null;
+        this.archiver = null;
+    }
+
+    /**
+     * @param directory : 오래된 내역을 옮길 파일을 만들 디렉터리 (파일은 닫을 때 지운다)
+     * @param hotEntries : 메모리에 둘 최대 내역 수
+     */
+    public TieredPointHistoryStore(Path directory, int hotEntries) {
+        if (hotEntries < 1)
+            throw new IllegalArgumentException("hotEntries 는 1 이상이어야 합니다.");
+        this.hotEntries = hotEntries;
+        try {
+            Files.createDirectories(directory);
+            this.path = Files.createTempFile(directory, "point-history-", ".blk");
+            this.file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 내역 파일을 만들지 못했습니다. dir=" + directory, e);
+        }
+        this.archiver = Executors.newSingleThreadExecutor(daemon("point-history-archiver"));
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        lock.lock();
+        try {
+            PointHistory history = new PointHistory(nextId++, userId, amount, type, updateMillis);
+            UserHistory user = users.computeIfAbsent(userId, UserHistory::new);
+            user.hot.add(history);
+            recent.put(userId, user);
+            hotSize++;
+            archiveIfFull();
+            return history;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return selectByUserId(userId, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, long afterId, int limit) {
+        List<Block> blocks;
+        List<PointHistory> hot;
+        lock.lock();
+        try {
+            UserHistory user = users.get(userId);
+            if (user == null)
+                return List.of();
+            blocks = List.copyOf(user.blocks);
+            hot = List.copyOf(user.hot);
+            if (!hot.isEmpty())
+                recent.get(userId); // 최근에 조회한 유저는 늦게 옮긴다
+        } finally {
+            lock.unlock();
+        }
+
+        List<PointHistory> histories = new ArrayList<>();
+        for (Block block : blocks) {
+            if (histories.size() >= limit)
+                return histories;
+            if (block.lastId() <= afterId)
+                continue;
+            addAfter(histories, readBlock(block), afterId, limit);
+        }
+        addAfter(histories, hot, afterId, limit);
+        return histories;
+    }
+
+    // 메모리에 있는 내역 수
+    public int hotSize() {
+        lock.lock();
+        try {
+            return hotSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 디스크로 옮긴 내역 수
+    public long archivedEntries() {
+        lock.lock();
+        try {
+            return archivedEntries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long archivedBytes() {
+        return fileSize;
+    }
+
+    // 아카이브 스레드를 멈추고 이 저장소가 만든 파일을 지운다. 닫은 뒤에는 디스크로 옮긴 내역을 읽을 수 없다.
+    @Override
+    public void close() throws InterruptedException {
+        if (archiver == null)
+            return;
+        archiver.shutdown();
+        archiver.awaitTermination(5, TimeUnit.SECONDS);
+        try {
+            file.close();
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("포인트 내역 파일을 지우지 못했습니다. path={}", path, e);
+        }
+    }
+
+    // lock 을 잡은 상태에서 부른다. 옮기는 중이 아니고 hotEntries 를 넘었으면 옮긴다.
+    private void archiveIfFull() {
+        if (archiver == null || archiving || hotSize <= hotEntries || archiver.isShutdown())
+            return;
+        archiving = true;
+        archiver.execute(this::archive);
+    }
+
+    private void archive() {
+        int target = hotEntries - hotEntries / 4;
+        try {
+            while (true) {
+                UserHistory user;
+                List<PointHistory> histories;
+                lock.lock();
+                try {
+                    if (hotSize <= target)
+                        return;
+                    Iterator<UserHistory> eldest = recent.values().iterator(); // 순회는 접근 순서를 바꾸지 않는다
+                    user = eldest.next();
+                    histories = List.copyOf(user.hot);
+                } finally {
+                    lock.unlock();
+                }
+
+                byte[] encoded = HistoryBlock.encode(user.userId, histories);
+                long offset = fileSize;
+                ByteBuffer buffer = ByteBuffer.wrap(encoded);
+                while (buffer.hasRemaining())
+                    file.write(buffer, offset + buffer.position());
+                fileSize = offset + encoded.length;
+
+                lock.lock();
+                try {
+                    user.blocks.add(new Block(offset, encoded.length,
+                            histories.get(histories.size() - 1).id()));
+                    user.hot.subList(0, histories.size()).clear(); // 옮기는 동안 붙은 내역은 남는다
+                    if (user.hot.isEmpty())
+                        recent.remove(user.userId);
+                    hotSize -= histories.size();
+                    archivedEntries += histories.size();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("포인트 내역을 디스크로 옮기지 못했습니다. 메모리에 남겨둡니다.", e);
+        } finally {
+            lock.lock();
+            try {
+                archiving = false;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private List<PointHistory> readBlock(Block block) {
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(block.length());
+            while (buffer.hasRemaining()) {
+                if (file.read(buffer, block.offset() + buffer.position()) < 0)
+                    throw new IOException("내역 블록이 파일 끝에서 끊겼습니다.");
+            }
+            return HistoryBlock.decode(buffer.array());
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 내역 블록을 읽지 못했습니다. offset=" + block.offset(), e);
+        }
+    }
+
+    private static void addAfter(List<PointHistory> target, List<PointHistory> histories, long afterId, int limit) {
+        for (PointHistory history : histories) {
+            if (target.size() >= limit)
+                return;
+            if (history.id() > afterId)
+                target.add(history);
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // 유저 한 명의 내역. 블록(디스크) 다음에 메모리 내역이 id 순서로 이어진다. (lock 을 잡고 읽고 쓴다)
+    private static final class UserHistory {
+        final long userId;
+        final List<Block> blocks = new ArrayList<>();
+        final List<PointHistory> hot = new ArrayList<>();
+
+        UserHistory(long userId) {
+            this.userId = userId;
+        }
+    }
+
+    // 파일에 쓴 블록 하나. 마지막 id 만으로 페이지 조회에서 건너뛸지 정한다.
+    private record Block(long offset, int length, long lastId) {
+    }
+}
@@ -0,0 +1,65 @@
+package io.hhplus.tdd.point.hotkey;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * count-min sketch
+ * - depth 개의 행마다 서로 다른 해시로 width 칸 중 하나를 골라 1씩 더한다.
+ * - 추정값은 그 칸들의 최솟값이다. 다른 키와 칸이 겹치면 크게 추정할 수는 있어도 작게 추정하지는 않는다.
+ * - 키 수와 상관없이 depth * width 개의 카운터만 쓴다.
+ * - 카운터는 원자적으로 더하므로 여러 스레드에서 동시에 더할 수 있다.
+ */
+final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+    private final long[] seeds;
+
+    /**
+     * @param depth : 해시 행 수 (클수록 겹친 칸 때문에 크게 추정할 확률이 줄어든다)
+     * @param width : 행 하나의 칸 수 (2의 거듭제곱)
+     */
+    CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0 || Integer.bitCount(width) != 1)
+            throw new RuntimeException("depth 는 양수, width 는 2의 거듭제곱이어야 합니다.");
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicLongArray(depth * width);
+        this.seeds = new long[depth];
+        for (int row = 0; row < depth; row++)
+            seeds[row] = mix(0x9E3779B97F4A7C15L * (row + 1));
+    }
+
+    // key 를 1 세고, 센 뒤의 추정값을 돌려준다
+    long add(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++)
+            estimate = Math.min(estimate, counters.incrementAndGet(index(key, row)));
+        return estimate;
+    }
+
+    long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++)
+            estimate = Math.min(estimate, counters.get(index(key, row)));
+        return estimate;
+    }
+
+    // 모든 카운터를 절반으로 줄인다. 오래된 요청의 비중이 창(window)마다 절반씩 줄어든다.
+    void halve() {
+        for (int i = 0; i < counters.length(); i++)
+            counters.updateAndGet(i, count -> count >> 1);
+    }
+
+    private int index(long key, int row) {
+        return row * width + (int) (mix(key ^ seeds[row]) & (width - 1));
+    }
+
+    // splitmix64 의 마무리 단계
+    private static long mix(long x) {
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+}
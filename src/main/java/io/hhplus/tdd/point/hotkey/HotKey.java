@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.hotkey;
+
+/**
+ * 요청이 몰리는 유저
+ *
+ * @param userId : 유저아이디
+ * @param estimate : 최근 요청 수 추정값 (창(window)마다 절반씩 줄어든다)
+ */
+public record HotKey(
+        long userId,
+        long estimate
+) {
+}
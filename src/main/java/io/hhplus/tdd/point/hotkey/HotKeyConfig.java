@@ -0,0 +1,63 @@
+package io.hhplus.tdd.point.hotkey;
+
+import io.hhplus.tdd.point.PointServiceImpl;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 핫키 감지 설정 (point.hotkey.enabled=false 면 모든 유저의 충전을 유저 잠금 하나로 줄세운다)
+ * - point.hotkey.top-k : 핫키로 둘 최대 유저 수
+ * - point.hotkey.threshold : 창(window) 하나 동안 이만큼 충전/사용 요청이 오면 핫키 후보가 된다
+ * - point.hotkey.window-millis : 요청 수 추정값을 절반으로 줄이는 주기
+ * - point.hotkey.stripes : 핫키 유저의 충전을 나눠 받을 줄무늬 잔액 수
+ * 줄무늬는 같은 유저의 충전이 유저 잠금 하나에 줄서지 않게 할 뿐, 저장소 쓰기는 전역 쓰기 권한으로 한번에 하나씩 실행된다.
+ * 그래서 핫키 유저 한 명의 충전 처리량은 전체 쓰기 처리량을 넘지 못한다.
+ * window-millis 마다 요청이 없어도 창을 넘기고, 핫키에서 빠진 유저의 줄무늬 잔액을 합친다. (HotKeyCooldown)
+ * - point.hotkey.cooldown.enabled : 식히기 스레드를 돌릴지 여부. 끄면 요청이 끊긴 유저는 다음 사용 때 줄무늬 잔액을 합친다.
+ *
+ * 메트릭
+ * - point.hotkey.hot : 현재 핫키 유저 수
+ * - point.hotkey.striped : 줄무늬 잔액으로 충전을 나눠 받고 있는 유저 수
+ * - point.hotkey.cooled : 핫키에서 빠져 줄무늬 잔액을 합친 유저 수
+ * 어떤 유저가 핫키인지는 /actuator/pointhotkeys 에서 본다. (유저아이디를 메트릭 태그로 두면 태그 값이 끝없이 늘어난다)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "point.hotkey", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HotKeyConfig {
+
+    @Bean
+    public HotKeyDetector hotKeyDetector(
+            MeterRegistry meterRegistry,
+            @Value("${point.hotkey.top-k:16}") int topK,
+            @Value("${point.hotkey.threshold:20}") long threshold,
+            @Value("${point.hotkey.window-millis:10000}") long windowMillis,
+            @Value("${point.hotkey.stripes:8}") int stripes
+    ) {
+        HotKeyDetector detector = new HotKeyDetector(topK, threshold, windowMillis, stripes);
+        Gauge.builder("point.hotkey.hot", detector, d -> d.hotKeys().size()).register(meterRegistry);
+        return detector;
+    }
+
+    @Bean
+    public PointHotKeyEndpoint pointHotKeyEndpoint(HotKeyDetector detector, PointServiceImpl pointService, MeterRegistry meterRegistry) {
+        Gauge.builder("point.hotkey.striped", pointService, PointServiceImpl::stripedUserCount).register(meterRegistry);
+        return new PointHotKeyEndpoint(detector, pointService);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "point.hotkey.cooldown", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public HotKeyCooldown hotKeyCooldown(
+            HotKeyDetector detector,
+            PointServiceImpl pointService,
+            MeterRegistry meterRegistry,
+            @Value("${point.hotkey.window-millis:10000}") long windowMillis
+    ) {
+        HotKeyCooldown cooldown = new HotKeyCooldown(detector, pointService, meterRegistry.counter("point.hotkey.cooled"), windowMillis);
+        cooldown.start();
+        return cooldown;
+    }
+}
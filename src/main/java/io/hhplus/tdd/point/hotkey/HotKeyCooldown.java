@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point.hotkey;
+
+import io.hhplus.tdd.point.PointServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * [ 핫키 식히기 로직 설계 ]
+ * 핫키 감지기는 요청이 올 때만 창을 넘기므로, 요청이 끊긴 유저는 핫키로 남고 줄무늬 잔액도 그대로 남는다.
+ * intervalMillis 마다
+ * 1. 요청이 없어도 감지기의 창을 지금 시각까지 넘겨 추정값을 줄인다.
+ * 2. 핫키에서 빠진 유저의 줄무늬 잔액을 본 행으로 합친다.
+ */
+public class HotKeyCooldown implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HotKeyCooldown.class);
+
+    private final HotKeyDetector detector;
+    private final PointServiceImpl pointService;
+    private final Counter cooled;
+    private final long intervalMillis;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(daemon("point-hotkey-cooldown"));
+
+    /**
+     * @param cooled : 줄무늬 잔액을 합친 유저 수
+     * @param intervalMillis : 식히는 주기 (보통 감지기의 창 길이)
+     */
+    public HotKeyCooldown(HotKeyDetector detector, PointServiceImpl pointService, Counter cooled, long intervalMillis) {
+        this.detector = detector;
+        this.pointService = pointService;
+        this.cooled = cooled;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public void start() {
+        executor.scheduleWithFixedDelay(this::cool, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // 감지기의 창을 넘기고 식은 유저의 줄무늬 잔액을 합친다. 합친 유저 수를 돌려준다.
+    int cool() {
+        try {
+            detector.advance(System.currentTimeMillis());
+            int merged = pointService.mergeCooledStripes();
+            cooled.increment(merged);
+            return merged;
+        } catch (RuntimeException e) {
+            log.warn("핫키 식히기 실패", e); // 다음 주기에 다시 한다
+            return 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
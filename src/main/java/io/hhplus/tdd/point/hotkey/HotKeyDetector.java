@@ -0,0 +1,134 @@
+package io.hhplus.tdd.point.hotkey;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * [ 핫키(요청이 몰리는 유저) 감지 로직 설계 ]
+ * 1. 요청마다 유저아이디를 count-min sketch 에 센다. 유저 수와 관계없이 메모리는 고정이다.
+ * 2. 추정값이 threshold 이상이면 top-K 후보가 된다. 후보는 추정값이 가장 작은 것이 맨 위인 힙(min-heap)에 둔다.
+ *    후보가 K 명이면 맨 위 후보보다 추정값이 클 때만 맨 위 후보를 빼고 들어간다.
+ * 3. windowMillis 마다 sketch 와 후보의 추정값을 절반으로 줄이고, threshold 아래로 내려간 후보는 뺀다.
+ *    요청이 끊긴 유저는 몇 창 안에 핫키에서 빠진다.
+ * 4. 후보 목록이 바뀔 때만 핫키 집합을 새로 만든다. isHot 은 잠금 없이 읽는다.
+ */
+public class HotKeyDetector {
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 2048;
+
+    private final CountMinSketch sketch = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+    private final int topK;
+    private final long threshold;
+    private final long windowMillis;
+    private final int stripes;
+
+    // 후보 (this 로 잠그고 읽고 쓴다)
+    private final Map<Long, HotKey> candidates = new HashMap<>();
+    private final PriorityQueue<HotKey> heap = new PriorityQueue<>(Comparator.comparingLong(HotKey::estimate));
+
+    private volatile Set<Long> hot = Set.of();
+    private volatile long windowStartMillis;
+
+    /**
+     * @param topK : 핫키로 둘 최대 유저 수
+     * @param threshold : 창(window) 하나 동안 이만큼 요청이 오면 핫키 후보가 된다
+     * @param windowMillis : 추정값을 절반으로 줄이는 주기
+     * @param stripes : 핫키 유저의 충전을 나눠 받을 줄무늬 잔액 수
+     */
+    public HotKeyDetector(int topK, long threshold, long windowMillis, int stripes) {
+        if (topK <= 0 || threshold <= 0 || windowMillis <= 0 || stripes <= 0)
+            throw new RuntimeException("핫키 설정값은 양수입니다.");
+        this.topK = topK;
+        this.threshold = threshold;
+        this.windowMillis = windowMillis;
+        this.stripes = stripes;
+        this.windowStartMillis = System.currentTimeMillis();
+    }
+
+    // 아무 유저도 핫키로 판단하지 않는다
+    public static HotKeyDetector disabled() {
+        return new HotKeyDetector(1, Long.MAX_VALUE, Long.MAX_VALUE, 1);
+    }
+
+    public void record(long userId) {
+        record(userId, System.currentTimeMillis());
+    }
+
+    void record(long userId, long nowMillis) {
+        if (nowMillis - windowStartMillis >= windowMillis)
+            decay(nowMillis);
+        long estimate = sketch.add(userId);
+        if (estimate >= threshold)
+            offer(userId, estimate);
+    }
+
+    /**
+     * 요청이 없어도 nowMillis 까지 창을 넘겨 추정값을 줄인다.
+     * 창은 record 에서만 넘어가므로, 요청이 모두 끊기면 이걸 부르지 않는 한 핫키에서 빠지지 않는다.
+     */
+    public void advance(long nowMillis) {
+        if (nowMillis - windowStartMillis >= windowMillis)
+            decay(nowMillis);
+    }
+
+    public boolean isHot(long userId) {
+        return hot.contains(userId);
+    }
+
+    // 현재 핫키. 추정값이 큰 순서
+    public List<HotKey> hotKeys() {
+        synchronized (this) {
+            return candidates.values().stream()
+                    .sorted(Comparator.comparingLong(HotKey::estimate).reversed())
+                    .toList();
+        }
+    }
+
+    public int stripes() {
+        return stripes;
+    }
+
+    private synchronized void offer(long userId, long estimate) {
+        HotKey previous = candidates.get(userId);
+        if (previous != null) {
+            heap.remove(previous);
+            put(new HotKey(userId, Math.max(previous.estimate(), estimate)));
+            return;
+        }
+        if (candidates.size() >= topK) {
+            if (heap.peek().estimate() >= estimate)
+                return;
+            candidates.remove(heap.poll().userId());
+        }
+        put(new HotKey(userId, estimate));
+        hot = Set.copyOf(candidates.keySet());
+    }
+
+    private void put(HotKey hotKey) {
+        candidates.put(hotKey.userId(), hotKey);
+        heap.add(hotKey);
+    }
+
+    private synchronized void decay(long nowMillis) {
+        if (nowMillis - windowStartMillis < windowMillis)
+            return; // 다른 스레드가 먼저 줄였다
+        long windows = (nowMillis - windowStartMillis) / windowMillis;
+        for (long i = 0; i < Math.min(windows, Long.SIZE); i++)
+            sketch.halve();
+        windowStartMillis += windows * windowMillis;
+
+        List<HotKey> decayed = candidates.values().stream()
+                .map(hotKey -> new HotKey(hotKey.userId(), windows >= Long.SIZE ? 0 : hotKey.estimate() >> windows))
+                .filter(hotKey -> hotKey.estimate() >= threshold)
+                .toList();
+        candidates.clear();
+        heap.clear();
+        decayed.forEach(this::put);
+        hot = Set.copyOf(candidates.keySet());
+    }
+}
@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point.hotkey;
+
+import io.hhplus.tdd.point.PointServiceImpl;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 현재 핫키를 보여주는 actuator 엔드포인트
+ * - GET /actuator/pointhotkeys : 핫키 유저, 최근 요청 수 추정값, 줄무늬 잔액 사용 여부 (추정값이 큰 순서)
+ */
+@Endpoint(id = "pointhotkeys")
+public class PointHotKeyEndpoint {
+
+    private final HotKeyDetector detector;
+    private final PointServiceImpl pointService;
+
+    public PointHotKeyEndpoint(HotKeyDetector detector, PointServiceImpl pointService) {
+        this.detector = detector;
+        this.pointService = pointService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> hotKeys() {
+        List<Map<String, Object>> hotKeys = detector.hotKeys().stream()
+                .map(hotKey -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("userId", hotKey.userId());
+                    row.put("estimate", hotKey.estimate());
+                    row.put("striped", pointService.isStriped(hotKey.userId()));
+                    return row;
+                })
+                .toList();
+        return Map.of(
+                "stripes", detector.stripes(),
+                "stripedUsers", pointService.stripedUserCount(),
+                "hotKeys", hotKeys);
+    }
+}
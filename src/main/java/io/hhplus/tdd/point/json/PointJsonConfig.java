@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point.json;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 포인트 응답 전용 JSON 컨버터를 Jackson 컨버터보다 앞에 등록한다.
+ */
+@Configuration
+public class PointJsonConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new PointJsonHttpMessageConverter());
+    }
+}
@@ -0,0 +1,97 @@
+package io.hhplus.tdd.point.json;
+
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * UserPoint / List&lt;PointHistory&gt; / PointHistory / ErrorResponse 응답을 PointJsonWriter 로 쓰는 컨버터
+ * Jackson 보다 앞에 등록되어 이 타입들의 응답만 맡고, 그 외 타입과 요청 본문 읽기는 Jackson 에 맡긴다.
+ * writer 는 스레드마다 하나씩 두고 재사용한다.
+ * 큰 내역 목록을 쓰느라 버퍼가 MAX_RETAINED_BUFFER_SIZE 보다 커지면 응답을 쓴 뒤 처음 크기로 되돌린다.
+ * (Tomcat 작업 스레드마다 가장 큰 응답만큼의 버퍼가 남지 않도록 한다)
+ */
+public class PointJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private final ThreadLocal<PointJsonWriter> writers =
+            ThreadLocal.withInitial(() -> new PointJsonWriter(INITIAL_BUFFER_SIZE));
+
+    public PointJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == UserPoint.class || clazz == PointHistory.class || clazz == ErrorResponse.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (isPointHistoryList(type))
+            return canWrite(mediaType);
+        return canWrite(clazz, mediaType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        PointJsonWriter writer = writers.get().reset();
+        if (value instanceof UserPoint userPoint)
+            writer.write(userPoint);
+        else if (value instanceof PointHistory history)
+            writer.write(history);
+        else if (value instanceof ErrorResponse errorResponse)
+            writer.write(errorResponse);
+        else
+            writer.write((List<PointHistory>) value);
+
+        // 본문을 다 만든 뒤에 쓰므로 Content-Length 를 알려줄 수 있다.
+        try {
+            outputMessage.getHeaders().setContentLength(writer.size());
+            writer.writeTo(outputMessage.getBody());
+        } finally {
+            writer.shrink(MAX_RETAINED_BUFFER_SIZE);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("읽기는 지원하지 않습니다.", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("읽기는 지원하지 않습니다.", inputMessage);
+    }
+
+    // List<PointHistory> 타입인지 확인한다.
+    private static boolean isPointHistoryList(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && List.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] == PointHistory.class;
+    }
+}
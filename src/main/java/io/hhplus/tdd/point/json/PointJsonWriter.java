@@ -0,0 +1,218 @@
+package io.hhplus.tdd.point.json;
+
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * UserPoint / PointHistory / ErrorResponse 를 JSON 바이트로 직접 쓰는 writer
+ * - 필드 이름과 TransactionType 이름은 미리 UTF-8 로 인코딩해 둔다.
+ * - 숫자와 문자열은 내부 버퍼에 바로 인코딩하므로 응답마다 객체를 만들지 않는다.
+ * - 버퍼는 reset() 후 재사용한다. 스레드 안전하지 않으므로 스레드마다 하나씩 사용한다.
+ *
+ * 출력 형식은 Jackson 의 record 직렬화 결과와 같다. (필드 순서 = record 컴포넌트 순서)
+ */
+public final class PointJsonWriter {
+
+    private static final byte[] USER_POINT_ID = ascii("{\"id\":");
+    private static final byte[] USER_POINT_POINT = ascii(",\"point\":");
+    private static final byte[] UPDATE_MILLIS = ascii(",\"updateMillis\":");
+
+    private static final byte[] HISTORY_ID = ascii("{\"id\":");
+    private static final byte[] HISTORY_USER_ID = ascii(",\"userId\":");
+    private static final byte[] HISTORY_AMOUNT = ascii(",\"amount\":");
+    private static final byte[] HISTORY_TYPE = ascii(",\"type\":");
+
+    private static final byte[] ERROR_CODE = ascii("{\"code\":");
+    private static final byte[] ERROR_MESSAGE = ascii(",\"message\":");
+
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] LONG_MIN_VALUE = ascii(Long.toString(Long.MIN_VALUE));
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+    private static final byte[] SHORT_ESCAPES = new byte[0x20]; // \n 처럼 짧게 이스케이프하는 제어문자
+
+    static {
+        SHORT_ESCAPES['\b'] = 'b';
+        SHORT_ESCAPES['\t'] = 't';
+        SHORT_ESCAPES['\n'] = 'n';
+        SHORT_ESCAPES['\f'] = 'f';
+        SHORT_ESCAPES['\r'] = 'r';
+    }
+
+    // TransactionType.ordinal() 순서로 "CHARGE" 처럼 따옴표까지 인코딩해 둔다.
+    private static final byte[][] TRANSACTION_TYPES = Arrays.stream(TransactionType.values())
+            .map(type -> ascii("\"" + type.name() + "\""))
+            .toArray(byte[][]::new);
+
+    private final int initialCapacity;
+    private byte[] buffer;
+    private int size;
+
+    public PointJsonWriter(int initialCapacity) {
+        this.initialCapacity = initialCapacity;
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public PointJsonWriter reset() {
+        size = 0;
+        return this;
+    }
+
+    /**
+     * 버퍼가 maxRetainedCapacity 보다 커졌으면 처음 크기로 되돌린다.
+     * 버퍼는 필요할 때 두 배씩 늘어나고 줄지 않으므로, 큰 응답을 한번 쓴 writer 를 재사용하면 큰 버퍼를 계속 잡고 있게 된다.
+     */
+    public PointJsonWriter shrink(int maxRetainedCapacity) {
+        size = 0;
+        if (buffer.length > maxRetainedCapacity)
+            buffer = new byte[initialCapacity];
+        return this;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    // 테스트/벤치마크용. 응답을 쓸 때는 writeTo 를 사용한다.
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    public PointJsonWriter write(UserPoint userPoint) {
+        raw(USER_POINT_ID).number(userPoint.id());
+        raw(USER_POINT_POINT).number(userPoint.point());
+        raw(UPDATE_MILLIS).number(userPoint.updateMillis());
+        return raw((byte) '}');
+    }
+
+    public PointJsonWriter write(PointHistory history) {
+        raw(HISTORY_ID).number(history.id());
+        raw(HISTORY_USER_ID).number(history.userId());
+        raw(HISTORY_AMOUNT).number(history.amount());
+        raw(HISTORY_TYPE);
+        if (history.type() == null)
+            raw(NULL);
+        else
+            raw(TRANSACTION_TYPES[history.type().ordinal()]);
+        raw(UPDATE_MILLIS).number(history.updateMillis());
+        return raw((byte) '}');
+    }
+
+    public PointJsonWriter write(List<PointHistory> histories) {
+        raw((byte) '[');
+        for (int i = 0; i < histories.size(); i++) {
+            if (i > 0)
+                raw((byte) ',');
+            write(histories.get(i));
+        }
+        return raw((byte) ']');
+    }
+
+    public PointJsonWriter write(ErrorResponse errorResponse) {
+        raw(ERROR_CODE).string(errorResponse.code());
+        raw(ERROR_MESSAGE).string(errorResponse.message());
+        return raw((byte) '}');
+    }
+
+    private PointJsonWriter raw(byte b) {
+        ensureCapacity(1);
+        buffer[size++] = b;
+        return this;
+    }
+
+    private PointJsonWriter raw(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+        return this;
+    }
+
+    // long 을 10진수 ASCII 로 쓴다.
+    private PointJsonWriter number(long value) {
+        if (value == Long.MIN_VALUE)
+            return raw(LONG_MIN_VALUE);
+
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[size++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10)
+            digits++;
+        int position = size + digits;
+        do {
+            buffer[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        size += digits;
+        return this;
+    }
+
+    // 문자열을 JSON 이스케이프해서 UTF-8 로 쓴다.
+    private PointJsonWriter string(String value) {
+        if (value == null)
+            return raw(NULL);
+
+        ensureCapacity(value.length() * 6 + 2); // 최악의 경우 한 글자가 \\uXXXX 6 바이트
+        buffer[size++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer[size++] = '\\';
+                buffer[size++] = (byte) c;
+            } else if (c < 0x20 && SHORT_ESCAPES[c] != 0) {
+                buffer[size++] = '\\';
+                buffer[size++] = SHORT_ESCAPES[c];
+            } else if (c < 0x20) {
+                buffer[size++] = '\\';
+                buffer[size++] = 'u';
+                buffer[size++] = '0';
+                buffer[size++] = '0';
+                buffer[size++] = HEX[c >> 4];
+                buffer[size++] = HEX[c & 0xF];
+            } else if (c < 0x80) {
+                buffer[size++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[size++] = (byte) (0xC0 | (c >> 6));
+                buffer[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[size++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                buffer[size++] = (byte) (0xE0 | (c >> 12));
+                buffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        buffer[size++] = '"';
+        return this;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > buffer.length)
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point.replication;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 리더에서 팔로워로 전달되는 포인트 변경 한 건
+ *
+ * @param sequence : 리더가 부여한 순번 (1부터 1씩 증가)
+ * @param userId : 유저아이디
+ * @param point : 변경후 보유포인트
+ * @param amount : 충전/사용 포인트
+ * @param type : 트랜잭션 종류
+ * @param updateMillis : 리더에서 변경된 시각
+ */
+public record PointMutation(
+        long sequence,
+        long userId,
+        long point,
+        long amount,
+        TransactionType type,
+        long updateMillis
+) {
+}
@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point.replication;
+
+import io.hhplus.tdd.point.PointServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 노드 간 포인트 복제 설정 (기본값은 복제하지 않음)
+ * - point.replication.leader.port : 이 노드의 변경을 팔로워에게 전송할 포트
+ * - point.replication.leader.address : 리더 포트를 바인딩할 주소 (기본 127.0.0.1)
+ *   리더 포트는 인증 없이 모든 유저의 잔액 변경을 보내므로 외부에 노출하면 안 된다.
+ *   다른 호스트의 팔로워가 접속해야 하면 노드끼리만 닿는 내부망 인터페이스의 주소를 지정하고, 방화벽으로 팔로워 노드만 허용한다.
+ * - point.replication.upstreams : 따라갈 리더 노드 목록 (host:port,host:port)
+ *
+ * 한 노드가 리더이면서 다른 리더들의 팔로워일 수 있다.
+ * 유저별 쓰기는 그 유저를 소유한 노드 한 곳에서만 일어나야 한다.
+ */
+@Configuration
+public class ReplicationConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "point.replication.leader", name = "port")
+    public ReplicationLeader replicationLeader(
+            @Value("${point.replication.leader.address:127.0.0.1}") String address,
+            @Value("${point.replication.leader.port}") int port
+    ) {
+        return new ReplicationLeader(address, port);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "point.replication", name = "upstreams")
+    public ReplicationFollowers replicationFollowers(
+            @Value("${point.replication.upstreams}") String[] upstreams,
+            PointServiceImpl pointService
+    ) {
+        List<ReplicationFollower> followers = new ArrayList<>();
+        for (String upstream : upstreams) {
+            String[] hostAndPort = upstream.trim().split(":");
+            followers.add(new ReplicationFollower(hostAndPort[0], Integer.parseInt(hostAndPort[1]), pointService));
+        }
+        return new ReplicationFollowers(followers);
+    }
+
+    // 여러 리더를 따라가는 팔로워 묶음
+    public record ReplicationFollowers(List<ReplicationFollower> followers) implements AutoCloseable {
+
+        public void start() {
+            followers.forEach(ReplicationFollower::start);
+        }
+
+        @Override
+        public void close() throws Exception {
+            for (ReplicationFollower follower : followers)
+                follower.close();
+        }
+    }
+}
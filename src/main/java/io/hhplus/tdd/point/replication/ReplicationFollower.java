@@ -0,0 +1,126 @@
+package io.hhplus.tdd.point.replication;
+
+import io.hhplus.tdd.point.PointServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리더 노드 하나를 따라가며 변경을 순서대로 적용하는 팔로워
+ * - 접속이 끊기면 마지막으로 적용한 순번 다음부터 다시 받는다.
+ * - 리더가 다시 시작해 epoch 가 바뀌었으면 새 리더의 순번 1부터 다시 받는다(full resync).
+ *   복제는 변경후 잔액을 그대로 쓰므로, 새 리더가 다시 쓴 유저의 잔액은 새 리더와 같아진다.
+ *   새 리더가 아직 쓰지 않은 유저는 이전 epoch 에서 마지막으로 받은 잔액과 내역을 그대로 가진다.
+ *   (리더의 저장소는 메모리뿐이라 다시 시작한 리더에는 그 유저의 데이터가 없으므로 다시 받아올 곳도 없다)
+ * - 적용은 PointServiceImpl 의 쓰기 경로를 그대로 사용하므로 로컬 조회와 리스너에도 반영된다.
+ */
+public class ReplicationFollower implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationFollower.class);
+    private static final long RECONNECT_BACKOFF_MILLIS = 500;
+
+    private final String host;
+    private final int port;
+    private final PointServiceImpl pointService;
+    private final Thread worker;
+    private volatile Socket socket;
+    private volatile boolean closed;
+    private volatile long leaderEpoch; // 따라가고 있는 리더의 epoch (처음 접속 전에는 0)
+    private volatile long lastAppliedSequence;
+    private volatile int resyncs;
+
+    public ReplicationFollower(String host, int port, PointServiceImpl pointService) {
+        this.host = host;
+        this.port = port;
+        this.pointService = pointService;
+        this.worker = new Thread(this::follow, "replication-follower-" + host + ":" + port);
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        worker.start();
+    }
+
+    // 마지막으로 적용한 리더의 순번
+    public long lastAppliedSequence() {
+        return lastAppliedSequence;
+    }
+
+    public long leaderEpoch() {
+        return leaderEpoch;
+    }
+
+    // 리더가 다시 시작해 처음부터 다시 받은 횟수
+    public int resyncs() {
+        return resyncs;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        worker.interrupt();
+        Socket current = socket;
+        if (current != null)
+            current.close();
+    }
+
+    private void follow() {
+        while (!closed) {
+            try (Socket leader = new Socket()) {
+                socket = leader;
+                leader.connect(new InetSocketAddress(host, port), 1000);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(leader.getOutputStream()));
+                out.writeLong(leaderEpoch);
+                out.writeLong(lastAppliedSequence);
+                out.flush();
+
+                DataInputStream in = new DataInputStream(new BufferedInputStream(leader.getInputStream()));
+                long epoch = in.readLong();
+                if (epoch != leaderEpoch) {
+                    if (leaderEpoch != 0) {
+                        log.warn("복제 리더가 다시 시작했습니다. 순번 1부터 다시 받습니다. {}:{} (이전 sequence {})", host, port, lastAppliedSequence);
+                        resyncs++;
+                    }
+                    leaderEpoch = epoch;
+                    lastAppliedSequence = 0;
+                }
+                while (!closed) {
+                    PointMutation mutation = ReplicationProtocol.read(in);
+                    if (mutation.sequence() != lastAppliedSequence + 1)
+                        throw new IOException("복제 순번이 맞지 않습니다. (expected " + (lastAppliedSequence + 1) + ", actual " + mutation.sequence() + ")");
+                    pointService.applyReplicated(mutation.userId(), mutation.point(), mutation.amount(), mutation.type(), mutation.updateMillis());
+                    lastAppliedSequence = mutation.sequence();
+                }
+            } catch (EOFException e) {
+                log.info("복제 리더 연결 종료 {}:{}", host, port);
+            } catch (IOException e) {
+                if (!closed)
+                    log.warn("복제 리더 접속 실패 {}:{} {}", host, port, e.getMessage());
+            } catch (RuntimeException e) {
+                // 적용에 실패한 변경은 다시 접속해서 같은 순번부터 다시 받는다.
+                log.error("복제 변경 적용 실패 {}:{} sequence={}", host, port, lastAppliedSequence + 1, e);
+            }
+
+            if (!closed)
+                backoff();
+        }
+    }
+
+    private void backoff() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(RECONNECT_BACKOFF_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package io.hhplus.tdd.point.replication;
+
+import io.hhplus.tdd.point.PointCommit;
+import io.hhplus.tdd.point.PointCommitListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이 노드에서 커밋된 포인트 변경을 팔로워에게 순서대로 전송하는 리더
+ * - 이 노드에서 직접 커밋된 변경만 로그에 쌓는다. (복제받은 변경은 다시 전송하지 않는다)
+ * - 팔로워 하나당 전송 스레드 하나가 로그를 따라가며 변경을 보낸다.
+ * - 접속한 팔로워를 인증하지 않는다. 접속하면 누구나 모든 유저의 잔액 변경을 받으므로 address 에만 바인딩하고,
+ *   이 포트는 노드끼리만 닿는 내부망에 둔다.
+ */
+public class ReplicationLeader implements PointCommitListener, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationLeader.class);
+    private static final int MAX_BATCH = 256;
+
+    private final String address;
+    private final int port;
+    private final ReplicationLog replicationLog = new ReplicationLog();
+    private final Set<Socket> followers = ConcurrentHashMap.newKeySet();
+    private volatile ServerSocket serverSocket;
+    private volatile boolean closed;
+
+    /**
+     * @param address : 팔로워 접속을 받을 주소 (이 주소의 인터페이스에만 바인딩한다)
+     * @param port : 팔로워 접속을 받을 포트 (0 이면 비어있는 포트를 사용한다)
+     */
+    public ReplicationLeader(String address, int port) {
+        this.address = address;
+        this.port = port;
+    }
+
+    public void start() throws IOException {
+        serverSocket = new ServerSocket(port, 50, InetAddress.getByName(address));
+        Thread acceptor = new Thread(this::acceptFollowers, "replication-leader-" + serverSocket.getLocalPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("복제 리더 시작 address={} port={}", address, serverSocket.getLocalPort());
+    }
+
+    @Override
+    public void onCommit(PointCommit commit) {
+        if (!commit.replicated())
+            replicationLog.append(commit);
+    }
+
+    // 실제로 접속을 받고 있는 포트
+    public int localPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long lastSequence() {
+        return replicationLog.lastSequence();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (serverSocket != null)
+            serverSocket.close();
+        for (Socket follower : followers)
+            follower.close();
+    }
+
+    private void acceptFollowers() {
+        while (!closed) {
+            try {
+                Socket follower = serverSocket.accept();
+                followers.add(follower);
+                Thread sender = new Thread(() -> ship(follower), "replication-sender-" + follower.getRemoteSocketAddress());
+                sender.setDaemon(true);
+                sender.start();
+            } catch (IOException e) {
+                if (!closed)
+                    log.warn("복제 팔로워 접속 실패 {}", e.getMessage());
+            }
+        }
+    }
+
+    // 팔로워가 보낸 순번 다음부터 로그를 따라가며 변경을 전송한다.
+    private void ship(Socket follower) {
+        try (follower;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(follower.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(follower.getOutputStream()))) {
+            long followerEpoch = in.readLong();
+            long lastSent = in.readLong();
+            if (followerEpoch != replicationLog.epoch())
+                lastSent = 0; // 다른 실행(epoch)의 순번이다. 처음부터 보낸다.
+            out.writeLong(replicationLog.epoch());
+            out.flush();
+            log.info("복제 팔로워 접속 {} (from sequence {})", follower.getRemoteSocketAddress(), lastSent + 1);
+
+            while (!closed) {
+                List<PointMutation> batch = replicationLog.readAfter(lastSent, MAX_BATCH, 1000);
+                for (PointMutation mutation : batch) {
+                    ReplicationProtocol.write(out, mutation);
+                    lastSent = mutation.sequence();
+                }
+                out.flush();
+            }
+        } catch (SocketException e) {
+            log.info("복제 팔로워 연결 종료 {}", follower.getRemoteSocketAddress());
+        } catch (IOException e) {
+            log.warn("복제 전송 실패 {} {}", follower.getRemoteSocketAddress(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            followers.remove(follower);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.hhplus.tdd.point.replication;
+
+import io.hhplus.tdd.point.PointCommit;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 리더 노드에서 커밋된 포인트 변경을 순서대로 쌓아두는 로그
+ * 늦게 접속한 팔로워도 처음부터 따라올 수 있도록 모든 변경을 보관한다.
+ * (변경 한 건은 포인트 내역 한 건과 같으므로 PointHistoryTable 과 같은 비율로 늘어난다)
+ * 순번은 로그를 만들 때마다 1부터 다시 시작하므로, 로그마다 다른 epoch 를 두어 다른 실행의 순번과 구분한다.
+ */
+public class ReplicationLog {
+
+    private final List<PointMutation> entries = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final long epoch = newEpoch();
+
+    // 커밋을 로그 끝에 붙이고 부여한 순번을 돌려준다.
+    public long append(PointCommit commit) {
+        lock.lock();
+        try {
+            long sequence = entries.size() + 1;
+            entries.add(new PointMutation(
+                    sequence,
+                    commit.userPoint().id(),
+                    commit.userPoint().point(),
+                    commit.history().amount(),
+                    commit.history().type(),
+                    commit.history().updateMillis()));
+            appended.signalAll();
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * afterSequence 다음 순번부터 최대 maxBatch 개의 변경을 가져온다.
+     * 새 변경이 없으면 timeoutMillis 동안 기다리고, 그래도 없으면 빈 리스트를 돌려준다.
+     */
+    public List<PointMutation> readAfter(long afterSequence, int maxBatch, long timeoutMillis) throws InterruptedException {
+        lock.lock();
+        try {
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (entries.size() <= afterSequence) {
+                if (remainingNanos <= 0)
+                    return List.of();
+                remainingNanos = appended.awaitNanos(remainingNanos);
+            }
+            int from = (int) afterSequence;
+            int to = Math.min(entries.size(), from + maxBatch);
+            return new ArrayList<>(entries.subList(from, to));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 이 로그의 순번 공간을 구분하는 값 (0 이 아닌 난수)
+    public long epoch() {
+        return epoch;
+    }
+
+    // 마지막으로 붙인 변경의 순번
+    public long lastSequence() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long newEpoch() {
+        long epoch;
+        do {
+            epoch = new SecureRandom().nextLong();
+        } while (epoch == 0);
+        return epoch;
+    }
+}
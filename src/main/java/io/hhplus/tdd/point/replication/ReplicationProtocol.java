@@ -0,0 +1,43 @@
+package io.hhplus.tdd.point.replication;
+
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * 리더-팔로워 사이의 복제 프로토콜
+ * 1. 팔로워가 접속하면 마지막으로 따라간 리더의 epoch 와 그 epoch 에서 마지막으로 적용한 순번을 보낸다.
+ *    [epoch:8][sequence:8] (처음 접속하면 epoch 는 0)
+ * 2. 리더는 자신의 epoch 를 보낸다. [epoch:8]
+ *    epoch 가 같으면 받은 순번 다음부터, 다르면(리더가 다시 시작했으면) 순번 1부터 보낸다.
+ * 3. 리더는 변경을 순서대로 보낸다.
+ *    [sequence:8][userId:8][point:8][amount:8][type:1][updateMillis:8]
+ */
+final class ReplicationProtocol {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private ReplicationProtocol() {
+    }
+
+    static void write(DataOutputStream out, PointMutation mutation) throws IOException {
+        out.writeLong(mutation.sequence());
+        out.writeLong(mutation.userId());
+        out.writeLong(mutation.point());
+        out.writeLong(mutation.amount());
+        out.writeByte(mutation.type().ordinal());
+        out.writeLong(mutation.updateMillis());
+    }
+
+    static PointMutation read(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        long userId = in.readLong();
+        long point = in.readLong();
+        long amount = in.readLong();
+        TransactionType type = TYPES[in.readUnsignedByte()];
+        long updateMillis = in.readLong();
+        return new PointMutation(sequence, userId, point, amount, type, updateMillis);
+    }
+}
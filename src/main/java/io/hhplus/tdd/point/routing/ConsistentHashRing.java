@@ -0,0 +1,92 @@
+package io.hhplus.tdd.point.routing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 유저아이디를 소유 노드에 매핑하는 consistent-hash 링 (불변 객체)
+ * - 노드 하나를 링 위의 virtualNodes 개 지점에 올려 노드 간 부하를 고르게 나눈다.
+ * - 유저아이디의 해시값에서 시계방향으로 가장 가까운 지점의 노드가 그 유저의 소유 노드다.
+ * - 노드가 추가/제거되면 그 노드가 맡는(맡던) 구간의 유저만 소유 노드가 바뀐다.
+ */
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring;
+    private final Set<String> nodes;
+    private final int virtualNodes;
+
+    private ConsistentHashRing(Set<String> nodes, int virtualNodes) {
+        if (virtualNodes <= 0)
+            throw new IllegalArgumentException("가상 노드 수는 양수입니다.");
+        this.nodes = Set.copyOf(nodes);
+        this.virtualNodes = virtualNodes;
+
+        TreeMap<Long, String> points = new TreeMap<>();
+        for (String node : nodes) {
+            long nodeHash = hash(node);
+            for (int i = 0; i < virtualNodes; i++)
+                points.put(mix(nodeHash + i), node);
+        }
+        this.ring = points;
+    }
+
+    public static ConsistentHashRing of(Collection<String> nodes, int virtualNodes) {
+        return new ConsistentHashRing(new LinkedHashSet<>(nodes), virtualNodes);
+    }
+
+    // 노드가 추가된 새 링을 만든다.
+    public ConsistentHashRing withNode(String node) {
+        Set<String> next = new LinkedHashSet<>(nodes);
+        next.add(node);
+        return new ConsistentHashRing(next, virtualNodes);
+    }
+
+    // 노드가 제거된 새 링을 만든다.
+    public ConsistentHashRing withoutNode(String node) {
+        Set<String> next = new LinkedHashSet<>(nodes);
+        next.remove(node);
+        return new ConsistentHashRing(next, virtualNodes);
+    }
+
+    /**
+     * 유저의 소유 노드
+     * @throws IllegalStateException 링에 노드가 하나도 없는 경우
+     */
+    public String ownerOf(long userId) {
+        if (ring.isEmpty())
+            throw new IllegalStateException("라우팅할 노드가 없습니다.");
+        Map.Entry<Long, String> point = ring.ceilingEntry(mix(userId));
+        return point != null ? point.getValue() : ring.firstEntry().getValue();
+    }
+
+    public Set<String> nodes() {
+        return nodes;
+    }
+
+    public int virtualNodes() {
+        return virtualNodes;
+    }
+
+    // FNV-1a 64bit
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // splitmix64 finalizer - 연속된 유저아이디도 링 위에 고르게 흩어지도록 섞는다.
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,140 @@
+package io.hhplus.tdd.point.routing;
+
+import io.hhplus.tdd.point.PointRequestTimeout;
+import io.hhplus.tdd.point.PointRequestTimeoutException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 유저아이디의 소유 노드를 찾고, 다른 노드가 소유한 요청을 그 노드로 전달한다.
+ * - 소유 노드는 consistent-hash 링으로 정한다. 노드 추가/제거(rebalancing)는 새 링으로 교체한다.
+ * - 전달은 노드 간 커넥션을 재사용하는 HttpClient 하나로 한다. (HTTP/2 를 먼저 시도하고 안되면 HTTP/1.1)
+ */
+public class PointRequestRouter {
+
+    // 다른 노드에서 전달된 요청임을 표시하는 헤더 (값은 전달한 노드). 전달된 요청은 다시 전달하지 않는다.
+    public static final String FORWARDED_HEADER = "X-Point-Forwarded-By";
+
+    // 소유 노드로 그대로 전달하는 요청 헤더 (X-Request-Timeout 은 남은 시간으로 바꿔서 보낸다)
+    private static final List<String> FORWARDED_REQUEST_HEADERS =
+            List.of("Content-Type", "Accept", "If-None-Match");
+    // 소유 노드의 응답에서 그대로 돌려주는 응답 헤더
+    private static final List<String> FORWARDED_RESPONSE_HEADERS =
+            List.of("Content-Type", "ETag");
+
+    private final String self;
+    private final PointRequestTimeout requestTimeout;
+    private final HttpClient client;
+    private volatile ConsistentHashRing ring;
+
+    /**
+     * @param self : 이 노드의 주소 (http://host:port)
+     * @param nodes : 링에 올릴 노드 주소 목록 (self 포함)
+     * @param virtualNodes : 노드당 가상 노드 수
+     * @param requestTimeout : X-Request-Timeout 으로 전달 제한시간을 계산한다
+     */
+    public PointRequestRouter(String self, Collection<String> nodes, int virtualNodes, PointRequestTimeout requestTimeout) {
+        this.self = self;
+        this.requestTimeout = requestTimeout;
+        this.ring = ConsistentHashRing.of(nodes, virtualNodes);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+    }
+
+    public String ownerOf(long userId) {
+        return ring.ownerOf(userId);
+    }
+
+    public boolean isLocal(long userId) {
+        return self.equals(ring.ownerOf(userId));
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public ConsistentHashRing ring() {
+        return ring;
+    }
+
+    // 노드가 합류하면 링에 추가한다. 새 노드가 맡는 구간의 유저만 소유 노드가 바뀐다.
+    public synchronized void addNode(String node) {
+        ring = ring.withNode(node);
+    }
+
+    // 노드가 떠나면 링에서 제거한다. 떠난 노드의 유저는 링의 다음 노드들이 나눠 맡는다.
+    public synchronized void removeNode(String node) {
+        ring = ring.withoutNode(node);
+    }
+
+    /**
+     * 요청을 owner 노드로 보내도록 307 로 응답한다.
+     * 끝나지 않는 스트림 응답은 중계할 수 없으므로 클라이언트가 소유 노드에 직접 연결하게 한다.
+     */
+    public void redirect(String owner, HttpServletRequest request, HttpServletResponse response) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String query = request.getQueryString();
+        response.setStatus(307);
+        response.setHeader("Location", owner + path + (query != null ? "?" + query : ""));
+    }
+
+    /**
+     * 요청을 owner 노드로 전달하고 받은 응답을 그대로 돌려준다.
+     * 소유 노드에는 마감시각까지 남은 시간을 X-Request-Timeout 으로 보내고, 그 시간만큼만 응답을 기다린다.
+     *
+     * @param deadlineMillis : 요청의 마감시각 (deadlineOf 로 요청을 받았을 때 계산한다)
+     * @throws PointRequestTimeoutException 전달하기 전에 마감시각이 지난 경우
+     * @throws IOException 소유 노드와 통신하지 못한 경우
+     */
+    public void forward(String owner, HttpServletRequest request, HttpServletResponse response, long deadlineMillis) throws IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String query = request.getQueryString();
+        URI uri = URI.create(owner + path + (query != null ? "?" + query : ""));
+
+        byte[] body = request.getInputStream().readAllBytes();
+        long remainingMillis = deadlineMillis - System.currentTimeMillis();
+        if (remainingMillis <= 0)
+            throw new PointRequestTimeoutException("요청 마감시각이 지나 소유 노드로 전달하지 않았습니다.");
+        HttpRequest.Builder forwarded = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(remainingMillis))
+                .method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body))
+                .header(FORWARDED_HEADER, self)
+                .header(PointRequestTimeout.HEADER, String.valueOf(remainingMillis));
+        for (String name : FORWARDED_REQUEST_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null)
+                forwarded.header(name, value);
+        }
+
+        HttpResponse<byte[]> remote;
+        try {
+            remote = client.send(forwarded.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("요청 전달이 중단되었습니다.", e);
+        }
+
+        response.setStatus(remote.statusCode());
+        for (String name : FORWARDED_RESPONSE_HEADERS)
+            remote.headers().firstValue(name).ifPresent(value -> response.setHeader(name, value));
+        response.getOutputStream().write(remote.body());
+    }
+
+    // 요청을 받은 시각과 X-Request-Timeout(없으면 기본 제한시간)으로 마감시각(epoch millis)을 계산한다.
+    public long deadlineOf(HttpServletRequest request) {
+        return System.currentTimeMillis() + requestTimeout.timeoutMillis(request.getHeader(PointRequestTimeout.HEADER));
+    }
+}
@@ -0,0 +1,41 @@
+package io.hhplus.tdd.point.routing;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.Map;
+
+/**
+ * 노드 합류/이탈(rebalancing)을 링에 반영하는 actuator 엔드포인트
+ * - POST /actuator/pointringadmin {"node": "http://host:port"} : 노드 합류
+ * - DELETE /actuator/pointringadmin?node=http://host:port : 노드 이탈
+ *
+ * 링을 바꾸면 유저의 소유 노드가 바뀌므로 아무나 부를 수 없어야 한다.
+ * point.routing.ring-admin.enabled=true 일 때만 만들고, 웹으로 열려면 exposure 에 따로 추가해야 한다.
+ * (관리용 포트(management.server.port)나 인증 뒤에서만 여는 것을 전제로 한다)
+ *
+ * 링은 노드마다 따로 가지고 있으므로 모든 노드에 같은 변경을 반영해야 한다.
+ * 소유 노드가 바뀐 유저의 데이터는 노드 간 복제로 이미 가지고 있어야 한다.
+ */
+@Endpoint(id = "pointringadmin")
+public class PointRingAdminEndpoint {
+
+    private final PointRequestRouter router;
+
+    public PointRingAdminEndpoint(PointRequestRouter router) {
+        this.router = router;
+    }
+
+    @WriteOperation
+    public Map<String, Object> join(String node) {
+        router.addNode(node);
+        return PointRingEndpoint.describe(router);
+    }
+
+    @DeleteOperation
+    public Map<String, Object> leave(String node) {
+        router.removeNode(node);
+        return PointRingEndpoint.describe(router);
+    }
+}
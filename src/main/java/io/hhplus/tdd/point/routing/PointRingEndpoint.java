@@ -0,0 +1,34 @@
+package io.hhplus.tdd.point.routing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * consistent-hash 링을 조회하는 actuator 엔드포인트
+ * - GET /actuator/pointring : 현재 링의 노드 목록
+ * 노드 합류/이탈은 PointRingAdminEndpoint 로 따로 둔다. (기본으로는 꺼져 있다)
+ */
+@Endpoint(id = "pointring")
+public class PointRingEndpoint {
+
+    private final PointRequestRouter router;
+
+    public PointRingEndpoint(PointRequestRouter router) {
+        this.router = router;
+    }
+
+    @ReadOperation
+    public Map<String, Object> ring() {
+        return describe(router);
+    }
+
+    static Map<String, Object> describe(PointRequestRouter router) {
+        ConsistentHashRing ring = router.ring();
+        return Map.of(
+                "self", router.self(),
+                "nodes", ring.nodes(),
+                "virtualNodes", ring.virtualNodes());
+    }
+}
@@ -0,0 +1,57 @@
+package io.hhplus.tdd.point.routing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.PointRequestTimeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * 노드 간 유저 라우팅 설정 (point.routing.nodes 를 설정했을 때만 켜진다)
+ * - point.routing.self : 이 노드의 주소 (http://host:port)
+ * - point.routing.nodes : 링에 올릴 전체 노드 주소 목록 (self 포함)
+ * - point.routing.virtual-nodes : 노드당 가상 노드 수
+ * - point.routing.local-reads : 조회 요청을 이 노드에서 처리할지 여부 (노드 간 복제를 켠 경우에만 사용한다)
+ * - point.routing.ring-admin.enabled : 노드 합류/이탈 엔드포인트(pointringadmin)를 만들지 여부 (기본 false)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "point.routing", name = "nodes")
+public class PointRoutingConfig {
+
+    @Bean
+    public PointRequestRouter pointRequestRouter(
+            @Value("${point.routing.self}") String self,
+            @Value("${point.routing.nodes}") List<String> nodes,
+            @Value("${point.routing.virtual-nodes:128}") int virtualNodes,
+            PointRequestTimeout requestTimeout
+    ) {
+        return new PointRequestRouter(self, nodes, virtualNodes, requestTimeout);
+    }
+
+    @Bean
+    public FilterRegistrationBean<PointRoutingFilter> pointRoutingFilter(
+            PointRequestRouter router,
+            ObjectMapper objectMapper,
+            @Value("${point.routing.local-reads:false}") boolean localReads
+    ) {
+        FilterRegistrationBean<PointRoutingFilter> registration =
+                new FilterRegistrationBean<>(new PointRoutingFilter(router, objectMapper, localReads));
+        registration.addUrlPatterns("/point/*");
+        return registration;
+    }
+
+    @Bean
+    public PointRingEndpoint pointRingEndpoint(PointRequestRouter router) {
+        return new PointRingEndpoint(router);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "point.routing.ring-admin", name = "enabled", havingValue = "true")
+    public PointRingAdminEndpoint pointRingAdminEndpoint(PointRequestRouter router) {
+        return new PointRingAdminEndpoint(router);
+    }
+}
@@ -0,0 +1,90 @@
+package io.hhplus.tdd.point.routing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.PointRequestTimeoutException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * /point/{id}/** 요청을 유저의 소유 노드에서 처리하도록 라우팅하는 필터
+ * - 이 노드가 소유한 유저면 그대로 PointController 가 처리한다.
+ * - 다른 노드가 소유한 유저면 소유 노드로 전달하고 응답을 그대로 돌려준다.
+ * - 스트림(/point/{id}/stream) 요청은 중계하지 않고 소유 노드로 redirect 한다.
+ * - localReads 가 켜져 있으면(복제로 모든 노드가 데이터를 가진 경우) 조회(GET)는 이 노드에서 처리한다.
+ *
+ * 전달 헤더(X-Point-Forwarded-By)는 클라이언트도 붙일 수 있으므로 이 노드에서 처리할 근거로 쓰지 않는다.
+ * 소유 여부는 항상 이 노드의 링으로 판단하고, 전달 헤더는 다시 전달하지 않는 데에만 쓴다.
+ * (전달받은 요청인데 이 노드도 소유하지 않았으면 노드마다 링이 다른 상태이므로 421 로 응답한다)
+ */
+public class PointRoutingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointRoutingFilter.class);
+    private static final Pattern USER_PATH = Pattern.compile("^/point/(\\d{1,18})(/.*)?$");
+    private static final String STREAM_SUFFIX = "/stream";
+
+    private final PointRequestRouter router;
+    private final ObjectMapper objectMapper;
+    private final boolean localReads;
+
+    public PointRoutingFilter(PointRequestRouter router, ObjectMapper objectMapper, boolean localReads) {
+        this.router = router;
+        this.objectMapper = objectMapper;
+        this.localReads = localReads;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long deadlineMillis = router.deadlineOf(request); // 전달 전에 흐른 시간도 제한시간에 포함한다
+        Matcher matcher = USER_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        boolean localRead = localReads && "GET".equals(request.getMethod());
+        if (!matcher.matches() || localRead) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long userId = Long.parseLong(matcher.group(1));
+        String owner = router.ownerOf(userId);
+        if (router.self().equals(owner)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (request.getHeader(PointRequestRouter.FORWARDED_HEADER) != null) {
+            log.warn("소유하지 않은 유저의 요청을 전달받았습니다. userId={} owner={} from={}",
+                    userId, owner, request.getHeader(PointRequestRouter.FORWARDED_HEADER));
+            writeError(response, 421, "이 노드가 소유하지 않은 유저입니다.");
+            return;
+        }
+
+        if (STREAM_SUFFIX.equals(matcher.group(2))) {
+            router.redirect(owner, request, response);
+            return;
+        }
+
+        try {
+            router.forward(owner, request, response, deadlineMillis);
+        } catch (PointRequestTimeoutException e) {
+            writeError(response, 503, e.getMessage());
+        } catch (IOException e) {
+            log.warn("소유 노드로 요청 전달 실패 userId={} owner={} {}", userId, owner, e.getMessage());
+            writeError(response, 503, "소유 노드에 요청을 전달하지 못했습니다.");
+        }
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(String.valueOf(status), message));
+    }
+}
@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point.scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 공정한 ReentrantLock 으로 먼저 요청한 순서대로(FIFO) 쓰기 권한을 주는 스케줄러
+ * 우선순위 클래스는 메트릭 태그로만 사용하고 실행 순서에는 영향을 주지 않는다.
+ */
+public class FairWriteScheduler implements PointWriteScheduler {
+
+    private final ReentrantLock lock = new ReentrantLock(true); // 공정성을 보장하는 락이다.
+    private final WriteSchedulerMetrics metrics;
+
+    // 락을 가진 스레드만 읽고 쓴다.
+    private WritePriority holderPriority;
+    private long grantedAtNanos;
+
+    public FairWriteScheduler(WriteSchedulerMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean acquire(WritePriority priority, long deadlineMillis) throws InterruptedException {
+        long remainingMillis = deadlineMillis - System.currentTimeMillis();
+        if (remainingMillis <= 0) {
+            metrics.recordTimeout(priority);
+            return false;
+        }
+
+        long enqueuedAtNanos = System.nanoTime();
+        metrics.enqueued(priority);
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(remainingMillis, TimeUnit.MILLISECONDS);
+        } finally {
+            metrics.dequeued(priority);
+        }
+        if (!acquired) {
+            metrics.recordTimeout(priority);
+            return false;
+        }
+
+        holderPriority = priority;
+        grantedAtNanos = System.nanoTime();
+        metrics.recordQueueWait(priority, grantedAtNanos - enqueuedAtNanos);
+        return true;
+    }
+
+    @Override
+    public void release() {
+        metrics.recordHold(holderPriority, System.nanoTime() - grantedAtNanos);
+        lock.unlock();
+    }
+}
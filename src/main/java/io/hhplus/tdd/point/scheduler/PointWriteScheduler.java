@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point.scheduler;
+
+/**
+ * 포인트 쓰기 작업(충전/사용)의 실행 순서를 정하는 스케줄러
+ * 한번에 하나의 쓰기 작업만 실행되도록 보장하고, 기다리는 요청 중 누구를 먼저 실행할지를 결정한다.
+ *
+ * 재진입은 지원하지 않는다. acquire 에 성공한 스레드는 반드시 release 를 호출해야 한다.
+ */
+public interface PointWriteScheduler {
+
+    /**
+     * 쓰기 권한을 얻을 때까지 기다린다.
+     *
+     * @param priority : 요청의 우선순위 클래스
+     * @param deadlineMillis : 요청 마감시각(epoch millis). Long.MAX_VALUE 면 얻을 때까지 기다린다.
+     * @return 마감시각 안에 권한을 얻으면 true, 마감시각이 지나면 false
+     * @throws InterruptedException 기다리는 중 인터럽트된 경우
+     */
+    boolean acquire(WritePriority priority, long deadlineMillis) throws InterruptedException;
+
+    // 쓰기 권한을 반납하고 다음 요청에게 넘긴다.
+    void release();
+}
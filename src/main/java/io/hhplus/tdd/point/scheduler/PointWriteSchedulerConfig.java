@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * 포인트 쓰기 스케줄러 설정
+ * point.write.scheduler 로 구현체를 고른다.
+ * - priority (기본값) : 우선순위 클래스별 가중치 공정 큐잉
+ * - fair : 공정한 ReentrantLock (FIFO)
+ */
+@Configuration
+public class PointWriteSchedulerConfig {
+
+    @Bean
+    public PointWriteScheduler pointWriteScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${point.write.scheduler:priority}") String scheduler,
+            @Value("${point.write.weight.payment:6}") int paymentWeight,
+            @Value("${point.write.weight.charge:3}") int chargeWeight,
+            @Value("${point.write.weight.batch:1}") int batchWeight,
+            @Value("${point.write.max-wait-millis:2000}") long maxWaitMillis
+    ) {
+        WriteSchedulerMetrics metrics = new WriteSchedulerMetrics(meterRegistry, scheduler);
+        return switch (scheduler) {
+            case "fair" -> new FairWriteScheduler(metrics);
+            case "priority" -> new PriorityWriteScheduler(
+                    Map.of(WritePriority.PAYMENT, paymentWeight,
+                            WritePriority.CHARGE, chargeWeight,
+                            WritePriority.BATCH, batchWeight),
+                    maxWaitMillis,
+                    metrics);
+            default -> throw new IllegalArgumentException("지원하지 않는 쓰기 스케줄러입니다. (" + scheduler + ")");
+        };
+    }
+}
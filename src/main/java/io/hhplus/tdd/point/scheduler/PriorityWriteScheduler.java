@@ -0,0 +1,192 @@
+package io.hhplus.tdd.point.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 우선순위 클래스별 큐를 두고 가중치 공정 큐잉(weighted fair queuing)으로 쓰기 권한을 주는 스케줄러
+ *
+ * [동작]
+ * 1. 쓰기 권한이 비어있으면 바로 권한을 준다.
+ * 2. 누가 쓰고 있으면 우선순위 클래스의 큐 맨 뒤에서 기다린다. (클래스 안에서는 FIFO)
+ * 3. 권한이 반납되면 smooth weighted round-robin 으로 다음 클래스를 고른다.
+ *    가중치가 6:3:1 이면 큐가 모두 차있을 때 PAYMENT/CHARGE/BATCH 가 6:3:1 비율로 실행된다.
+ * 4. 기아 방지: 큐 맨 앞의 요청이 maxWait 이상 기다렸다면 가중치와 관계없이 가장 오래 기다린 요청을 먼저 실행한다.
+ *
+ * 권한은 반납하는 스레드가 다음 대기자에게 직접 넘겨주므로(hand-off) 중간에 새치기가 일어나지 않는다.
+ */
+public class PriorityWriteScheduler implements PointWriteScheduler {
+
+    // 기다리는 요청 하나
+    private static final class Waiter {
+        private final WritePriority priority;
+        private final long enqueuedAtNanos;
+        private final Condition condition;
+        private boolean granted;
+
+        private Waiter(WritePriority priority, long enqueuedAtNanos, Condition condition) {
+            this.priority = priority;
+            this.enqueuedAtNanos = enqueuedAtNanos;
+            this.condition = condition;
+        }
+    }
+
+    private final ReentrantLock mutex = new ReentrantLock(); // 스케줄러 내부 상태를 보호하는 락
+    private final Map<WritePriority, ArrayDeque<Waiter>> queues = new EnumMap<>(WritePriority.class);
+    private final Map<WritePriority, Integer> weights;
+    private final Map<WritePriority, Integer> credits = new EnumMap<>(WritePriority.class); // round-robin 누적 가중치
+    private final long maxWaitNanos;
+    private final WriteSchedulerMetrics metrics;
+
+    // mutex 로 보호된다.
+    private boolean busy;
+    private WritePriority holderPriority;
+    private long grantedAtNanos;
+
+    public PriorityWriteScheduler(Map<WritePriority, Integer> weights, long maxWaitMillis, WriteSchedulerMetrics metrics) {
+        this.weights = new EnumMap<>(WritePriority.class);
+        for (WritePriority priority : WritePriority.values()) {
+            int weight = weights.getOrDefault(priority, priority.defaultWeight());
+            if (weight <= 0)
+                throw new IllegalArgumentException("가중치는 양수입니다. (" + priority + "=" + weight + ")");
+            this.weights.put(priority, weight);
+            queues.put(priority, new ArrayDeque<>());
+            credits.put(priority, 0);
+        }
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean acquire(WritePriority priority, long deadlineMillis) throws InterruptedException {
+        long enqueuedAtNanos = System.nanoTime();
+        mutex.lock();
+        try {
+            if (System.currentTimeMillis() >= deadlineMillis) {
+                metrics.recordTimeout(priority);
+                return false;
+            }
+
+            // 쓰기 권한이 비어있으면 큐가 비어있는 상태이므로 바로 권한을 얻는다.
+            if (!busy) {
+                busy = true;
+                grant(priority, enqueuedAtNanos);
+                return true;
+            }
+
+            Waiter waiter = new Waiter(priority, enqueuedAtNanos, mutex.newCondition());
+            queues.get(priority).addLast(waiter);
+            metrics.enqueued(priority);
+            try {
+                while (!waiter.granted) {
+                    long remainingMillis = deadlineMillis - System.currentTimeMillis();
+                    if (remainingMillis <= 0) {
+                        queues.get(priority).remove(waiter);
+                        metrics.dequeued(priority);
+                        metrics.recordTimeout(priority);
+                        return false;
+                    }
+                    waiter.condition.await(remainingMillis, TimeUnit.MILLISECONDS);
+                }
+                return true;
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    // 이미 권한을 넘겨받았다면 다음 대기자에게 다시 넘긴다.
+                    handOff();
+                } else {
+                    queues.get(priority).remove(waiter);
+                    metrics.dequeued(priority);
+                }
+                throw e;
+            }
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    public void release() {
+        mutex.lock();
+        try {
+            handOff();
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    // 현재 큐에서 기다리는 요청 수
+    public int queueSize(WritePriority priority) {
+        mutex.lock();
+        try {
+            return queues.get(priority).size();
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    // mutex 를 잡은 상태에서 호출한다. 권한을 반납하고 다음 대기자가 있으면 넘겨준다.
+    private void handOff() {
+        metrics.recordHold(holderPriority, System.nanoTime() - grantedAtNanos);
+
+        Waiter next = selectNext();
+        if (next == null) {
+            busy = false;
+            holderPriority = null;
+            return;
+        }
+
+        metrics.dequeued(next.priority);
+        next.granted = true;
+        grant(next.priority, next.enqueuedAtNanos);
+        next.condition.signal();
+    }
+
+    private void grant(WritePriority priority, long enqueuedAtNanos) {
+        holderPriority = priority;
+        grantedAtNanos = System.nanoTime();
+        metrics.recordQueueWait(priority, grantedAtNanos - enqueuedAtNanos);
+    }
+
+    /**
+     * 다음에 실행할 대기자를 고른다.
+     * 1. maxWait 이상 기다린 요청이 있으면 그 중 가장 오래 기다린 요청
+     * 2. 없으면 smooth weighted round-robin 으로 고른 클래스의 맨 앞 요청
+     */
+    private Waiter selectNext() {
+        long now = System.nanoTime();
+
+        Waiter starved = null;
+        for (ArrayDeque<Waiter> queue : queues.values()) {
+            Waiter head = queue.peekFirst();
+            if (head == null || now - head.enqueuedAtNanos < maxWaitNanos)
+                continue;
+            if (starved == null || head.enqueuedAtNanos < starved.enqueuedAtNanos)
+                starved = head;
+        }
+        if (starved != null)
+            return queues.get(starved.priority).pollFirst();
+
+        WritePriority selected = null;
+        int totalWeight = 0;
+        for (WritePriority priority : WritePriority.values()) {
+            if (queues.get(priority).isEmpty()) {
+                credits.put(priority, 0); // 쉬고 있던 클래스가 몫을 쌓아두지 않도록 초기화한다.
+                continue;
+            }
+            int weight = weights.get(priority);
+            credits.merge(priority, weight, Integer::sum);
+            totalWeight += weight;
+            if (selected == null || credits.get(priority) > credits.get(selected))
+                selected = priority;
+        }
+        if (selected == null)
+            return null;
+
+        credits.merge(selected, -totalWeight, Integer::sum);
+        return queues.get(selected).pollFirst();
+    }
+}
@@ -0,0 +1,105 @@
+package io.hhplus.tdd.point.scheduler;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저별 잠금
+ * - 같은 유저의 변경은 한번에 하나씩 실행하고, 서로 다른 유저의 변경은 동시에 실행할 수 있다.
+ * - 여러 유저를 함께 잠글 때는 항상 유저아이디 오름차순으로 잠근다.
+ *   모든 스레드가 같은 순서로 잠그므로 A→B 와 B→A 이체가 동시에 들어와도 서로를 기다리며 멈추지(deadlock) 않는다.
+ * - 유저별 잠금은 공정(fair)하게 도착 순서대로 얻는다.
+ * - 잠금은 잡고 있거나 기다리는 스레드가 있는 동안에만 둔다. 마지막 스레드가 풀면 지운다.
+ *   (지우지 않으면 한번이라도 쓰인 유저아이디마다 잠금이 남아 메모리가 끝없이 는다)
+ */
+public class UserLocks {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    // 유저 한명의 잠금과 그 잠금을 잡고 있거나 기다리는 스레드 수
+    private static final class UserLock {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int holders; // locks.compute 안에서만 읽고 쓴다
+    }
+
+    private final ConcurrentHashMap<Long, UserLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * 유저들을 아이디 오름차순으로 잠근다. 같은 아이디는 한번만 잠근다.
+     *
+     * @param deadlineMillis : 마감시각(epoch millis). NO_DEADLINE 이면 잠글 때까지 기다린다.
+     * @param userIds : 잠글 유저아이디 목록
+     * @return 마감시각 안에 모두 잠갔으면 true. 실패하면 이미 잠근 유저도 모두 풀고 false
+     */
+    public boolean lock(long deadlineMillis, long... userIds) throws InterruptedException {
+        long[] ordered = canonicalOrder(userIds);
+        for (int i = 0; i < ordered.length; i++) {
+            boolean locked = false;
+            try {
+                locked = lockOne(ordered[i], deadlineMillis);
+            } finally {
+                if (!locked)
+                    unlockOrdered(ordered, i);
+            }
+            if (!locked)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * lock 으로 잠근 유저들을 푼다.
+     */
+    public void unlock(long... userIds) {
+        long[] ordered = canonicalOrder(userIds);
+        unlockOrdered(ordered, ordered.length);
+    }
+
+    /**
+     * 지금 잡혀 있거나 기다리는 스레드가 있는 잠금 수
+     */
+    public int size() {
+        return locks.size();
+    }
+
+    private boolean lockOne(long userId, long deadlineMillis) throws InterruptedException {
+        UserLock userLock = locks.compute(userId, (id, current) -> {
+            UserLock held = current != null ? current : new UserLock();
+            held.holders++;
+            return held;
+        });
+        boolean locked = false;
+        try {
+            if (deadlineMillis == NO_DEADLINE) {
+                userLock.lock.lockInterruptibly();
+                locked = true;
+            } else {
+                locked = userLock.lock.tryLock(deadlineMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+            }
+            return locked;
+        } finally {
+            if (!locked)
+                release(userId);
+        }
+    }
+
+    // 잠근 순서의 역순으로 앞에서부터 count 개를 푼다.
+    private void unlockOrdered(long[] ordered, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            locks.get(ordered[i]).lock.unlock();
+            release(ordered[i]); // 먼저 풀고 나서 지워야 같은 유저에 잠금이 두개 생기지 않는다
+        }
+    }
+
+    // 잡고 있거나 기다리는 스레드가 없으면 잠금을 지운다.
+    private void release(long userId) {
+        locks.computeIfPresent(userId, (id, userLock) -> --userLock.holders == 0 ? null : userLock);
+    }
+
+    // 오름차순 정렬 + 중복 제거
+    private static long[] canonicalOrder(long[] userIds) {
+        return Arrays.stream(userIds).sorted().distinct().toArray();
+    }
+}
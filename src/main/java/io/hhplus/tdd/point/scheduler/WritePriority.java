@@ -0,0 +1,30 @@
+package io.hhplus.tdd.point.scheduler;
+
+/**
+ * 포인트 쓰기 요청의 우선순위 클래스
+ * - PAYMENT : 결제(포인트 사용) 요청. 사용자가 응답을 기다리고 있으므로 가장 먼저 처리한다.
+ * - CHARGE : 사용자가 직접 요청한 포인트 충전
+ * - BATCH : 배치성 적립/만료 등 사용자가 기다리지 않는 백그라운드 작업
+ *
+ * defaultWeight 는 가중치 공정 큐잉에서 각 클래스가 받는 처리 몫의 비율이다.
+ */
+public enum WritePriority {
+    PAYMENT(6),
+    CHARGE(3),
+    BATCH(1);
+
+    private final int defaultWeight;
+
+    WritePriority(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    public int defaultWeight() {
+        return defaultWeight;
+    }
+
+    // 메트릭 태그 값
+    public String tagValue() {
+        return name().toLowerCase();
+    }
+}
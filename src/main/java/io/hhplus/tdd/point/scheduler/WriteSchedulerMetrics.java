@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 우선순위 클래스별 쓰기 스케줄러 메트릭
+ * - point.write.queue.wait : 큐에 들어가서 쓰기 권한을 얻기까지 기다린 시간
+ * - point.write.hold : 쓰기 권한을 얻고 반납하기까지 걸린 시간
+ * - point.write.queue.timeout : 마감시각이 지나 큐에서 빠진 요청 수
+ * - point.write.queue.size : 현재 큐에서 기다리는 요청 수
+ */
+public class WriteSchedulerMetrics {
+
+    private final Map<WritePriority, Timer> queueWait = new EnumMap<>(WritePriority.class);
+    private final Map<WritePriority, Timer> hold = new EnumMap<>(WritePriority.class);
+    private final Map<WritePriority, Counter> timeouts = new EnumMap<>(WritePriority.class);
+    private final Map<WritePriority, AtomicInteger> queued = new EnumMap<>(WritePriority.class);
+
+    public WriteSchedulerMetrics(MeterRegistry registry, String scheduler) {
+        for (WritePriority priority : WritePriority.values()) {
+            String tag = priority.tagValue();
+            queueWait.put(priority, Timer.builder("point.write.queue.wait")
+                    .tag("scheduler", scheduler).tag("priority", tag)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry));
+            hold.put(priority, Timer.builder("point.write.hold")
+                    .tag("scheduler", scheduler).tag("priority", tag)
+                    .register(registry));
+            timeouts.put(priority, Counter.builder("point.write.queue.timeout")
+                    .tag("scheduler", scheduler).tag("priority", tag)
+                    .register(registry));
+
+            AtomicInteger size = new AtomicInteger();
+            queued.put(priority, size);
+            Gauge.builder("point.write.queue.size", size, AtomicInteger::get)
+                    .tag("scheduler", scheduler).tag("priority", tag)
+                    .register(registry);
+        }
+    }
+
+    void recordQueueWait(WritePriority priority, long nanos) {
+        queueWait.get(priority).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordHold(WritePriority priority, long nanos) {
+        hold.get(priority).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordTimeout(WritePriority priority) {
+        timeouts.get(priority).increment();
+    }
+
+    void enqueued(WritePriority priority) {
+        queued.get(priority).incrementAndGet();
+    }
+
+    void dequeued(WritePriority priority) {
+        queued.get(priority).decrementAndGet();
+    }
+
+    // 현재 큐에서 기다리는 요청 수
+    public int queueSize(WritePriority priority) {
+        return queued.get(priority).get();
+    }
+}
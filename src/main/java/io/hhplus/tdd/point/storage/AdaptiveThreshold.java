@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point.storage;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * [ 적응형 지연 임계값 ]
+ * 1. 최근 조회 지연시간을 고정 크기 링버퍼에 기록한다. (가장 오래된 값부터 덮어쓴다)
+ * 2. recomputeEvery 번 기록할 때마다 링버퍼를 정렬해 percentile 값을 다시 계산한다.
+ * 3. 표본이 minSamples 보다 적으면 initialNanos 를 쓴다.
+ * 저장소가 느려지거나 빨라지면 임계값이 그에 맞게 따라간다.
+ */
+final class AdaptiveThreshold {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private final double percentile;
+    private final int recomputeEvery;
+    private final int minSamples;
+    private final long floorNanos;
+
+    private volatile long thresholdNanos;
+
+    /**
+     * @param windowSize : 임계값 계산에 쓰는 최근 표본 수
+     * @param percentile : 임계값으로 쓸 백분위 (0.9 면 최근 조회의 90% 가 이 시간 안에 끝났다)
+     * @param recomputeEvery : 이만큼 기록할 때마다 임계값을 다시 계산한다
+     * @param minSamples : 이만큼 기록되기 전에는 initialNanos 를 쓴다
+     * @param initialNanos : 표본이 모이기 전의 임계값
+     * @param floorNanos : 임계값의 하한 (너무 빠른 저장소에서 모든 조회를 헤지하지 않도록)
+     */
+    AdaptiveThreshold(int windowSize, double percentile, int recomputeEvery, int minSamples,
+                      long initialNanos, long floorNanos) {
+        if (windowSize <= 0 || recomputeEvery <= 0 || minSamples <= 0)
+            throw new RuntimeException("표본 수는 양수입니다.");
+        if (percentile <= 0 || percentile >= 1)
+            throw new RuntimeException("percentile 은 0 과 1 사이입니다.");
+        this.samples = new AtomicLongArray(windowSize);
+        this.percentile = percentile;
+        this.recomputeEvery = recomputeEvery;
+        this.minSamples = Math.min(minSamples, windowSize);
+        this.floorNanos = floorNanos;
+        this.thresholdNanos = Math.max(initialNanos, floorNanos);
+    }
+
+    void record(long nanos) {
+        long n = recorded.getAndIncrement();
+        samples.set((int) (n % samples.length()), nanos);
+        if (n + 1 >= minSamples && (n + 1) % recomputeEvery == 0)
+            recompute(n + 1);
+    }
+
+    long nanos() {
+        return thresholdNanos;
+    }
+
+    // 동시에 기록되는 값이 섞일 수 있지만 통계값이므로 정확할 필요는 없다.
+    private void recompute(long count) {
+        int size = (int) Math.min(count, samples.length());
+        long[] copy = new long[size];
+        for (int i = 0; i < size; i++)
+            copy[i] = samples.get(i);
+        Arrays.sort(copy);
+        int index = Math.min(size - 1, (int) Math.ceil(percentile * size) - 1);
+        thresholdNanos = Math.max(copy[Math.max(index, 0)], floorNanos);
+    }
+}
@@ -0,0 +1,35 @@
+package io.hhplus.tdd.point.storage;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 잔액 헤지 조회 설정 (point.read.hedge.enabled=false 면 UserPointTable 을 그대로 조회한다)
+ * - point.read.hedge.percentile : 이 백분위보다 오래 걸리는 조회에 헤지 조회를 보낸다
+ * - point.read.hedge.budget-ratio : 조회 대비 헤지 조회 비율의 상한 (추가 저장소 부하)
+ * - point.read.hedge.burst : 한번에 몰아서 쓸 수 있는 헤지 조회 수
+ * - point.read.hedge.initial-millis : 표본이 모이기 전의 임계값
+ * - point.read.hedge.floor-millis : 임계값의 하한
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "point.read.hedge", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HedgedReadConfig {
+
+    @Bean(destroyMethod = "close")
+    public HedgedUserPointReader hedgedUserPointReader(
+            UserPointTable userPointTable,
+            MeterRegistry meterRegistry,
+            @Value("${point.read.hedge.percentile:0.9}") double percentile,
+            @Value("${point.read.hedge.budget-ratio:0.1}") double budgetRatio,
+            @Value("${point.read.hedge.burst:20}") int burst,
+            @Value("${point.read.hedge.initial-millis:100}") long initialMillis,
+            @Value("${point.read.hedge.floor-millis:5}") long floorMillis
+    ) {
+        return new HedgedUserPointReader(userPointTable::selectById, meterRegistry,
+                percentile, budgetRatio, burst, initialMillis, floorMillis);
+    }
+}
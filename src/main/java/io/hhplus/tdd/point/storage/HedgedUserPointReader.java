@@ -0,0 +1,140 @@
+package io.hhplus.tdd.point.storage;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * [ 헤지 조회(hedged read) 로직 설계 ]
+ * 1. 첫 조회를 보내고 적응형 임계값(최근 조회 지연의 percentile)까지 기다린다.
+ * 2. 그 안에 끝나면 그대로 돌려준다.
+ * 3. 끝나지 않았으면 헤지 예산이 남아 있을 때만 같은 유저를 한번 더 조회한다.
+ * 4. 두 조회 중 먼저 끝난 결과를 돌려준다. 늦은 조회는 끝까지 실행되지만 결과는 버린다.
+ * 조회는 값을 바꾸지 않으므로 두 번 실행해도 안전하다.
+ * 다만 늦은 조회는 호출이 끝난 뒤에도 실행되므로 쓰기 권한 밖에서 저장소 쓰기와 겹칠 수 있다.
+ * 그래서 잔액 조회 API 에만 쓰고, 쓰기에 쓸 잔액은 쓰기 권한을 가진 상태에서 저장소를 직접 읽는다.
+ * 각 조회의 지연시간은 끝날 때 임계값 표본으로 기록된다. (헤지에서 진 조회도 기록해야 분포가 치우치지 않는다)
+ *
+ * 메트릭
+ * - point.read.hedge.sent : 보낸 헤지 조회 수
+ * - point.read.hedge.won : 헤지 조회가 첫 조회보다 먼저 끝난 수
+ * - point.read.hedge.threshold : 현재 임계값(ms)
+ */
+public class HedgedUserPointReader implements UserPointReader, AutoCloseable {
+
+    // 임계값 계산에 쓰는 최근 표본 수와 재계산 주기
+    private static final int WINDOW_SIZE = 1024;
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final UserPointReader source;
+    private final AdaptiveThreshold threshold;
+    private final HedgingBudget budget;
+    // 조회 하나가 저장소 지연만큼 스레드를 잡고 있으므로 동시 조회 수만큼 스레드가 필요하다. 쉬는 스레드는 정리된다.
+    private final ExecutorService executor = Executors.newCachedThreadPool(daemon("point-read"));
+    private final Counter hedgeSent;
+    private final Counter hedgeWon;
+
+    /**
+     * @param source : 실제 조회 (UserPointTable::selectById)
+     * @param percentile : 헤지 임계값으로 쓸 최근 조회 지연의 백분위
+     * @param budgetRatio : 조회 대비 헤지 조회 비율의 상한
+     * @param burst : 한번에 몰아서 쓸 수 있는 헤지 조회 수
+     * @param initialMillis : 표본이 모이기 전의 임계값(ms)
+     * @param floorMillis : 임계값의 하한(ms)
+     */
+    public HedgedUserPointReader(UserPointReader source, MeterRegistry registry, double percentile,
+                                 double budgetRatio, int burst, long initialMillis, long floorMillis) {
+        this(source, registry,
+                new AdaptiveThreshold(WINDOW_SIZE, percentile, RECOMPUTE_EVERY, RECOMPUTE_EVERY,
+                        TimeUnit.MILLISECONDS.toNanos(initialMillis), TimeUnit.MILLISECONDS.toNanos(floorMillis)),
+                new HedgingBudget(budgetRatio, burst));
+    }
+
+    HedgedUserPointReader(UserPointReader source, MeterRegistry registry, AdaptiveThreshold threshold, HedgingBudget budget) {
+        this.source = source;
+        this.threshold = threshold;
+        this.budget = budget;
+        this.hedgeSent = Counter.builder("point.read.hedge.sent").register(registry);
+        this.hedgeWon = Counter.builder("point.read.hedge.won").register(registry);
+        Gauge.builder("point.read.hedge.threshold", threshold, t -> t.nanos() / 1_000_000.0)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    @Override
+    public UserPoint read(long userId) {
+        budget.onRead();
+        CompletableFuture<UserPoint> primary = attempt(userId);
+        try {
+            return primary.get(threshold.nanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (!budget.tryHedge())
+                return await(primary);
+        } catch (InterruptedException | ExecutionException e) {
+            return rethrow(e);
+        }
+
+        hedgeSent.increment();
+        CompletableFuture<UserPoint> hedge = attempt(userId);
+        UserPoint result = await(CompletableFuture.anyOf(primary, hedge).thenApply(UserPoint.class::cast));
+        if (!primary.isDone())
+            hedgeWon.increment();
+        return result;
+    }
+
+    private CompletableFuture<UserPoint> attempt(long userId) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            UserPoint userPoint = source.read(userId);
+            threshold.record(System.nanoTime() - start);
+            return userPoint;
+        }, executor);
+    }
+
+    private static UserPoint await(CompletableFuture<UserPoint> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException | ExecutionException e) {
+            return rethrow(e);
+        }
+    }
+
+    private static UserPoint rethrow(Exception e) {
+        if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("포인트 조회가 중단되었습니다.", e);
+        }
+        if (e.getCause() instanceof RuntimeException cause)
+            throw cause;
+        throw new RuntimeException("포인트 조회에 실패했습니다.", e.getCause());
+    }
+
+    // 현재 헤지 임계값(ms)
+    public double thresholdMillis() {
+        return threshold.nanos() / 1_000_000.0;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point.storage;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [ 헤지 예산 ]
+ * 조회 한 번마다 ratio 만큼 토큰이 쌓이고(최대 burst 개), 헤지 조회 한 번에 토큰 1개를 쓴다.
+ * 따라서 헤지 조회는 길게 보면 전체 조회의 ratio 비율을 넘지 않는다.
+ * 저장소 전체가 느려져 모든 조회가 임계값을 넘더라도 저장소 부하가 두 배가 되지 않는다.
+ */
+final class HedgingBudget {
+
+    // 토큰을 1000 단위로 나눠 정수로 계산한다
+    private static final long UNIT = 1000;
+
+    private final AtomicLong milliTokens = new AtomicLong();
+    private final long depositPerRead;
+    private final long capacity;
+
+    /**
+     * @param ratio : 조회 대비 헤지 조회 비율의 상한 (0.1 이면 추가 부하 10%)
+     * @param burst : 한번에 몰아서 쓸 수 있는 헤지 조회 수
+     */
+    HedgingBudget(double ratio, int burst) {
+        if (ratio < 0 || ratio > 1)
+            throw new RuntimeException("헤지 비율은 0 이상 1 이하입니다.");
+        if (burst <= 0)
+            throw new RuntimeException("burst 는 양수입니다.");
+        this.depositPerRead = Math.round(ratio * UNIT);
+        this.capacity = burst * UNIT;
+    }
+
+    void onRead() {
+        milliTokens.accumulateAndGet(depositPerRead, (current, deposit) -> Math.min(current + deposit, capacity));
+    }
+
+    boolean tryHedge() {
+        while (true) {
+            long current = milliTokens.get();
+            if (current < UNIT)
+                return false;
+            if (milliTokens.compareAndSet(current, current - UNIT))
+                return true;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point.storage;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+
+/**
+ * 포인트 내역 저장소
+ * 기본은 PointHistoryTable 을 그대로 쓰고(of), TieredPointHistoryStore 로 오래된 내역을 압축해서 디스크로 옮길 수 있다.
+ * insert 는 쓰기 권한을 가진 상태에서만 호출한다. 조회가 insert 와 동시에 호출되어도 되는지는 구현에 따른다.
+ */
+public interface PointHistoryStore {
+
+    PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
+
+    // 유저의 모든 내역 (id 순서)
+    List<PointHistory> selectAllByUserId(long userId);
+
+    // 유저의 내역 중 id 가 afterId 보다 큰 내역을 id 순서로 최대 limit 개
+    List<PointHistory> selectByUserId(long userId, long afterId, int limit);
+
+    // PointHistoryTable 을 그대로 쓴다. (페이지 조회도 유저의 모든 내역을 읽어서 거른다)
+    static PointHistoryStore of(PointHistoryTable table) {
+        return new PointHistoryStore() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                return table.insert(userId, amount, type, updateMillis);
+            }
+
+            @Override
+            public List<PointHistory> selectAllByUserId(long userId) {
+                return table.selectAllByUserId(userId);
+            }
+
+            @Override
+            public List<PointHistory> selectByUserId(long userId, long afterId, int limit) {
+                return table.selectAllByUserId(userId).stream()
+                        .filter(history -> history.id() > afterId)
+                        .limit(limit)
+                        .toList();
+            }
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.storage;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 유저포인트(잔액) 조회
+ * 기본은 UserPointTable::selectById 이고, HedgedUserPointReader 로 느린 조회의 꼬리 지연을 줄일 수 있다.
+ */
+@FunctionalInterface
+public interface UserPointReader {
+
+    UserPoint read(long userId);
+}
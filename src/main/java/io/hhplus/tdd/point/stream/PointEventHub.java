@@ -0,0 +1,152 @@
+package io.hhplus.tdd.point.stream;
+
+import io.hhplus.tdd.point.PointCommit;
+import io.hhplus.tdd.point.PointCommitListener;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 커밋된 포인트 변경을 유저별 구독자들에게 나눠 보내는 허브
+ * - 유저별 구독자 목록을 두고, 변경이 커밋되면 그 유저의 구독자 버퍼에 최신 잔액을 넣는다.
+ * - 실제 전송은 적은 수의 공용 전송 스레드가 한다. 구독자 수만큼 스레드를 쓰지 않는다.
+ * - heartbeat 로 끊긴 연결을 찾아 정리한다.
+ * - SseEmitter.send 는 클라이언트가 받지 않으면 막히므로, 느린 구독자 몇 명이 전송 스레드를 모두 잡을 수 있다.
+ *   · 전송 하나가 send-timeout-millis 를 넘기면 그 구독자를 닫고 전송 스레드를 깨운다. (깨워도 풀리지 않는 쓰기는 컨테이너의 쓰기 제한시간에 끝난다)
+ *   · 전송 큐는 sender-queue 개로 제한하고, 가득 차면 작업을 올리려던 구독자를 닫는다.
+ *   · 구독자마다 큐에 올라간 작업은 많아야 하나다. (PointSubscriber)
+ */
+@Component
+public class PointEventHub implements PointCommitListener {
+
+    private final Map<Long, Set<PointSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService sender;
+    private final ScheduledExecutorService heartbeat;
+    private final long sendTimeoutMillis;
+    private final Counter timedOut;
+
+    /**
+     * @param senderThreads : 모든 구독자가 함께 쓰는 전송 스레드 수
+     * @param senderQueue : 전송 스레드를 기다릴 수 있는 작업 수
+     * @param heartbeatMillis : 끊긴 연결을 찾기 위한 heartbeat 주기
+     * @param sendTimeoutMillis : 전송 하나의 제한시간. 넘기면 구독자를 닫는다.
+     */
+    public PointEventHub(
+            MeterRegistry meterRegistry,
+            @Value("${point.stream.sender-threads:2}") int senderThreads,
+            @Value("${point.stream.sender-queue:10000}") int senderQueue,
+            @Value("${point.stream.heartbeat-millis:15000}") long heartbeatMillis,
+            @Value("${point.stream.send-timeout-millis:5000}") long sendTimeoutMillis
+    ) {
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(senderQueue), daemon("point-stream-sender"));
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("point-stream-heartbeat"));
+        this.heartbeat.scheduleAtFixedRate(this::heartbeatAll, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        long watchMillis = Math.max(1, sendTimeoutMillis / 2);
+        this.heartbeat.scheduleAtFixedRate(this::expireSlowSends, watchMillis, watchMillis, TimeUnit.MILLISECONDS);
+        Gauge.builder("point.stream.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+        this.timedOut = Counter.builder("point.stream.send.timeouts").register(meterRegistry);
+    }
+
+    /**
+     * 유저의 잔액 변경을 구독한다.
+     *
+     * @param userId : 유저아이디
+     * @param sink : 이벤트를 보낼 출구
+     * @param initial : 구독 직후 보낼 현재 잔액 (전송 스레드에서 읽는다)
+     * @return 구독을 끝내는 동작 (연결이 끊겼을 때 호출한다)
+     */
+    public Runnable subscribe(long userId, PointEventSink sink, Supplier<UserPoint> initial) {
+        PointSubscriber subscriber = new PointSubscriber(userId, sink, sender, this::unsubscribe);
+        // 목록을 비운 unsubscribe 가 목록을 지우는 것과 겹치지 않도록 map 연산 안에서 추가한다.
+        subscribers.compute(userId, (id, userSubscribers) -> {
+            Set<PointSubscriber> added = userSubscribers != null ? userSubscribers : ConcurrentHashMap.newKeySet();
+            if (added.add(subscriber))
+                subscriberCount.incrementAndGet();
+            return added;
+        });
+
+        try {
+            sender.execute(() -> {
+                try {
+                    subscriber.offer(initial.get());
+                } catch (RuntimeException e) {
+                    subscriber.close();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            subscriber.close(); // 전송 큐가 가득 찼다
+        }
+        return subscriber::close;
+    }
+
+    @Override
+    public void onCommit(PointCommit commit) {
+        Set<PointSubscriber> userSubscribers = subscribers.get(commit.userPoint().id());
+        if (userSubscribers == null)
+            return;
+        for (PointSubscriber subscriber : userSubscribers)
+            subscriber.offer(commit.userPoint());
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(PointSubscriber::close));
+        sender.shutdown();
+    }
+
+    private void unsubscribe(PointSubscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId(), (id, userSubscribers) -> {
+            if (userSubscribers.remove(subscriber))
+                subscriberCount.decrementAndGet();
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private void heartbeatAll() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(PointSubscriber::heartbeat));
+    }
+
+    // 제한시간을 넘긴 전송이 있는 구독자를 닫는다.
+    private void expireSlowSends() {
+        long now = System.currentTimeMillis();
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> {
+            if (subscriber.expireSend(now, sendTimeoutMillis))
+                timedOut.increment();
+        }));
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
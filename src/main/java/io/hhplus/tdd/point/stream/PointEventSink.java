@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.stream;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.io.IOException;
+
+/**
+ * 구독자에게 포인트 이벤트를 실제로 보내는 출구 (SSE 연결 등)
+ */
+public interface PointEventSink {
+
+    void send(UserPoint userPoint) throws IOException;
+
+    // 연결이 살아있는지 확인하기 위한 빈 메시지
+    void heartbeat() throws IOException;
+
+    void close();
+}
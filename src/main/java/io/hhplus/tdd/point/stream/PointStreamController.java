@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point.stream;
+
+import io.hhplus.tdd.point.PointService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 유저 포인트 잔액 변경을 server-sent events 로 흘려보내는 API
+ * - 구독 직후 현재 잔액을 한번 보내고, 이후 커밋될 때마다 최신 잔액을 보낸다.
+ * - 클라이언트가 느리면 중간 잔액은 건너뛰고 최신 잔액만 받는다.
+ * - 연결이 timeout 으로 끝나면 EventSource 가 다시 연결한다.
+ */
+@RestController
+@RequestMapping("/point")
+public class PointStreamController {
+
+    private final PointService service;
+    private final PointEventHub hub;
+    private final long timeoutMillis; // SSE 연결 하나를 유지하는 시간(ms)
+
+    public PointStreamController(
+            PointService service,
+            PointEventHub hub,
+            @Value("${point.stream.timeout-millis:1800000}") long timeoutMillis
+    ) {
+        this.service = service;
+        this.hub = hub;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @GetMapping(value = "{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable long id) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        SseEmitterSink sink = new SseEmitterSink(emitter);
+        Runnable cancel = hub.subscribe(id, sink, () -> service.getUserPointByUserId(id));
+        emitter.onCompletion(cancel);
+        emitter.onTimeout(cancel);
+        emitter.onError(e -> cancel.run());
+        return emitter;
+    }
+}
@@ -0,0 +1,151 @@
+package io.hhplus.tdd.point.stream;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 유저 포인트 구독자 하나
+ * - 버퍼는 최신 잔액 한 칸뿐이다. 보내는 중에 들어온 변경은 마지막 잔액 하나로 합쳐진다(coalescing).
+ *   버퍼는 비우지 않고, 마지막으로 보낸 잔액과 다를 때만 보낸다.
+ *   오래된 잔액이 최신 잔액을 덮지 않도록 버퍼는 비교 후 교체(CAS)로만 바꾼다.
+ * - 보낼 것이 있을 때만 공용 executor 에 전송 작업을 올리므로, 쉬고 있는 구독자는 스레드를 쓰지 않는다.
+ * - 구독자마다 executor 에 올라간 작업은 많아야 하나다. heartbeat 도 같은 작업에서 보낸다.
+ *   (느린 구독자가 있어도 heartbeat 주기마다 작업이 쌓이지 않는다)
+ * - 전송에 실패하거나, executor 가 가득 차 작업을 받지 않으면 연결이 끊긴 것으로 보고 닫는다.
+ * - 전송 하나가 제한시간을 넘기면 허브가 expireSend 로 닫고 전송 스레드를 깨운다.
+ */
+class PointSubscriber {
+
+    private final long userId;
+    private final PointEventSink sink;
+    private final Executor sender;
+    private final Consumer<PointSubscriber> onClose;
+
+    private final AtomicReference<UserPoint> latest = new AtomicReference<>();
+    private final AtomicBoolean heartbeatPending = new AtomicBoolean();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile UserPoint lastSent; // drain 하는 스레드만 바꾼다
+
+    // 지금 보내고 있는 스레드와 보내기 시작한 시각 (this 로 동기화한다)
+    private Thread sendingThread;
+    private long sendStartedMillis;
+
+    PointSubscriber(long userId, PointEventSink sink, Executor sender, Consumer<PointSubscriber> onClose) {
+        this.userId = userId;
+        this.sink = sink;
+        this.sender = sender;
+        this.onClose = onClose;
+    }
+
+    long userId() {
+        return userId;
+    }
+
+    /**
+     * 보낼 잔액을 버퍼에 넣는다. 이미 넣은 잔액보다 오래된 잔액은 버린다.
+     */
+    void offer(UserPoint userPoint) {
+        while (true) {
+            if (closed.get())
+                return;
+            UserPoint current = latest.get();
+            if (current != null && userPoint.updateMillis() < current.updateMillis())
+                return;
+            if (latest.compareAndSet(current, userPoint))
+                break;
+        }
+        scheduleDrain();
+    }
+
+    void heartbeat() {
+        if (closed.get())
+            return;
+        heartbeatPending.set(true);
+        scheduleDrain();
+    }
+
+    /**
+     * 보내기 시작한 지 timeoutMillis 가 지난 전송이 있으면 구독자를 닫고 전송 스레드를 깨운다.
+     * 깨우는 것은 전송이 아직 끝나지 않았을 때만 한다. (다른 구독자에게 보내는 스레드를 깨우지 않는다)
+     *
+     * @return 닫았으면 true
+     */
+    boolean expireSend(long nowMillis, long timeoutMillis) {
+        synchronized (this) {
+            if (sendingThread == null || nowMillis - sendStartedMillis < timeoutMillis)
+                return false;
+            close();
+            sendingThread.interrupt();
+            return true;
+        }
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            latest.set(null);
+            sink.close();
+            onClose.accept(this);
+        }
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true))
+            return;
+        try {
+            sender.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+            close(); // 전송 큐가 가득 찼다
+        }
+    }
+
+    // 버퍼의 최신 잔액이 마지막으로 보낸 잔액과 같아질 때까지 보낸다. 잔액을 보내지 않았으면 밀린 heartbeat 를 보낸다.
+    private void drain() {
+        try {
+            boolean sent = false;
+            UserPoint next;
+            while (!closed.get() && (next = latest.get()) != null && next != lastSent) {
+                UserPoint sending = next;
+                watched(() -> sink.send(sending));
+                lastSent = next;
+                sent = true;
+            }
+            if (heartbeatPending.getAndSet(false) && !sent && !closed.get())
+                watched(sink::heartbeat);
+        } catch (IOException | RuntimeException e) {
+            close();
+        } finally {
+            draining.set(false);
+        }
+        // 전송을 끝내는 사이에 들어온 잔액이나 heartbeat 가 있으면 다시 보낸다.
+        UserPoint next = latest.get();
+        if (!closed.get() && ((next != null && next != lastSent) || heartbeatPending.get()))
+            scheduleDrain();
+    }
+
+    private void watched(Send send) throws IOException {
+        synchronized (this) {
+            sendingThread = Thread.currentThread();
+            sendStartedMillis = System.currentTimeMillis();
+        }
+        try {
+            send.run();
+        } finally {
+            synchronized (this) {
+                sendingThread = null;
+            }
+            Thread.interrupted(); // expireSend 가 깨운 흔적을 다음 작업으로 넘기지 않는다
+        }
+    }
+
+    private interface Send {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,44 @@
+package io.hhplus.tdd.point.stream;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * SseEmitter 로 포인트 이벤트를 보내는 출구
+ * SseEmitter.send 는 내부에서 동기화되므로 잔액 전송과 heartbeat 가 겹쳐도 안전하다.
+ */
+class SseEmitterSink implements PointEventSink {
+
+    static final String EVENT_NAME = "point";
+
+    private final SseEmitter emitter;
+
+    SseEmitterSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(UserPoint userPoint) throws IOException {
+        emitter.send(SseEmitter.event()
+                .name(EVENT_NAME)
+                .id(String.valueOf(userPoint.updateMillis()))
+                .data(userPoint, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment(""));
+    }
+
+    @Override
+    public void close() {
+        try {
+            emitter.complete();
+        } catch (IllegalStateException e) {
+            // 이미 끝난 연결
+        }
+    }
+}
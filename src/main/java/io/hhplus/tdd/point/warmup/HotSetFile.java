@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point.warmup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * 최근에 쓰인 유저아이디 목록(hot set) 파일
+ * - 한 줄에 유저아이디 하나, 가장 최근에 쓰인 유저부터 적는다.
+ * - 임시 파일에 쓴 뒤 이름을 바꿔(atomic move) 쓰는 도중에 죽어도 이전 파일이 깨지지 않는다.
+ * - 읽을 수 없는 줄은 건너뛴다. 파일이 없으면 빈 목록이다. (첫 배포)
+ */
+final class HotSetFile {
+
+    private static final Logger log = LoggerFactory.getLogger(HotSetFile.class);
+
+    private final Path path;
+
+    HotSetFile(Path path) {
+        this.path = path;
+    }
+
+    // 앞에서부터 최대 limit 명
+    List<Long> read(int limit) {
+        if (!Files.exists(path))
+            return List.of();
+        try (var lines = Files.lines(path, StandardCharsets.UTF_8)) {
+            return lines.map(String::trim)
+                    .filter(line -> line.matches("\\d{1,18}"))
+                    .map(Long::parseLong)
+                    .filter(userId -> userId > 0)
+                    .distinct()
+                    .limit(limit)
+                    .toList();
+        } catch (IOException | RuntimeException e) {
+            log.warn("hot set 파일을 읽지 못했습니다. path={}", path, e);
+            return List.of();
+        }
+    }
+
+    void write(List<Long> userIds) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temp, userIds.stream().map(String::valueOf).toList(), StandardCharsets.UTF_8);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    Path path() {
+        return path;
+    }
+}
@@ -0,0 +1,214 @@
+package io.hhplus.tdd.point.warmup;
+
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.PointServiceImpl;
+import io.hhplus.tdd.point.cache.PointBalanceCache;
+import io.hhplus.tdd.point.hotkey.HotKeyDetector;
+import io.hhplus.tdd.point.scheduler.PriorityWriteScheduler;
+import io.hhplus.tdd.point.scheduler.WriteSchedulerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [ 시작 워밍업 로직 설계 ]
+ * 1. (preload) hot set 파일에 있는 최근 유저들의 잔액을 조회해 잔액 캐시에 채운다. 조회는 여러 스레드로 나눠 동시에 한다.
+ * 2. (warm-up) 버리는 저장소(WarmupTables)로 만든 PointServiceImpl 에 충전/사용/이체/조회 부하를 보내 JIT 컴파일을 끝낸다.
+ *    실제 유저의 잔액/내역은 건드리지 않는다.
+ * 3. 두 단계가 끝나거나 timeoutMillis 가 지나면 READY 가 된다. 그 전까지 readiness 는 OUT_OF_SERVICE 다.
+ *    워밍업이 실패해도 요청을 못 받는 것보다는 느린 편이 나으므로 READY 로 넘어간다.
+ * 실행중에는 hotSetIntervalMillis 마다 잔액 캐시의 최근 유저 목록을 hot set 파일에 저장한다. 종료할 때도 한번 저장한다.
+ */
+public class PointWarmup implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PointWarmup.class);
+
+    // 워밍업 부하의 유저 수. 앞쪽 유저에 요청이 몰리게 해서 핫키 경로도 실행한다.
+    private static final int WARMUP_USERS = 100;
+
+    public enum Phase {
+        PRELOADING, WARMING_UP, READY
+    }
+
+    private final PointServiceImpl pointService;
+    private final PointBalanceCache balanceCache;
+    private final HotSetFile hotSetFile;
+    private final int hotSetSize;
+    private final int threads;
+    private final int warmupOperations;
+    private final long timeoutMillis;
+    private final long hotSetIntervalMillis;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(daemon("point-warmup"));
+
+    private volatile Phase phase = Phase.PRELOADING;
+    private final AtomicInteger preloaded = new AtomicInteger();
+    private final AtomicLong operations = new AtomicLong();
+
+    /**
+     * @param hotSetFile : 최근 유저 목록 파일
+     * @param hotSetSize : hot set 파일에 저장하고 시작할 때 미리 읽을 최대 유저 수
+     * @param threads : preload 조회와 워밍업 부하를 보내는 스레드 수
+     * @param warmupOperations : 워밍업 부하의 요청 수
+     * @param timeoutMillis : preload + 워밍업에 쓸 수 있는 최대 시간
+     * @param hotSetIntervalMillis : hot set 파일을 저장하는 주기
+     */
+    public PointWarmup(PointServiceImpl pointService, PointBalanceCache balanceCache, Path hotSetFile,
+                       int hotSetSize, int threads, int warmupOperations, long timeoutMillis, long hotSetIntervalMillis) {
+        this.pointService = pointService;
+        this.balanceCache = balanceCache;
+        this.hotSetFile = new HotSetFile(hotSetFile);
+        this.hotSetSize = hotSetSize;
+        this.threads = threads;
+        this.warmupOperations = warmupOperations;
+        this.timeoutMillis = timeoutMillis;
+        this.hotSetIntervalMillis = hotSetIntervalMillis;
+    }
+
+    public void start() {
+        executor.execute(this::run);
+        executor.scheduleWithFixedDelay(this::saveHotSet, hotSetIntervalMillis, hotSetIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void run() {
+        long deadlineMillis = System.currentTimeMillis() + timeoutMillis;
+        long startMillis = System.currentTimeMillis();
+        try {
+            preload(deadlineMillis);
+            phase = Phase.WARMING_UP;
+            warmUp(deadlineMillis);
+        } catch (RuntimeException e) {
+            log.warn("포인트 워밍업 실패. 워밍업 없이 요청을 받습니다.", e);
+        } finally {
+            phase = Phase.READY;
+            log.info("포인트 워밍업 완료 preloaded={} operations={} elapsedMillis={}",
+                    preloaded.get(), operations.get(), System.currentTimeMillis() - startMillis);
+        }
+    }
+
+    // hot set 유저들의 잔액을 조회해 캐시에 채운다
+    private void preload(long deadlineMillis) {
+        List<Long> userIds = hotSetFile.read(hotSetSize);
+        runParallel(deadlineMillis, worker -> {
+            for (int i = worker; i < userIds.size() && System.currentTimeMillis() < deadlineMillis; i += threads) {
+                pointService.getUserPointByUserId(userIds.get(i));
+                preloaded.incrementAndGet();
+            }
+        });
+    }
+
+    // 버리는 저장소 위의 서비스에 실제와 같은 종류의 요청을 보낸다
+    private void warmUp(long deadlineMillis) {
+        WarmupTables.Balances balances = new WarmupTables.Balances();
+        PointBalanceCache cache = new PointBalanceCache(WARMUP_USERS);
+        PointService service = PointServiceImpl.builder(new WarmupTables.Histories(), balances)
+                .writeScheduler(new PriorityWriteScheduler(Map.of(), 2000, new WriteSchedulerMetrics(new SimpleMeterRegistry(), "warmup")))
+                .commitListeners(List.of(cache))
+                .hotKeys(new HotKeyDetector(16, 20, 10_000, 8))
+                .balanceCache(cache)
+                .build();
+
+        runParallel(deadlineMillis, worker -> {
+            Random random = new Random(worker);
+            for (int i = worker; i < warmupOperations && System.currentTimeMillis() < deadlineMillis; i += threads) {
+                long userId = 1 + (long) (Math.pow(random.nextDouble(), 3) * WARMUP_USERS);
+                long amount = PointService.MIN_CHARGE_AMOUNT * (1 + random.nextInt(10));
+                int op = random.nextInt(10);
+                try {
+                    if (op < 3)
+                        service.chargePoint(userId, amount);
+                    else if (op < 5)
+                        service.usePoint(userId, amount);
+                    else if (op < 6)
+                        service.transferPoint(userId, 1 + random.nextInt(WARMUP_USERS), amount);
+                    else if (op < 9)
+                        service.getUserPointByUserId(userId);
+                    else
+                        service.getPointHistoryByUserId(userId);
+                } catch (RuntimeException ignored) {
+                    // 잔액 부족, 자기 자신에게 이체 등 실패하는 경로도 워밍업 대상이다
+                }
+                operations.incrementAndGet();
+            }
+        });
+    }
+
+    private interface Worker {
+        void run(int worker);
+    }
+
+    private void runParallel(long deadlineMillis, Worker worker) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, daemon("point-warmup-worker"));
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                futures.add(pool.submit(() -> worker.run(index)));
+            }
+            for (Future<?> future : futures)
+                future.get(Math.max(deadlineMillis - System.currentTimeMillis(), 1), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("포인트 워밍업이 중단되었습니다.", e);
+        } catch (Exception e) {
+            throw new RuntimeException("포인트 워밍업이 제한시간 안에 끝나지 않았습니다.", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // 잔액 캐시의 최근 유저 목록을 hot set 파일에 저장한다
+    void saveHotSet() {
+        try {
+            hotSetFile.write(balanceCache.recentUserIds(hotSetSize));
+        } catch (IOException | RuntimeException e) {
+            log.warn("hot set 파일을 저장하지 못했습니다. path={}", hotSetFile.path(), e);
+        }
+    }
+
+    public Phase phase() {
+        return phase;
+    }
+
+    public boolean isReady() {
+        return phase == Phase.READY;
+    }
+
+    public int preloadedUsers() {
+        return preloaded.get();
+    }
+
+    public long warmupOperations() {
+        return operations.get();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        if (isReady())
+            saveHotSet(); // 워밍업 도중 종료하면 아직 채우지 못한 캐시로 이전 hot set 을 덮어쓰지 않는다
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point.warmup;
+
+import io.hhplus.tdd.point.PointServiceImpl;
+import io.hhplus.tdd.point.cache.PointBalanceCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * 시작 워밍업 설정 (point.warmup.enabled=false 면 워밍업 없이 바로 요청을 받는다)
+ * - point.warmup.hot-set-file : 최근 유저 목록을 저장하고 시작할 때 읽는 파일
+ *   노드마다 최근 유저가 다르므로 기본값은 포트별 파일이다. 같은 작업 디렉터리에서 여러 노드를 띄워도 서로 덮어쓰지 않는다.
+ * - point.warmup.hot-set-size : 저장하고 미리 읽을 최대 유저 수
+ * - point.warmup.hot-set-interval-millis : hot set 파일 저장 주기
+ * - point.warmup.threads : preload 조회와 워밍업 부하를 보내는 스레드 수
+ * - point.warmup.operations : 워밍업 부하의 요청 수
+ * - point.warmup.timeout-millis : preload + 워밍업에 쓸 수 있는 최대 시간
+ * readiness 그룹에 pointWarmup 을 넣어야 워밍업이 끝날 때까지 트래픽을 받지 않는다. (application.yml)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "point.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PointWarmupConfig {
+
+    @Bean(destroyMethod = "close")
+    public PointWarmup pointWarmup(
+            PointServiceImpl pointService,
+            PointBalanceCache balanceCache,
+            @Value("${point.warmup.hot-set-file:data/point-hot-set-${server.port:8080}.txt}") String hotSetFile,
+            @Value("${point.warmup.hot-set-size:10000}") int hotSetSize,
+            @Value("${point.warmup.hot-set-interval-millis:60000}") long hotSetIntervalMillis,
+            @Value("${point.warmup.threads:16}") int threads,
+            @Value("${point.warmup.operations:20000}") int operations,
+            @Value("${point.warmup.timeout-millis:120000}") long timeoutMillis
+    ) {
+        PointWarmup warmup = new PointWarmup(pointService, balanceCache, Path.of(hotSetFile),
+                hotSetSize, threads, operations, timeoutMillis, hotSetIntervalMillis);
+        warmup.start();
+        return warmup;
+    }
+
+    // 빈 이름에서 HealthIndicator 를 뺀 pointWarmup 이 health 항목 이름이 된다
+    @Bean
+    public PointWarmupHealthIndicator pointWarmupHealthIndicator(PointWarmup warmup) {
+        return new PointWarmupHealthIndicator(warmup);
+    }
+}
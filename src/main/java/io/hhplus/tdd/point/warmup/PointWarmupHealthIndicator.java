@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * 워밍업이 끝나기 전에는 OUT_OF_SERVICE 를 돌려준다.
+ * readiness 그룹에 넣어 워밍업이 끝난 뒤에 트래픽을 받게 한다. (liveness 에는 넣지 않는다)
+ */
+public class PointWarmupHealthIndicator implements HealthIndicator {
+
+    private final PointWarmup warmup;
+
+    public PointWarmupHealthIndicator(PointWarmup warmup) {
+        this.warmup = warmup;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmup.isReady() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("phase", warmup.phase().name())
+                .withDetail("preloadedUsers", warmup.preloadedUsers())
+                .withDetail("warmupOperations", warmup.warmupOperations())
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package io.hhplus.tdd.point.warmup;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 워밍업 전용 저장소
+ * 워밍업 부하가 실제 유저의 잔액/내역을 남기지 않도록 버리는 저장소에 쓴다.
+ * 지연(throttle) 없이 바로 돌려주므로 짧은 시간에 서비스 코드를 많이 실행해 JIT 컴파일을 끝낸다.
+ * Table 클래스는 변경하지 않고 상속해서 공개 API 만 바꾼다.
+ */
+final class WarmupTables {
+
+    private WarmupTables() {
+    }
+
+    static final class Balances extends UserPointTable {
+        private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+
+    static final class Histories extends PointHistoryTable {
+        private final Map<Long, List<PointHistory>> table = new ConcurrentHashMap<>();
+        private final AtomicLong cursor = new AtomicLong(1);
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+            List<PointHistory> histories = table.computeIfAbsent(userId, id -> new ArrayList<>());
+            synchronized (histories) {
+                histories.add(pointHistory);
+            }
+            return pointHistory;
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            List<PointHistory> histories = table.getOrDefault(userId, List.of());
+            synchronized (histories) {
+                return List.copyOf(histories);
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package io.hhplus.tdd.point;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.scheduler.PointWriteScheduler;
+import io.hhplus.tdd.point.scheduler.WritePriority;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +11,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -18,6 +21,7 @@ import java.util.List;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest // 스프링부트 애플리케이션 전체를 로딩하여 통합테스트를 수행하는 어노테이션. 컨트롤러를 테스트하기 위한 필수적인 요소
+@ActiveProfiles("test") // 백그라운드 작업(워밍업, 감사, 만료)을 끈다 (application-test.yml)
 @AutoConfigureMockMvc // @AutoConfigureMockMvc : MockMvc를 자동으로 설정하여 HTTP 요청을 시뮬레이션 함.
 public class PointControllerTest {
     /**
@@ -38,6 +42,9 @@ public class PointControllerTest {
 
     @Autowired
     private PointService pointService;
+
+    @Autowired
+    private PointWriteScheduler writeScheduler;
     private PointController controller;
 
     @Test
@@ -71,6 +78,28 @@ public class PointControllerTest {
 
     }
 
+    @Test
+    void 특정_유저의_포인트_내역을_페이지로_조회할_수_있다 () throws Exception {
+        // given
+        long userId = 31;
+        for (int i = 0; i < 3; i++)
+            pointService.chargePoint(userId, 1000);
+        List<PointHistory> histories = pointService.getPointHistoryByUserId(userId);
+
+        // when
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/point/" + userId + "/histories").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(histories.get(0).id()));
+        mockMvc.perform(MockMvcRequestBuilders.get("/point/" + userId + "/histories")
+                        .param("afterId", String.valueOf(histories.get(1).id()))
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(histories.get(2).id()));
+    }
+
     @Test
     void 특정_유저의_포인트_충전이_가능하다 () throws Exception {
         // given
@@ -106,4 +135,85 @@ public class PointControllerTest {
                 )
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void 요청_제한시간이_지난_포인트_충전은_503으로_응답한다 () throws Exception {
+        // given
+        long userId = 1;
+        long amount = 1000;
+
+        // 다른 쓰기가 쓰기 권한을 잡고 있어서, 제한시간 50ms 안에 권한을 얻지 못한다.
+        writeScheduler.acquire(WritePriority.BATCH, Long.MAX_VALUE);
+
+        // when
+        // then
+        try {
+            mockMvc.perform(MockMvcRequestBuilders.patch("/point/" + userId + "/charge")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header(PointRequestTimeout.HEADER, 50)
+                            .content(String.valueOf(amount))
+                    )
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.code").value("503"));
+        } finally {
+            writeScheduler.release();
+        }
+    }
+
+    @Test
+    void 요청_제한시간이_너무_크면_최대_제한시간으로_맞춰서_처리한다 () throws Exception {
+        // given
+        long userId = 32;
+        long amount = 1000;
+
+        // when
+        // then
+        // 현재시각에 더하면 넘쳐서 과거의 마감시각이 되는 값이다.
+        mockMvc.perform(MockMvcRequestBuilders.patch("/point/" + userId + "/charge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(PointRequestTimeout.HEADER, Long.MAX_VALUE)
+                        .content(String.valueOf(amount))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(userId));
+    }
+
+    @Test
+    void 포인트가_변경되지_않았으면_조회는_304로_응답한다 () throws Exception {
+        // given
+        long userId = 201;
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/point/" + userId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/point/" + userId)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag));
+    }
+
+    @Test
+    void 포인트가_변경되면_조회는_새로운_ETag와_함께_200으로_응답한다 () throws Exception {
+        // given
+        long userId = 202;
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/point/" + userId + "/histories"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(MockMvcRequestBuilders.patch("/point/" + userId + "/charge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.valueOf(1000)))
+                .andExpect(status().isOk());
+
+        // when
+        // then
+        String newETag = mockMvc.perform(MockMvcRequestBuilders.get("/point/" + userId + "/histories")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andReturn().getResponse().getHeader("ETag");
+        Assertions.assertThat(newETag).isNotEqualTo(eTag);
+    }
 }
@@ -0,0 +1,189 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 서로 겹치지 않는 유저들 사이의 이체
+ * 잠금은 유저마다 따로 기다리지만, 저장소 읽기/쓰기(복구, 잔액 조회, 커밋)는 서로 다른 유저라도 한번에 하나씩 실행된다.
+ */
+public class PointDisjointTransferTest {
+
+    // 저장소 호출이 동시에 몇 개까지 겹쳤는지 센다. 호출마다 고정 지연을 둔다.
+    private static final class Storage {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        void call() {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class Balances extends UserPointTable {
+        private final Storage storage;
+        private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+        Balances(Storage storage) {
+            this.storage = storage;
+        }
+
+        @Override
+        public UserPoint selectById(Long id) {
+            storage.call();
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            storage.call();
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+
+    private static final class Histories extends PointHistoryTable {
+        private final Storage storage;
+        private final List<PointHistory> table = new ArrayList<>();
+        private final AtomicLong cursor = new AtomicLong(1);
+
+        Histories(Storage storage) {
+            this.storage = storage;
+        }
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            storage.call();
+            PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+            synchronized (table) {
+                table.add(pointHistory);
+            }
+            return pointHistory;
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            synchronized (table) {
+                return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("겹치지 않는 유저 쌍들이 동시에 이체해도 저장소 호출은 겹치지 않고 쌍마다 포인트 총합이 유지된다")
+    public void 겹치지_않는_쌍의_이체는_저장소를_한번에_하나씩_쓴다() throws InterruptedException {
+        // given
+        Storage storage = new Storage();
+        Balances userPointRepository = new Balances(storage);
+        Histories pointHistoryRepository = new Histories(storage);
+        PointServiceImpl pointService = PointServiceImpl.builder(pointHistoryRepository, userPointRepository).build();
+
+        long[][] pairs = {{601L, 602L}, {603L, 604L}, {605L, 606L}, {607L, 608L}};
+        long 초기포인트 = 10_000L;
+        for (long[] pair : pairs) {
+            userPointRepository.insertOrUpdate(pair[0], 초기포인트);
+            userPointRepository.insertOrUpdate(pair[1], 초기포인트);
+        }
+        storage.maxInFlight.set(0);
+
+        int transfersPerPair = 10;
+        ExecutorService executorService = Executors.newFixedThreadPool(pairs.length * 2);
+        CountDownLatch latch = new CountDownLatch(pairs.length * transfersPerPair);
+        AtomicInteger failures = new AtomicInteger();
+
+        // when
+        // 쌍마다 두 유저가 서로에게 번갈아 이체한다.
+        for (int i = 0; i < transfersPerPair; i++) {
+            for (long[] pair : pairs) {
+                long from = pair[i % 2];
+                long to = pair[1 - i % 2];
+                executorService.submit(() -> {
+                    try {
+                        pointService.transferPoint(from, to, 100 + from);
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+        }
+        latch.await(60, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        Assertions.assertEquals(0, failures.get());
+        Assertions.assertEquals(1, storage.maxInFlight.get(), "서로 다른 유저의 저장소 호출이 겹쳤습니다.");
+        for (long[] pair : pairs) {
+            long sum = userPointRepository.selectById(pair[0]).point() + userPointRepository.selectById(pair[1]).point();
+            Assertions.assertEquals(초기포인트 * 2, sum);
+            Assertions.assertEquals(transfersPerPair, pointHistoryRepository.selectAllByUserId(pair[0]).size());
+            Assertions.assertEquals(transfersPerPair, pointHistoryRepository.selectAllByUserId(pair[1]).size());
+        }
+    }
+
+    @Test
+    @DisplayName("한 쌍에 이체가 밀려 있어도 다른 쌍의 이체는 그 줄을 기다리지 않고 저장소 차례만 기다린다")
+    public void 다른_쌍의_이체는_유저_잠금_줄을_기다리지_않는다() throws Exception {
+        // given
+        Storage storage = new Storage();
+        Balances userPointRepository = new Balances(storage);
+        PointServiceImpl pointService = PointServiceImpl.builder(new Histories(storage), userPointRepository).build();
+        userPointRepository.insertOrUpdate(611L, 100_000L);
+        userPointRepository.insertOrUpdate(613L, 100_000L);
+
+        int queued = 30;
+        ExecutorService executorService = Executors.newFixedThreadPool(queued + 1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger busyPairDone = new AtomicInteger();
+        List<Future<?>> busyPair = new ArrayList<>();
+        for (int i = 0; i < queued; i++) {
+            busyPair.add(executorService.submit(() -> {
+                started.countDown();
+                pointService.transferPoint(611L, 612L, 100);
+                busyPairDone.incrementAndGet();
+            }));
+        }
+        started.await(5, TimeUnit.SECONDS);
+        TimeUnit.MILLISECONDS.sleep(20); // 611 → 612 이체들이 유저 잠금 줄에 선다
+
+        // when
+        Future<Integer> otherPair = executorService.submit(() -> {
+            pointService.transferPoint(613L, 614L, 100);
+            return busyPairDone.get();
+        });
+        int busyPairDoneBeforeOther = otherPair.get(30, TimeUnit.SECONDS);
+        for (Future<?> future : busyPair)
+            future.get(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        // 다른 쌍의 이체는 611 의 잠금 줄이 다 빠지기 전에 끝난다. (저장소 차례는 이체 한두 건만큼 기다린다)
+        Assertions.assertTrue(busyPairDoneBeforeOther < queued, "밀린 이체 " + busyPairDoneBeforeOther + " 건이 먼저 끝났습니다.");
+        Assertions.assertEquals(1, storage.maxInFlight.get());
+        Assertions.assertEquals(100, userPointRepository.selectById(614L).point());
+        Assertions.assertEquals(queued * 100L, userPointRepository.selectById(612L).point());
+    }
+}
@@ -0,0 +1,244 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.scheduler.FairWriteScheduler;
+import io.hhplus.tdd.point.scheduler.WriteSchedulerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 저장소 쓰기에 장애를 주입해 잔액과 내역이 어긋난 채로 남지 않는지 확인한다.
+ */
+public class PointJournalTest {
+
+    // 쓰기 전 또는 쓴 뒤에 실패하는 저장소. failureRate 가 0 이면 정상 동작한다.
+    private static class FaultyUserPointTable extends UserPointTable {
+        private final Random random;
+        volatile double failureRate;
+
+        FaultyUserPointTable(Random random, double failureRate) {
+            this.random = random;
+            this.failureRate = failureRate;
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            boolean fail = random.nextDouble() < failureRate;
+            boolean afterWrite = random.nextBoolean();
+            if (fail && !afterWrite)
+                throw new RuntimeException("insertOrUpdate 실패 (쓰기 전)");
+            UserPoint userPoint = super.insertOrUpdate(id, amount);
+            if (fail)
+                throw new RuntimeException("insertOrUpdate 실패 (쓴 뒤)");
+            return userPoint;
+        }
+    }
+
+    private static class FaultyPointHistoryTable extends PointHistoryTable {
+        private final Random random;
+        volatile double failureRate;
+
+        FaultyPointHistoryTable(Random random, double failureRate) {
+            this.random = random;
+            this.failureRate = failureRate;
+        }
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            boolean fail = random.nextDouble() < failureRate;
+            boolean afterWrite = random.nextBoolean();
+            if (fail && !afterWrite)
+                throw new RuntimeException("history insert 실패 (쓰기 전)");
+            PointHistory history = super.insert(userId, amount, type, updateMillis);
+            if (fail)
+                throw new RuntimeException("history insert 실패 (쓴 뒤)");
+            return history;
+        }
+    }
+
+    // 정해진 순번의 내역 insert 를 실패시키는 저장소
+    private static PointHistoryTable failingHistoryAt(int failAt, boolean afterWrite) {
+        return new PointHistoryTable() {
+            private int inserts;
+
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                boolean fail = ++inserts == failAt;
+                if (fail && !afterWrite)
+                    throw new RuntimeException("history insert 실패");
+                PointHistory history = super.insert(userId, amount, type, updateMillis);
+                if (fail)
+                    throw new RuntimeException("history insert 실패");
+                return history;
+            }
+        };
+    }
+
+    private static long historySum(PointService pointService, long userId) {
+        long sum = 0;
+        for (PointHistory history : pointService.getPointHistoryByUserId(userId))
+            sum += history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+        return sum;
+    }
+
+    @Test
+    @DisplayName("내역을 쓰기 전에 실패하면 잔액을 되돌리고 실패한다")
+    public void 내역_쓰기에_실패하면_잔액을_되돌린다() {
+        // given
+        PointServiceImpl pointService = PointServiceImpl.builder(failingHistoryAt(2, false), new UserPointTable()).build();
+        long userId = 1;
+        pointService.chargePoint(userId, 3000);
+
+        // when
+        Assertions.assertThrows(RuntimeException.class, () -> pointService.chargePoint(userId, 1000));
+
+        // then
+        Assertions.assertEquals(3000, pointService.getUserPointByUserId(userId).point());
+        Assertions.assertEquals(1, pointService.getPointHistoryByUserId(userId).size());
+        Assertions.assertEquals(0, pointService.pendingJournalEntries());
+    }
+
+    @Test
+    @DisplayName("이체에서 두번째 내역만 실패하면 남은 내역을 다시 써서 커밋을 마친다")
+    public void 이체_내역이_일부만_쓰이면_나머지를_다시_쓴다() {
+        // given
+        PointServiceImpl pointService = PointServiceImpl.builder(failingHistoryAt(3, false), new UserPointTable()).build();
+        long fromUserId = 1;
+        long toUserId = 2;
+        pointService.chargePoint(fromUserId, 3000); // 내역 1
+
+        // when
+        PointTransfer transfer = pointService.transferPoint(fromUserId, toUserId, 1000); // 내역 2 성공, 내역 3 실패 후 redo
+
+        // then
+        Assertions.assertEquals(2000, transfer.from().point());
+        Assertions.assertEquals(1000, transfer.to().point());
+        Assertions.assertEquals(2000, historySum(pointService, fromUserId));
+        Assertions.assertEquals(1000, historySum(pointService, toUserId));
+    }
+
+    @Test
+    @DisplayName("내역은 쓰였지만 실패로 응답하면 중복해서 쓰지 않는다")
+    public void 쓴_뒤에_실패한_내역은_중복해서_쓰지_않는다() {
+        // given
+        PointServiceImpl pointService = PointServiceImpl.builder(failingHistoryAt(3, true), new UserPointTable()).build();
+        long fromUserId = 1;
+        long toUserId = 2;
+        pointService.chargePoint(fromUserId, 3000);
+
+        // when
+        pointService.transferPoint(fromUserId, toUserId, 1000);
+
+        // then
+        Assertions.assertEquals(1, pointService.getPointHistoryByUserId(toUserId).size());
+        Assertions.assertEquals(1000, pointService.getUserPointByUserId(toUserId).point());
+    }
+
+    @Test
+    @DisplayName("나중에 redo 로 마친 커밋도 다음 쓰기 전에 커밋으로 알린다")
+    public void 나중에_redo_한_커밋도_알린다() {
+        // given
+        long fromUserId = 1;
+        long toUserId = 2;
+        AtomicBoolean failing = new AtomicBoolean();
+        PointHistoryTable pointHistoryRepository = new PointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                if (failing.get() && userId == toUserId)
+                    throw new RuntimeException("history insert 실패");
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        };
+        List<PointCommit> commits = new CopyOnWriteArrayList<>();
+        PointServiceImpl pointService = PointServiceImpl.builder(pointHistoryRepository, new UserPointTable())
+                .writeScheduler(new FairWriteScheduler(new WriteSchedulerMetrics(new SimpleMeterRegistry(), "fair")))
+                .commitListeners(List.of(commits::add))
+                .build();
+        pointService.chargePoint(fromUserId, 3000);
+
+        failing.set(true); // 받는 유저의 내역은 redo 까지 모두 실패한다
+        Assertions.assertThrows(RuntimeException.class, () -> pointService.transferPoint(fromUserId, toUserId, 1000));
+        Assertions.assertEquals(1, pointService.pendingJournalEntries());
+        commits.clear();
+
+        // when
+        failing.set(false);
+        pointService.chargePoint(toUserId, 500); // 저널에 남은 이체를 먼저 마무리한다
+
+        // then
+        Assertions.assertEquals(0, pointService.pendingJournalEntries());
+        Assertions.assertEquals(3, commits.size());
+        Assertions.assertEquals(TransactionType.USE, commits.get(0).history().type()); // 이체의 두 커밋이 먼저 알려진다
+        Assertions.assertEquals(2000, commits.get(0).userPoint().point());
+        Assertions.assertEquals(TransactionType.CHARGE, commits.get(1).history().type());
+        Assertions.assertEquals(1000, commits.get(1).userPoint().point());
+        Assertions.assertEquals(1500, commits.get(2).userPoint().point());
+        Assertions.assertEquals(1500, historySum(pointService, toUserId));
+    }
+
+    @Test
+    @DisplayName("쓰기 장애가 섞인 동시 요청 뒤에도 모든 유저의 잔액은 내역 합계와 같다")
+    public void 장애를_주입한_동시_요청에서도_잔액과_내역이_어긋나지_않는다() throws InterruptedException {
+        // given
+        Random random = new Random(7);
+        FaultyUserPointTable userPointRepository = new FaultyUserPointTable(random, 0.2);
+        FaultyPointHistoryTable pointHistoryRepository = new FaultyPointHistoryTable(random, 0.2);
+        PointServiceImpl pointService = PointServiceImpl.builder(pointHistoryRepository, userPointRepository).build();
+        long[] userIds = {1L, 2L, 3L, 4L};
+
+        int threadCount = 6;
+        int requestsPerThread = 6;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        for (int t = 0; t < threadCount; t++) {
+            int finalT = t;
+            executorService.execute(() -> {
+                try {
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        long userId = userIds[(finalT + i) % userIds.length];
+                        long otherUserId = userIds[(finalT + i + 1) % userIds.length];
+                        try {
+                            switch (i % 3) {
+                                case 0 -> pointService.chargePoint(userId, 1000);
+                                case 1 -> pointService.usePoint(userId, 300);
+                                case 2 -> pointService.transferPoint(userId, otherUserId, 200);
+                            }
+                        } catch (RuntimeException ignored) {
+                            // 주입한 장애 또는 잔액 부족
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        // when
+        latch.await(120, TimeUnit.SECONDS);
+        executorService.shutdown();
+        // 장애를 끄고 유저마다 한번씩 충전해 저널에 남은 쓰기를 마무리한다.
+        userPointRepository.failureRate = 0;
+        pointHistoryRepository.failureRate = 0;
+        for (long userId : userIds)
+            pointService.chargePoint(userId, 100);
+
+        // then
+        Assertions.assertEquals(0, pointService.pendingJournalEntries());
+        for (long userId : userIds)
+            Assertions.assertEquals(historySum(pointService, userId), pointService.getUserPointByUserId(userId).point(),
+                    "userId=" + userId + " 잔액과 내역 합계가 다르다");
+    }
+}
@@ -0,0 +1,43 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PointRequestTimeoutTest {
+
+    @Test
+    @DisplayName("요청 제한시간은 1ms ~ 최대 제한시간으로 맞추고, 헤더가 없거나 숫자가 아니면 기본 제한시간을 쓴다")
+    public void 요청_제한시간은_범위_안으로_맞춘다() {
+        // given
+        PointRequestTimeout requestTimeout = new PointRequestTimeout(3_000, 60_000);
+
+        // when
+        // then
+        Assertions.assertEquals(3_000, requestTimeout.timeoutMillis((Long) null));
+        Assertions.assertEquals(3_000, requestTimeout.timeoutMillis((String) null));
+        Assertions.assertEquals(3_000, requestTimeout.timeoutMillis("abc"));
+        Assertions.assertEquals(1, requestTimeout.timeoutMillis(0L));
+        Assertions.assertEquals(1, requestTimeout.timeoutMillis(-5L));
+        Assertions.assertEquals(1, requestTimeout.timeoutMillis("-5"));
+        Assertions.assertEquals(500, requestTimeout.timeoutMillis(" 500"));
+        Assertions.assertEquals(60_000, requestTimeout.timeoutMillis(Long.MAX_VALUE));
+        Assertions.assertEquals(60_000, requestTimeout.timeoutMillis(String.valueOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    @DisplayName("아주 큰 제한시간도 마감시각이 과거로 넘치지 않는다")
+    public void 마감시각은_넘치지_않는다() {
+        // given
+        PointRequestTimeout requestTimeout = new PointRequestTimeout(3_000, 60_000);
+        long now = System.currentTimeMillis();
+
+        // when
+        long deadline = requestTimeout.deadlineOf(Long.MAX_VALUE);
+
+        // then
+        Assertions.assertTrue(deadline > now);
+        Assertions.assertTrue(deadline <= System.currentTimeMillis() + 60_000);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PointRequestTimeout(3_000, 0));
+    }
+}
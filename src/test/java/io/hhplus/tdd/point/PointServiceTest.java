@@ -24,7 +24,7 @@ public class PointServiceTest {
     public void setUp() {
         this.pointHistoryRepository = new PointHistoryTable();
         this.userPointRepository = new UserPointTable();
-        this.pointService = new PointServiceImpl(pointHistoryRepository, userPointRepository);
+        this.pointService = PointServiceImpl.builder(pointHistoryRepository, userPointRepository).build();
     }
 
 
@@ -200,5 +200,97 @@ public class PointServiceTest {
         Assertions.assertEquals(3, list.size());
     }
 
+    @Test
+    @DisplayName("마감시각")
+    public void 마감시각이_지난_충전요청은_저장소작업없이_PointRequestTimeoutException_예외발생으로_실패한다() {
+        // given
+        long userId = 1;
+        long chargeAmount = 1000;
+        long expiredDeadline = System.currentTimeMillis() - 1; // 이미 지난 마감시각
+
+        // when
+        // then
+        Assertions.assertThrows(PointRequestTimeoutException.class, () -> pointService.chargePoint(userId, chargeAmount, expiredDeadline));
+        Assertions.assertEquals(0, pointService.getPointHistoryByUserId(userId).size());
+        Assertions.assertEquals(0, pointService.getUserPointByUserId(userId).point());
+    }
+
+    @Test
+    @DisplayName("마감시각")
+    public void 마감시각이_지난_사용요청은_저장소작업없이_PointRequestTimeoutException_예외발생으로_실패한다() {
+        // given
+        long userId = 1;
+        pointService.chargePoint(userId, 5000); // 보유포인트 5000
+        long expiredDeadline = System.currentTimeMillis() - 1; // 이미 지난 마감시각
+
+        // when
+        // then
+        Assertions.assertThrows(PointRequestTimeoutException.class, () -> pointService.usePoint(userId, 1000, expiredDeadline));
+        Assertions.assertEquals(1, pointService.getPointHistoryByUserId(userId).size());
+        Assertions.assertEquals(5000, pointService.getUserPointByUserId(userId).point());
+    }
+
+    @Test
+    @DisplayName("마감시각")
+    public void 마감시각_안에서는_포인트충전에_성공한다() {
+        // given
+        long userId = 1;
+        long chargeAmount = 1000;
+        long deadline = System.currentTimeMillis() + 10_000;
+
+        // when
+        UserPoint user = pointService.chargePoint(userId, chargeAmount, deadline);
+
+        // then
+        Assertions.assertEquals(chargeAmount, user.point());
+    }
+
+    @Test
+    @DisplayName("포인트 이체")
+    public void 포인트이체_성공() {
+        // given
+        long fromUserId = 1;
+        long toUserId = 2;
+        pointService.chargePoint(fromUserId, 5000);
+
+        // when
+        PointTransfer transfer = pointService.transferPoint(fromUserId, toUserId, 2000);
+
+        // then
+        Assertions.assertEquals(3000, transfer.from().point());
+        Assertions.assertEquals(2000, transfer.to().point());
+        Assertions.assertEquals(TransactionType.USE, pointService.getPointHistoryByUserId(fromUserId).get(1).type());
+        Assertions.assertEquals(TransactionType.CHARGE, pointService.getPointHistoryByUserId(toUserId).get(0).type());
+    }
+
+    @Test
+    @DisplayName("포인트 이체")
+    public void 이체포인트가_보유포인트보다_초과하면_RuntimeException_예외발생으로_실패한다() {
+        // given
+        long fromUserId = 1;
+        long toUserId = 2;
+        pointService.chargePoint(fromUserId, 1000);
+        String expectedErrorMessage = "보유포인트 보다 더 많은 포인트를 사용할 수 없습니다.";
+
+        // when
+        // then
+        RuntimeException exception = Assertions.assertThrows(RuntimeException.class, () -> pointService.transferPoint(fromUserId, toUserId, 2000));
+        Assertions.assertEquals(expectedErrorMessage, exception.getMessage());
+        Assertions.assertEquals(1000, pointService.getUserPointByUserId(fromUserId).point());
+        Assertions.assertEquals(0, pointService.getPointHistoryByUserId(toUserId).size());
+    }
+
+    @Test
+    @DisplayName("포인트 이체")
+    public void 자기_자신에게_이체하면_RuntimeException_예외발생으로_실패한다() {
+        // given
+        long userId = 1;
+        String expectedErrorMessage = "자기 자신에게는 포인트를 이체할 수 없습니다.";
+
+        // when
+        // then
+        RuntimeException exception = Assertions.assertThrows(RuntimeException.class, () -> pointService.transferPoint(userId, userId, 1000));
+        Assertions.assertEquals(expectedErrorMessage, exception.getMessage());
+    }
 
 }
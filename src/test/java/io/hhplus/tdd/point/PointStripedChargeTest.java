@@ -0,0 +1,238 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.hotkey.HotKeyDetector;
+import io.hhplus.tdd.point.scheduler.FairWriteScheduler;
+import io.hhplus.tdd.point.scheduler.PointWriteScheduler;
+import io.hhplus.tdd.point.scheduler.WritePriority;
+import io.hhplus.tdd.point.scheduler.WriteSchedulerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 핫키 유저의 충전이 줄무늬 잔액으로 나뉘어도 잔액과 내역이 맞는지 확인한다.
+ */
+public class PointStripedChargeTest {
+
+    private static final int STRIPES = 4;
+
+    private PointServiceImpl pointService(PointHistoryTable pointHistoryRepository, UserPointTable userPointRepository,
+                                          HotKeyDetector detector) {
+        return PointServiceImpl.builder(pointHistoryRepository, userPointRepository)
+                .writeScheduler(new FairWriteScheduler(new WriteSchedulerMetrics(new SimpleMeterRegistry(), "fair")))
+                .hotKeys(detector)
+                .build();
+    }
+
+    private static long historySum(List<PointHistory> histories) {
+        return histories.stream()
+                .mapToLong(history -> history.type() == TransactionType.CHARGE ? history.amount() : -history.amount())
+                .sum();
+    }
+
+    // 줄무늬 행 아이디 (StripedBalances.rowId)
+    private static long stripeRowId(long userId, int stripe) {
+        return -(userId * STRIPES + stripe + 1);
+    }
+
+    @Test
+    @DisplayName("핫키 유저의 동시 충전은 줄무늬 잔액에 나뉘어 쌓이고, 사용할 때 본 잔액으로 합쳐진다")
+    public void 핫키_유저의_동시_충전은_줄무늬에_쌓이고_사용할때_합쳐진다() throws InterruptedException {
+        // given
+        long userId = 401L;
+        PointHistoryTable pointHistoryRepository = new PointHistoryTable();
+        UserPointTable userPointRepository = new UserPointTable();
+        PointServiceImpl pointService = pointService(pointHistoryRepository, userPointRepository,
+                new HotKeyDetector(4, 1, 60_000, STRIPES));
+        pointService.chargePoint(userId, 100); // 첫 충전에서 핫키가 되어 줄무늬 잔액을 만든다
+
+        int threadCount = 12;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        AtomicInteger failures = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    pointService.chargePoint(userId, 100);
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(60, TimeUnit.SECONDS);
+        executorService.shutdown();
+        boolean stripedAfterCharges = pointService.isStriped(userId);
+        long balanceAfterCharges = pointService.getUserPointByUserId(userId).point();
+        long mainRowAfterCharges = userPointRepository.selectById(userId).point();
+
+        UserPoint afterUse = pointService.usePoint(userId, 500);
+
+        // then
+        Assertions.assertEquals(0, failures.get());
+        Assertions.assertTrue(stripedAfterCharges);
+        Assertions.assertEquals(1_300, balanceAfterCharges);
+        Assertions.assertTrue(mainRowAfterCharges < 1_300); // 충전이 본 행이 아닌 줄무늬 행에 쌓였다
+        Assertions.assertEquals(800, afterUse.point());
+        Assertions.assertEquals(800, userPointRepository.selectById(userId).point());
+        for (int stripe = 0; stripe < STRIPES; stripe++)
+            Assertions.assertEquals(0, userPointRepository.selectById(stripeRowId(userId, stripe)).point());
+        List<PointHistory> histories = pointService.getPointHistoryByUserId(userId);
+        Assertions.assertEquals(14, histories.size());
+        Assertions.assertEquals(800, historySum(histories));
+    }
+
+    @Test
+    @DisplayName("핫키에서 빠진 유저는 다음 사용에서 줄무늬 잔액을 합치고 그만 쓴다")
+    public void 핫키에서_빠진_유저는_줄무늬_잔액을_그만_쓴다() {
+        // given
+        long userId = 402L;
+        HotKeyDetector detector = new HotKeyDetector(1, 1, 60_000, STRIPES);
+        UserPointTable userPointRepository = new UserPointTable();
+        PointServiceImpl pointService = pointService(new PointHistoryTable(), userPointRepository, detector);
+        pointService.chargePoint(userId, 1_000);
+        pointService.chargePoint(userId, 1_000); // 줄무늬 행에 충전된다
+        boolean stripedWhileHot = pointService.isStriped(userId);
+
+        // when
+        for (int i = 0; i < 3; i++)
+            detector.record(999L); // 더 뜨거운 유저가 top-1 자리를 가져간다
+        UserPoint afterUse = pointService.usePoint(userId, 500);
+
+        // then
+        Assertions.assertTrue(stripedWhileHot);
+        Assertions.assertFalse(detector.isHot(userId));
+        Assertions.assertFalse(pointService.isStriped(userId));
+        Assertions.assertEquals(1_500, afterUse.point());
+        Assertions.assertEquals(1_500, userPointRepository.selectById(userId).point());
+    }
+
+    @Test
+    @DisplayName("요청이 끊긴 채 핫키에서 빠진 유저의 줄무늬 잔액은 식히기에서 본 행으로 합쳐진다")
+    public void 요청이_끊긴_유저의_줄무늬_잔액은_식히기에서_합쳐진다() {
+        // given
+        long userId = 404L;
+        HotKeyDetector detector = new HotKeyDetector(4, 1, 60_000, STRIPES);
+        PointHistoryTable pointHistoryRepository = new PointHistoryTable();
+        UserPointTable userPointRepository = new UserPointTable();
+        PointServiceImpl pointService = pointService(pointHistoryRepository, userPointRepository, detector);
+        pointService.chargePoint(userId, 1_000);
+        pointService.chargePoint(userId, 1_000); // 줄무늬 행에 충전된다
+        int mergedWhileHot = pointService.mergeCooledStripes();
+
+        // when
+        detector.advance(System.currentTimeMillis() + 70 * 60_000L); // 요청 없이 창이 여러 번 지나간다
+        int merged = pointService.mergeCooledStripes();
+
+        // then
+        Assertions.assertEquals(0, mergedWhileHot); // 핫키인 동안은 합치지 않는다
+        Assertions.assertFalse(detector.isHot(userId));
+        Assertions.assertEquals(1, merged);
+        Assertions.assertFalse(pointService.isStriped(userId));
+        Assertions.assertEquals(2_000, userPointRepository.selectById(userId).point());
+        for (int stripe = 0; stripe < STRIPES; stripe++)
+            Assertions.assertEquals(0, userPointRepository.selectById(stripeRowId(userId, stripe)).point());
+        Assertions.assertEquals(2, pointHistoryRepository.selectAllByUserId(userId).size()); // 합치기는 내역을 남기지 않는다
+        Assertions.assertEquals(2_000, pointService.getUserPointByUserId(userId).point());
+    }
+
+    @Test
+    @DisplayName("줄무늬 행 쓰기가 실패하면 다음 사용에서 저장소의 행 값을 다시 읽어 합친다")
+    public void 줄무늬_행_쓰기가_실패하면_행_값을_다시_읽는다() {
+        // given
+        long userId = 403L;
+        AtomicBoolean failNextStripe = new AtomicBoolean();
+        UserPointTable userPointRepository = new UserPointTable() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                if (id < 0 && failNextStripe.getAndSet(false))
+                    throw new RuntimeException("줄무늬 행 쓰기 실패");
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        PointHistoryTable pointHistoryRepository = new PointHistoryTable();
+        PointServiceImpl pointService = pointService(pointHistoryRepository, userPointRepository,
+                new HotKeyDetector(4, 1, 60_000, STRIPES));
+        pointService.chargePoint(userId, 1_000);
+        pointService.chargePoint(userId, 1_000); // 줄무늬 행에 충전된다
+
+        // when
+        failNextStripe.set(true);
+        Assertions.assertThrows(RuntimeException.class, () -> pointService.chargePoint(userId, 1_000));
+        UserPoint afterFailure = pointService.getUserPointByUserId(userId); // 저장소의 행을 읽어 합친다
+        UserPoint afterUse = pointService.usePoint(userId, 500);
+
+        // then
+        Assertions.assertEquals(2_000, afterFailure.point());
+        Assertions.assertEquals(1_500, afterUse.point());
+        Assertions.assertEquals(1_500, historySum(pointHistoryRepository.selectAllByUserId(userId)));
+    }
+
+    @Test
+    @DisplayName("쓰기 권한을 얻는 사이에 마감시각이 지난 줄무늬 충전은 아무것도 쓰지 않았으므로 쓰기 실패로 알리지 않는다")
+    public void 줄무늬_충전의_시간초과는_쓰기_실패가_아니다() {
+        // given
+        long userId = 405L;
+        AtomicBoolean slowAcquire = new AtomicBoolean();
+        FairWriteScheduler fair = new FairWriteScheduler(new WriteSchedulerMetrics(new SimpleMeterRegistry(), "fair"));
+        PointWriteScheduler scheduler = new PointWriteScheduler() {
+            @Override
+            public boolean acquire(WritePriority priority, long deadlineMillis) throws InterruptedException {
+                boolean acquired = fair.acquire(priority, deadlineMillis);
+                if (slowAcquire.get())
+                    TimeUnit.MILLISECONDS.sleep(Math.max(0, deadlineMillis - System.currentTimeMillis()) + 5); // 권한을 얻었을 때는 마감시각이 지났다
+                return acquired;
+            }
+
+            @Override
+            public void release() {
+                fair.release();
+            }
+        };
+        List<Long> writeFailures = new CopyOnWriteArrayList<>();
+        PointCommitListener failureListener = new PointCommitListener() {
+            @Override
+            public void onCommit(PointCommit commit) {
+            }
+
+            @Override
+            public void onWriteFailure(long failedUserId, RuntimeException cause) {
+                writeFailures.add(failedUserId);
+            }
+        };
+        UserPointTable userPointRepository = new UserPointTable();
+        PointServiceImpl pointService = PointServiceImpl.builder(new PointHistoryTable(), userPointRepository)
+                .writeScheduler(scheduler)
+                .commitListeners(List.of(failureListener))
+                .hotKeys(new HotKeyDetector(4, 1, 60_000, STRIPES))
+                .build();
+        pointService.chargePoint(userId, 1_000);
+        pointService.chargePoint(userId, 1_000); // 줄무늬 행에 충전된다
+
+        // when
+        slowAcquire.set(true);
+        Assertions.assertThrows(PointRequestTimeoutException.class,
+                () -> pointService.chargePoint(userId, 1_000, System.currentTimeMillis() + 50));
+        slowAcquire.set(false);
+
+        // then
+        Assertions.assertTrue(writeFailures.isEmpty());
+        Assertions.assertTrue(pointService.isStriped(userId)); // 줄무늬 잔액을 버리지 않는다
+        Assertions.assertEquals(2_000, pointService.getUserPointByUserId(userId).point());
+    }
+}
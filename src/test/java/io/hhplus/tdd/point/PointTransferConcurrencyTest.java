@@ -0,0 +1,115 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 포인트 이체 동시성제어 통합테스트
+@SpringBootTest
+@ActiveProfiles("test")
+public class PointTransferConcurrencyTest {
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private UserPointTable userPointRepository;
+
+    @Test
+    @DisplayName("서로 반대 방향 이체가 동시에 실행되어도 deadlock 없이 끝나고 포인트 총합이 유지된다")
+    public void 유저들이_서로에게_동시에_이체하는_시나리오를_성공한다() throws InterruptedException {
+        // given
+        // 네 유저가 원형으로(301→302→303→304→301) 그리고 반대 방향으로 동시에 이체한다.
+        long[] userIds = {301L, 302L, 303L, 304L};
+        long 초기포인트 = 10_000L;
+        for (long userId : userIds)
+            userPointRepository.insertOrUpdate(userId, 초기포인트);
+
+        int threadCount = 24;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        AtomicInteger failures = new AtomicInteger();
+
+        for (int i = 0; i < threadCount; i++) {
+            int finalI = i;
+            executorService.execute(() -> {
+                try {
+                    start.await(); // 모든 스레드가 한꺼번에 시작하도록 맞춘다
+                    long from = userIds[finalI % userIds.length];
+                    long to = userIds[(finalI + (finalI % 2 == 0 ? 1 : userIds.length - 1)) % userIds.length];
+                    pointService.transferPoint(from, to, 100); // 짝수번째는 정방향, 홀수번째는 역방향
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        // when
+        start.countDown();
+        boolean finished = latch.await(60, TimeUnit.SECONDS); // deadlock 이면 끝나지 않는다
+        executorService.shutdownNow();
+
+        // then
+        assertThat(finished).isTrue();
+        assertThat(failures.get()).isZero();
+        long total = 0;
+        for (long userId : userIds)
+            total += userPointRepository.selectById(userId).point();
+        assertThat(total).isEqualTo(초기포인트 * userIds.length); // 이체는 포인트를 만들거나 없애지 않는다
+    }
+
+    @Test
+    @DisplayName("이체와 충전/사용이 같은 유저에 동시에 실행되어도 결과가 정확하다")
+    public void 이체와_충전_사용이_동시에_실행되는_시나리오를_성공한다() throws InterruptedException {
+        // given
+        long userOneId = 311L;
+        long userTwoId = 312L;
+        userPointRepository.insertOrUpdate(userOneId, 5000L);
+        userPointRepository.insertOrUpdate(userTwoId, 5000L);
+
+        int threadCount = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            int finalI = i;
+            executorService.execute(() -> {
+                try {
+                    switch (finalI % 4) {
+                        case 0 -> pointService.transferPoint(userOneId, userTwoId, 300); // 1 → 2 이체
+                        case 1 -> pointService.transferPoint(userTwoId, userOneId, 100); // 2 → 1 이체
+                        case 2 -> pointService.chargePoint(userOneId, 200); // 1 충전
+                        case 3 -> pointService.usePoint(userTwoId, 100); // 2 사용
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        // when
+        boolean finished = latch.await(60, TimeUnit.SECONDS);
+        executorService.shutdownNow();
+
+        // then
+        // 유저1: 5000 - 300*5 + 100*5 + 200*5 = 5000
+        // 유저2: 5000 + 300*5 - 100*5 - 100*5 = 5500
+        assertThat(finished).isTrue();
+        assertThat(userPointRepository.selectById(userOneId).point()).isEqualTo(5000L);
+        assertThat(userPointRepository.selectById(userTwoId).point()).isEqualTo(5500L);
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class PointVersionRegistryTest {
+
+    private static void commit(PointVersionRegistry registry, long userId, long point) {
+        registry.onCommit(new PointCommit(new UserPoint(userId, point, 0),
+                new PointHistory(0, userId, point, TransactionType.CHARGE, 0), false));
+    }
+
+    @Test
+    @DisplayName("재시작한 노드는 같은 변경 횟수라도 이전 실행과 다른 ETag 를 만든다")
+    public void 실행마다_ETag_가_다르다() {
+        // given
+        PointVersionRegistry before = new PointVersionRegistry(100);
+        PointVersionRegistry after = new PointVersionRegistry(100);
+
+        // when
+        commit(before, 1L, 100);
+        commit(after, 1L, 200);
+
+        // then
+        Assertions.assertEquals(before.versionOf(1L), after.versionOf(1L));
+        Assertions.assertNotEquals(before.pointETag(1L), after.pointETag(1L));
+        Assertions.assertNotEquals(before.historyETag(1L), after.historyETag(1L));
+        Assertions.assertNotEquals(before.pointETag(2L), after.pointETag(2L)); // 한번도 변경되지 않은 유저도 다르다
+    }
+
+    @Test
+    @DisplayName("기억하는 유저 수는 제한되고, 잊은 유저도 변경되면 ETag 가 바뀐다")
+    public void 잊은_유저도_변경되면_ETag_가_바뀐다() {
+        // given
+        PointVersionRegistry registry = new PointVersionRegistry(10);
+        Map<Long, Set<String>> staleETags = new HashMap<>(); // 유저마다 변경 전에 받았던 ETag 들
+
+        // when & then
+        for (int round = 0; round < 50; round++) {
+            for (long userId = 1; userId <= 30; userId++) {
+                if ((userId + round) % 7 != 0)
+                    continue;
+                staleETags.computeIfAbsent(userId, id -> new HashSet<>()).add(registry.pointETag(userId));
+                commit(registry, userId, round);
+
+                Assertions.assertTrue(registry.trackedUsers() <= 10, "기억하는 유저 " + registry.trackedUsers());
+                for (Map.Entry<Long, Set<String>> stale : staleETags.entrySet())
+                    Assertions.assertFalse(stale.getValue().contains(registry.pointETag(stale.getKey())),
+                            "변경 전 ETag 가 다시 나왔습니다. userId=" + stale.getKey());
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package io.hhplus.tdd.point.audit;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointCommitListener;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointServiceImpl;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.scheduler.FairWriteScheduler;
+import io.hhplus.tdd.point.scheduler.WriteSchedulerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PointAuditorTest {
+
+    private UserPointTable userPointRepository;
+    private PointServiceImpl pointService;
+    private PointAuditor auditor;
+
+    // 서비스와 감사기를 연결한다. 감사기 스레드는 띄우지 않고 테스트에서 직접 audit 을 호출한다.
+    private void setUp(PointHistoryTable pointHistoryRepository) {
+        setUp(new UserPointTable(), pointHistoryRepository);
+    }
+
+    private void setUp(UserPointTable userPointRepository, PointHistoryTable pointHistoryRepository) {
+        this.userPointRepository = userPointRepository;
+        List<PointCommitListener> listeners = new ArrayList<>();
+        this.pointService = PointServiceImpl.builder(pointHistoryRepository, userPointRepository)
+                .writeScheduler(new FairWriteScheduler(new WriteSchedulerMetrics(new SimpleMeterRegistry(), "fair")))
+                .commitListeners(listeners)
+                .build();
+        this.auditor = new PointAuditor(pointService, new SimpleMeterRegistry(), 0.05, 10, 1000);
+        listeners.add(auditor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        auditor.close();
+    }
+
+    @Test
+    @DisplayName("충전/사용 후 잔액은 포인트 내역 합계와 같다")
+    public void 정상적인_충전_사용은_불일치가_없다() {
+        // given
+        setUp(new PointHistoryTable());
+        long userId = 1;
+        pointService.chargePoint(userId, 3000);
+        pointService.usePoint(userId, 1000);
+
+        // when
+        boolean matched = auditor.audit(userId);
+        pointService.chargePoint(userId, 500); // 커밋으로 누적한 합계와 비교한다
+        boolean matchedAgain = auditor.audit(userId);
+
+        // then
+        Assertions.assertTrue(matched);
+        Assertions.assertTrue(matchedAgain);
+        Assertions.assertEquals(0, auditor.mismatches().size());
+    }
+
+    @Test
+    @DisplayName("잔액 쓰기와 내역 쓰기 사이에서 실패하고 되돌리지도 못하면 불일치로 보고된다")
+    public void 내역_쓰기에_실패하고_되돌리지_못하면_불일치로_보고된다() {
+        // given
+        // 두번째 내역 insert 에서 실패하고, 저널이 잔액을 되돌리는 세번째 잔액 쓰기부터 모두 실패하는 저장소
+        setUp(new UserPointTable() {
+            private int updates;
+
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                if (++updates >= 3)
+                    throw new RuntimeException("insertOrUpdate 실패");
+                return super.insertOrUpdate(id, amount);
+            }
+        }, new PointHistoryTable() {
+            private int inserts;
+
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                if (++inserts == 2)
+                    throw new RuntimeException("history insert 실패");
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        });
+        long userId = 1;
+        pointService.chargePoint(userId, 3000);
+        Assertions.assertThrows(RuntimeException.class, () -> pointService.chargePoint(userId, 1000));
+
+        // when
+        Assertions.assertEquals(1, auditor.dirtyCount()); // 실패한 쓰기도 검사 대상이 된다
+        boolean matched = auditor.audit(userId);
+
+        // then
+        Assertions.assertFalse(matched);
+        AuditMismatch mismatch = auditor.mismatches().iterator().next();
+        Assertions.assertEquals(4000, mismatch.balance());
+        Assertions.assertEquals(3000, mismatch.historySum());
+        Assertions.assertEquals(1000, mismatch.difference());
+    }
+
+    @Test
+    @DisplayName("불일치가 복구되면 다음 검사에서 보고서에서 빠진다")
+    public void 복구된_불일치는_보고서에서_빠진다() {
+        // given
+        setUp(new PointHistoryTable());
+        long userId = 1;
+        pointService.chargePoint(userId, 3000);
+        userPointRepository.insertOrUpdate(userId, 3500); // 내역 없이 잔액만 바뀐다
+        Assertions.assertFalse(auditor.audit(userId));
+
+        // when
+        userPointRepository.insertOrUpdate(userId, 3000); // 잔액을 내역 합계로 맞춘다
+        boolean matched = auditor.audit(userId);
+
+        // then
+        Assertions.assertTrue(matched);
+        Assertions.assertEquals(0, auditor.mismatches().size());
+    }
+
+    @Test
+    @DisplayName("합계를 한 번 센 뒤에는 커밋으로 누적하므로 검사할 때 내역을 다시 읽지 않는다")
+    public void 누적_합계가_맞으면_내역을_다시_읽지_않는다() {
+        // given
+        AtomicInteger historyReads = new AtomicInteger();
+        setUp(new PointHistoryTable() {
+            @Override
+            public List<PointHistory> selectAllByUserId(long userId) {
+                historyReads.incrementAndGet();
+                return super.selectAllByUserId(userId);
+            }
+        });
+        long userId = 1;
+        pointService.chargePoint(userId, 3000);
+        Assertions.assertTrue(auditor.audit(userId)); // 처음 보는 유저는 내역을 센다
+        int readsAfterFirstAudit = historyReads.get();
+
+        // when
+        pointService.usePoint(userId, 1000);
+        pointService.chargePoint(userId, 200);
+        boolean matched = auditor.audit(userId);
+
+        // then
+        Assertions.assertTrue(matched);
+        Assertions.assertEquals(readsAfterFirstAudit, historyReads.get());
+    }
+}
@@ -0,0 +1,87 @@
+package io.hhplus.tdd.point.binary;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.nio.ByteBuffer;
+
+import static io.hhplus.tdd.point.binary.PointBinaryCodec.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class PointBinaryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private ByteBuffer send(byte[] frames) throws Exception {
+        byte[] body = mockMvc.perform(MockMvcRequestBuilders.post("/point/binary")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .accept(MediaType.APPLICATION_OCTET_STREAM)
+                        .header("X-Request-Timeout", 30_000)
+                        .content(frames))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return ByteBuffer.wrap(body);
+    }
+
+    @Test
+    void 한_요청에_담긴_충전_사용_조회_프레임을_순서대로_처리한다() throws Exception {
+        // given
+        long userId = 101;
+        ByteBuffer frames = ByteBuffer.allocate(REQUEST_FRAME_SIZE * 3);
+        writeRequest(frames, OP_CHARGE, userId, 5000);
+        writeRequest(frames, OP_USE, userId, 1500);
+        writeRequest(frames, OP_GET, userId, 0);
+
+        // when
+        ByteBuffer responses = send(frames.array());
+
+        // then
+        Assertions.assertEquals(RESPONSE_FRAME_SIZE * 3, responses.remaining());
+        long[] expectedPoints = {5000, 3500, 3500};
+        for (long expectedPoint : expectedPoints) {
+            Assertions.assertEquals(STATUS_OK, responses.get());
+            Assertions.assertEquals(userId, responses.getLong());
+            Assertions.assertEquals(expectedPoint, responses.getLong());
+            responses.getLong(); // updateMillis
+        }
+    }
+
+    @Test
+    void 실패한_프레임은_상태코드로_응답하고_나머지_프레임은_계속_처리한다() throws Exception {
+        // given
+        long userId = 102;
+        ByteBuffer frames = ByteBuffer.allocate(REQUEST_FRAME_SIZE * 3);
+        writeRequest(frames, OP_USE, userId, 1000);     // 잔액 부족
+        writeRequest(frames, (byte) 9, userId, 0);      // 알 수 없는 op
+        writeRequest(frames, OP_CHARGE, userId, 1000);
+
+        // when
+        ByteBuffer responses = send(frames.array());
+
+        // then
+        Assertions.assertEquals(STATUS_FAILED, responses.get(0));
+        Assertions.assertEquals(STATUS_UNKNOWN_OP, responses.get(RESPONSE_FRAME_SIZE));
+        Assertions.assertEquals(STATUS_OK, responses.get(RESPONSE_FRAME_SIZE * 2));
+        Assertions.assertEquals(1000, responses.getLong(RESPONSE_FRAME_SIZE * 2 + 9));
+    }
+
+    @Test
+    void 프레임_길이가_맞지_않으면_400으로_응답한다() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/point/binary")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .accept(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[REQUEST_FRAME_SIZE + 1]))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point.cache;
+
+import io.hhplus.tdd.point.PointCommit;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class PointBalanceCacheTest {
+
+    private static PointCommit commit(long userId, long point, long updateMillis) {
+        return new PointCommit(new UserPoint(userId, point, updateMillis),
+                new PointHistory(1, userId, point, TransactionType.CHARGE, updateMillis), false);
+    }
+
+    @Test
+    @DisplayName("저장소에서 읽는 동안 커밋된 유저는 읽은 값으로 캐시를 채우지 않는다")
+    public void 읽는_동안_커밋된_유저는_채우지_않는다() {
+        // given
+        PointBalanceCache cache = new PointBalanceCache(10);
+        long token = cache.fillToken(1L);
+        UserPoint read = new UserPoint(1L, 100, 1); // 커밋 전에 읽은 값
+
+        // when
+        cache.onCommit(commit(1L, 200, 2));
+        cache.fill(read, token);
+
+        // then
+        Assertions.assertEquals(200, cache.get(1L).point());
+    }
+
+    @Test
+    @DisplayName("쓰기가 실패한 유저는 캐시에서 빠지고, 그 전에 읽은 값으로도 채우지 않는다")
+    public void 쓰기가_실패한_유저는_캐시에서_빠진다() {
+        // given
+        PointBalanceCache cache = new PointBalanceCache(10);
+        cache.onCommit(commit(1L, 100, 1));
+        long token = cache.fillToken(1L);
+
+        // when
+        cache.onWriteFailure(1L, new RuntimeException("history insert 실패"));
+        cache.fill(new UserPoint(1L, 100, 1), token);
+
+        // then
+        Assertions.assertNull(cache.get(1L));
+    }
+
+    @Test
+    @DisplayName("캐시가 가득 차면 가장 오래 쓰이지 않은 유저부터 빠지고, 최근 유저는 최근에 쓰인 순서로 나온다")
+    public void 가장_오래_쓰이지_않은_유저부터_빠진다() {
+        // given
+        PointBalanceCache cache = new PointBalanceCache(3);
+        cache.fill(new UserPoint(1L, 100, 1), cache.fillToken(1L));
+        cache.fill(new UserPoint(2L, 100, 1), cache.fillToken(2L));
+        cache.fill(new UserPoint(3L, 100, 1), cache.fillToken(3L));
+
+        // when
+        cache.get(1L); // 1 이 가장 최근에 쓰였다
+        cache.onCommit(commit(4L, 100, 1)); // 2 가 빠진다
+
+        // then
+        Assertions.assertNull(cache.get(2L));
+        Assertions.assertEquals(List.of(4L, 1L, 3L), cache.recentUserIds(10));
+        Assertions.assertEquals(List.of(4L), cache.recentUserIds(1));
+    }
+}
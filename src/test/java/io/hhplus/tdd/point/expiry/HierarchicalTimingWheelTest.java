@@ -0,0 +1,83 @@
+package io.hhplus.tdd.point.expiry;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class HierarchicalTimingWheelTest {
+
+    @Test
+    @DisplayName("항목은 만료시각 전에는 나오지 않고, 만료시각 이후 첫 tick 에 나온다")
+    public void 만료시각이_된_tick_에_항목이_나온다() {
+        // given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 2, 3, 0);
+        wheel.schedule(25, "a"); // tick 3 (30ms)
+        wheel.schedule(30, "b"); // tick 3 (30ms)
+        wheel.schedule(1_000, "c"); // 윗단계에서 내려와야 한다
+        List<String> expired = new ArrayList<>();
+
+        // when
+        wheel.advance(29, expired::add);
+        List<String> before = List.copyOf(expired);
+        wheel.advance(30, expired::add);
+        List<String> atThirty = List.copyOf(expired);
+        wheel.advance(999, expired::add);
+        int beforeC = expired.size();
+        wheel.advance(1_000, expired::add);
+
+        // then
+        Assertions.assertEquals(List.of(), before);
+        Assertions.assertEquals(List.of("a", "b"), atThirty);
+        Assertions.assertEquals(2, beforeC);
+        Assertions.assertEquals(List.of("a", "b", "c"), expired);
+        Assertions.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("휠이 덮는 시간보다 먼 항목도 만료시각에 나온다")
+    public void 휠보다_먼_항목도_만료시각에_나온다() {
+        // given
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, 2, 2, 0); // 16 tick 까지만 덮는다
+        wheel.schedule(100, 100L);
+        List<Long> expired = new ArrayList<>();
+
+        // when
+        wheel.advance(99, expired::add);
+        int before = expired.size();
+        wheel.advance(100, expired::add);
+
+        // then
+        Assertions.assertEquals(0, before);
+        Assertions.assertEquals(List.of(100L), expired);
+    }
+
+    @Test
+    @DisplayName("임의의 만료시각들이 모두 정확한 tick 에 나온다")
+    public void 임의의_만료시각들이_정확한_tick_에_나온다() {
+        // given
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, 3, 3, 0);
+        Random random = new Random(42);
+        int count = 10_000;
+        for (int i = 0; i < count; i++) {
+            long expireAt = 1 + random.nextInt(5_000);
+            wheel.schedule(expireAt, expireAt);
+        }
+
+        // when
+        // then
+        long[] now = new long[1];
+        int[] fired = new int[1];
+        for (now[0] = 1; now[0] <= 5_000; now[0]++) {
+            wheel.advance(now[0], expireAt -> {
+                Assertions.assertEquals(now[0], expireAt.longValue());
+                fired[0]++;
+            });
+        }
+        Assertions.assertEquals(count, fired[0]);
+        Assertions.assertFalse(wheel.schedule(5_000, 0L)); // 이미 지난 시각은 넣지 않는다
+    }
+}
@@ -0,0 +1,121 @@
+package io.hhplus.tdd.point.expiry;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointServiceImpl;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.hhplus.tdd.point.PointService.NO_DEADLINE;
+
+public class PointExpirySchedulerTest {
+
+    private PointServiceImpl pointService;
+    private PointExpiryScheduler scheduler;
+
+    @BeforeEach
+    public void setUp() {
+        PointLotStore lotStore = new PointLotStore();
+        this.pointService = PointServiceImpl.builder(new PointHistoryTable(), new UserPointTable()).lotStore(lotStore).build();
+        // 테스트에서 미래 시각으로 tick(now) 을 직접 호출한다. (실제 시각으로 도는 tick 은 만료시각에 닿지 않는다)
+        this.scheduler = new PointExpiryScheduler(pointService, lotStore, new SimpleMeterRegistry(), 1_000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("만료시각이 지나면 남은 프로모션 포인트만 만료되고 EXPIRE 내역이 남는다")
+    public void 만료시각이_지나면_남은_프로모션_포인트가_만료된다() {
+        // given
+        long userId = 1;
+        long now = System.currentTimeMillis();
+        pointService.chargePoint(userId, 1000); // 만료되지 않는 포인트
+        pointService.chargePromotionPoint(userId, 3000, now + 10_000, NO_DEADLINE);
+        pointService.usePoint(userId, 2000); // 프로모션 포인트부터 사용된다
+
+        // when
+        scheduler.tick(now + 5_000); // 아직 만료 전
+        long beforeExpiry = pointService.getUserPointByUserId(userId).point();
+        scheduler.tick(now + 11_000);
+
+        // then
+        // 1000 + 3000 - 2000 = 2000 중 남은 프로모션 포인트 1000 이 만료된다.
+        Assertions.assertEquals(2000, beforeExpiry);
+        Assertions.assertEquals(1000, pointService.getUserPointByUserId(userId).point());
+        List<PointHistory> histories = pointService.getPointHistoryByUserId(userId);
+        PointHistory last = histories.get(histories.size() - 1);
+        Assertions.assertEquals(TransactionType.EXPIRE, last.type());
+        Assertions.assertEquals(1000, last.amount());
+    }
+
+    @Test
+    @DisplayName("만료 전에 모두 사용한 프로모션 포인트는 만료 내역을 남기지 않는다")
+    public void 모두_사용한_프로모션_포인트는_만료되지_않는다() {
+        // given
+        long userId = 2;
+        long now = System.currentTimeMillis();
+        pointService.chargePromotionPoint(userId, 1000, now + 10_000, NO_DEADLINE);
+        pointService.chargePoint(userId, 1000);
+        pointService.usePoint(userId, 1000);
+
+        // when
+        scheduler.tick(now + 11_000);
+
+        // then
+        Assertions.assertEquals(1000, pointService.getUserPointByUserId(userId).point());
+        Assertions.assertEquals(3, pointService.getPointHistoryByUserId(userId).size());
+    }
+
+    @Test
+    @DisplayName("만료 처리에 실패한 유저는 backoff 뒤에 다시 만료된다")
+    public void 만료_처리에_실패하면_다시_시도한다() {
+        // given
+        long userId = 3;
+        long now = System.currentTimeMillis();
+        PointLotStore lotStore = new PointLotStore();
+        AtomicInteger failures = new AtomicInteger(2); // 처음 두 번은 실패한다
+        PointServiceImpl failingService = new PointServiceImpl(
+                PointServiceImpl.builder(new PointHistoryTable(), new UserPointTable()).lotStore(lotStore)) {
+            @Override
+            public UserPoint expirePoint(long userId, long nowMillis) {
+                if (failures.getAndDecrement() > 0)
+                    throw new RuntimeException("만료 처리 실패");
+                return super.expirePoint(userId, nowMillis);
+            }
+        };
+        PointExpiryScheduler retrying = new PointExpiryScheduler(failingService, lotStore, new SimpleMeterRegistry(), 1_000, 5_000, 60_000);
+        failingService.chargePromotionPoint(userId, 1000, now + 10_000, NO_DEADLINE);
+
+        try {
+            // when
+            retrying.tick(now + 11_000); // 실패 → 5초 뒤 재시도
+            retrying.tick(now + 15_000);
+            long beforeRetry = failingService.getUserPointByUserId(userId).point();
+            retrying.tick(now + 17_000); // 실패 → 10초 뒤 재시도
+            retrying.tick(now + 26_000);
+            long beforeSecondRetry = failingService.getUserPointByUserId(userId).point();
+            retrying.tick(now + 28_000); // 성공
+
+            // then
+            Assertions.assertEquals(1000, beforeRetry);
+            Assertions.assertEquals(1000, beforeSecondRetry);
+            Assertions.assertEquals(0, failingService.getUserPointByUserId(userId).point());
+            Assertions.assertEquals(-1, failures.get());
+        } finally {
+            retrying.shutdown();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointServiceImpl;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.scheduler.FairWriteScheduler;
+import io.hhplus.tdd.point.scheduler.WriteSchedulerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class TieredPointHistoryStoreTest {
+
+    // 메모리 내역이 target 개 이하가 될 때까지 기다린다.
+    private static void awaitHotSize(TieredPointHistoryStore store, int target) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (store.hotSize() > target && System.currentTimeMillis() < deadline)
+            TimeUnit.MILLISECONDS.sleep(10);
+    }
+
+    private static long fileCount(Path directory) throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    @DisplayName("블록으로 압축했다가 풀면 id, 유저, 금액, 종류, 시각이 그대로 돌아온다")
+    public void 블록_인코딩_왕복() throws IOException {
+        // given
+        List<PointHistory> histories = List.of(
+                new PointHistory(3, 7, 1000, TransactionType.CHARGE, 1_700_000_000_000L),
+                new PointHistory(9, 7, 500, TransactionType.USE, 1_700_000_000_002L),
+                new PointHistory(4_000_000_000L, 7, Long.MAX_VALUE, TransactionType.EXPIRE, 1_699_999_999_999L));
+
+        // when
+        byte[] encoded = HistoryBlock.encode(7, histories);
+
+        // then
+        Assertions.assertEquals(histories, HistoryBlock.decode(encoded));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HistoryBlock.encode(7, List.of(
+                new PointHistory(2, 7, 0, TransactionType.CHARGE, 0),
+                new PointHistory(1, 7, 0, TransactionType.CHARGE, 0))));
+    }
+
+    @Test
+    @DisplayName("오래 쓰이지 않은 유저의 내역은 디스크로 옮겨지고, 조회는 디스크와 메모리 구간을 id 순서로 이어 읽는다")
+    public void 오래된_내역은_디스크로_옮겨지고_이어서_읽힌다() throws Exception {
+        // given
+        Path directory = Files.createTempDirectory("point-history");
+        long millis = System.currentTimeMillis();
+        try (TieredPointHistoryStore store = new TieredPointHistoryStore(directory, 100)) {
+
+            // when
+            for (int i = 1; i <= 1000; i++)
+                store.insert(i % 13 + 1, i, TransactionType.CHARGE, millis + i);
+            awaitHotSize(store, 100);
+
+            // then
+            Assertions.assertTrue(store.hotSize() <= 100, "메모리에 남은 내역 " + store.hotSize());
+            Assertions.assertTrue(store.archivedEntries() >= 900, "디스크로 옮긴 내역 " + store.archivedEntries());
+            Assertions.assertEquals(1, fileCount(directory));
+
+            int total = 0;
+            for (long userId = 1; userId <= 13; userId++) {
+                List<PointHistory> histories = store.selectAllByUserId(userId);
+                total += histories.size();
+                for (int k = 0; k < histories.size(); k++) {
+                    PointHistory history = histories.get(k);
+                    Assertions.assertEquals(userId, history.userId());
+                    Assertions.assertEquals(history.id(), history.amount()); // i 번째 insert 는 id i, 금액 i
+                    Assertions.assertEquals(millis + history.id(), history.updateMillis());
+                    if (k > 0)
+                        Assertions.assertTrue(histories.get(k - 1).id() < history.id());
+                }
+            }
+            Assertions.assertEquals(1000, total);
+        }
+        Assertions.assertEquals(0, fileCount(directory)); // 닫으면 이 저장소가 만든 파일을 지운다
+    }
+
+    @Test
+    @DisplayName("페이지 조회는 afterId 다음부터 limit 개씩 디스크와 메모리 구간을 넘어 이어진다")
+    public void 페이지_조회는_구간을_넘어_이어진다() throws Exception {
+        // given
+        Path directory = Files.createTempDirectory("point-history");
+        try (TieredPointHistoryStore store = new TieredPointHistoryStore(directory, 8)) {
+            for (int i = 1; i <= 50; i++) {
+                store.insert(1, i, TransactionType.CHARGE, i);
+                store.insert(2 + i % 5, i, TransactionType.USE, i); // 다른 유저들이 유저 1 을 LRU 에서 밀어낸다
+                awaitHotSize(store, 8);
+            }
+
+            // when
+            List<PointHistory> pages = new ArrayList<>();
+            long afterId = 0;
+            int pageCount = 0;
+            while (true) {
+                List<PointHistory> page = store.selectByUserId(1, afterId, 7);
+                if (page.isEmpty())
+                    break;
+                Assertions.assertTrue(page.size() <= 7);
+                pages.addAll(page);
+                afterId = page.get(page.size() - 1).id();
+                pageCount++;
+            }
+
+            // then
+            Assertions.assertTrue(store.archivedEntries() > 0);
+            Assertions.assertEquals(8, pageCount);
+            Assertions.assertEquals(store.selectAllByUserId(1), pages);
+            Assertions.assertEquals(50, pages.size());
+        }
+    }
+
+    @Test
+    @DisplayName("서비스의 내역 조회와 페이지 조회는 계층 저장소에서 읽는다")
+    public void 서비스는_계층_저장소에서_내역을_읽는다() throws Exception {
+        // given
+        Path directory = Files.createTempDirectory("point-history");
+        try (TieredPointHistoryStore store = new TieredPointHistoryStore(directory, 2)) {
+            UserPointTable userPointRepository = new UserPointTable();
+            PointServiceImpl pointService = PointServiceImpl.builder(store, userPointRepository)
+                    .writeScheduler(new FairWriteScheduler(new WriteSchedulerMetrics(new SimpleMeterRegistry(), "fair")))
+                    .build();
+
+            // when
+            for (int i = 0; i < 4; i++) {
+                pointService.chargePoint(501L, 1_000);
+                pointService.chargePoint(502L, 1_000);
+            }
+            pointService.usePoint(501L, 500);
+            awaitHotSize(store, 2);
+            List<PointHistory> all = pointService.getPointHistoryByUserId(501L);
+            List<PointHistory> page = pointService.getPointHistoryByUserId(501L, all.get(1).id(), 2);
+
+            // then
+            Assertions.assertTrue(store.archivedEntries() > 0);
+            Assertions.assertEquals(5, all.size());
+            Assertions.assertEquals(TransactionType.USE, all.get(4).type());
+            Assertions.assertEquals(all.subList(2, 4), page);
+            Assertions.assertThrows(RuntimeException.class, () -> pointService.getPointHistoryByUserId(501L, 0, 0));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point.hotkey;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class HotKeyDetectorTest {
+
+    private static final long WINDOW_MILLIS = 1_000;
+
+    @Test
+    @DisplayName("요청이 몰리는 유저만 핫키가 된다")
+    public void 요청이_몰리는_유저만_핫키가_된다() {
+        // given
+        HotKeyDetector detector = new HotKeyDetector(4, 20, WINDOW_MILLIS, 8);
+        long now = System.currentTimeMillis();
+
+        // when
+        for (long userId = 1; userId <= 1_000; userId++)
+            detector.record(userId, now);
+        for (int i = 0; i < 30; i++)
+            detector.record(7L, now);
+
+        // then
+        Assertions.assertTrue(detector.isHot(7L));
+        Assertions.assertFalse(detector.isHot(8L));
+        Assertions.assertEquals(1, detector.hotKeys().size());
+        Assertions.assertTrue(detector.hotKeys().get(0).estimate() >= 31); // count-min sketch 는 작게 추정하지 않는다
+    }
+
+    @Test
+    @DisplayName("핫키는 요청 수가 많은 K 명만 남는다")
+    public void 핫키는_요청_수가_많은_K명만_남는다() {
+        // given
+        HotKeyDetector detector = new HotKeyDetector(2, 5, WINDOW_MILLIS, 8);
+        long now = System.currentTimeMillis();
+
+        // when
+        for (int i = 0; i < 10; i++)
+            detector.record(3L, now);
+        for (int i = 0; i < 30; i++)
+            detector.record(2L, now);
+        for (int i = 0; i < 50; i++)
+            detector.record(1L, now);
+
+        // then
+        Assertions.assertEquals(List.of(1L, 2L), detector.hotKeys().stream().map(HotKey::userId).toList());
+        Assertions.assertFalse(detector.isHot(3L));
+    }
+
+    @Test
+    @DisplayName("요청이 끊긴 유저는 창이 지날수록 핫키에서 빠진다")
+    public void 요청이_끊긴_유저는_핫키에서_빠진다() {
+        // given
+        HotKeyDetector detector = new HotKeyDetector(4, 20, WINDOW_MILLIS, 8);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 40; i++)
+            detector.record(1L, now);
+
+        // when
+        detector.record(2L, now + WINDOW_MILLIS); // 40 → 20
+        boolean afterOneWindow = detector.isHot(1L);
+        detector.record(2L, now + 2 * WINDOW_MILLIS); // 20 → 10
+        boolean afterTwoWindows = detector.isHot(1L);
+
+        // then
+        Assertions.assertTrue(afterOneWindow);
+        Assertions.assertFalse(afterTwoWindows);
+        Assertions.assertEquals(List.of(), detector.hotKeys());
+    }
+}
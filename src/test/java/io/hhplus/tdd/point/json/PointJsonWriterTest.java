@@ -0,0 +1,124 @@
+package io.hhplus.tdd.point.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PointJsonWriter 의 출력이 Jackson 의 출력과 같은지 확인한다.
+ */
+public class PointJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PointJsonWriter writer = new PointJsonWriter(16); // 버퍼가 늘어나는 경우도 확인한다
+
+    private String written() {
+        return new String(writer.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("UserPoint 를 Jackson 과 같은 JSON 으로 쓴다")
+    public void 유저포인트_직렬화() throws Exception {
+        // given
+        UserPoint userPoint = new UserPoint(1, 4500, 1_700_000_000_000L);
+
+        // when
+        writer.reset().write(userPoint);
+
+        // then
+        Assertions.assertEquals(objectMapper.writeValueAsString(userPoint), written());
+    }
+
+    @Test
+    @DisplayName("음수와 long 경계값도 Jackson 과 같게 쓴다")
+    public void 숫자_경계값_직렬화() throws Exception {
+        // given
+        List<UserPoint> userPoints = List.of(
+                new UserPoint(0, -1, Long.MAX_VALUE),
+                new UserPoint(Long.MIN_VALUE, -1234567890123L, 9));
+
+        for (UserPoint userPoint : userPoints) {
+            // when
+            writer.reset().write(userPoint);
+
+            // then
+            Assertions.assertEquals(objectMapper.writeValueAsString(userPoint), written());
+        }
+    }
+
+    @Test
+    @DisplayName("PointHistory 목록을 Jackson 과 같은 JSON 으로 쓴다")
+    public void 포인트내역_목록_직렬화() throws Exception {
+        // given
+        List<PointHistory> histories = new ArrayList<>();
+        for (int i = 1; i <= 50; i++)
+            histories.add(new PointHistory(i, 7, i * 100L, i % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, 1_700_000_000_000L + i));
+
+        // when
+        writer.reset().write(histories);
+
+        // then
+        Assertions.assertEquals(objectMapper.writeValueAsString(histories), written());
+    }
+
+    @Test
+    @DisplayName("빈 목록은 [] 로 쓴다")
+    public void 빈_포인트내역_목록_직렬화() throws Exception {
+        // when
+        writer.reset().write(List.<PointHistory>of());
+
+        // then
+        Assertions.assertEquals("[]", written());
+    }
+
+    @Test
+    @DisplayName("ErrorResponse 의 한글/이스케이프 문자를 Jackson 과 같게 쓴다")
+    public void 에러응답_직렬화() throws Exception {
+        // given
+        List<ErrorResponse> errorResponses = List.of(
+                new ErrorResponse("500", "에러가 발생했습니다."),
+                new ErrorResponse("400", "\"따옴표\" \\ 줄바꿈\n탭\t제어\u0001 이모지😀"),
+                new ErrorResponse(null, null));
+
+        for (ErrorResponse errorResponse : errorResponses) {
+            // when
+            writer.reset().write(errorResponse);
+
+            // then
+            Assertions.assertEquals(objectMapper.writeValueAsString(errorResponse), written());
+        }
+    }
+
+    @Test
+    @DisplayName("큰 응답으로 늘어난 버퍼는 shrink 에서 처음 크기로 돌아가고, 작은 버퍼는 그대로 재사용한다")
+    public void 큰_버퍼는_처음_크기로_돌아간다() {
+        // given
+        List<PointHistory> histories = new ArrayList<>();
+        for (long i = 1; i <= 1_000; i++)
+            histories.add(new PointHistory(i, 1, i, TransactionType.CHARGE, 1_700_000_000_000L + i));
+        PointJsonWriter reused = new PointJsonWriter(16);
+
+        // when
+        reused.reset().write(new UserPoint(1, 100, 1));
+        int smallCapacity = reused.shrink(1024).capacity();
+        reused.reset().write(histories);
+        int grownCapacity = reused.capacity();
+        reused.shrink(1024);
+
+        // then
+        Assertions.assertTrue(smallCapacity > 16 && smallCapacity <= 1024); // 한도 안의 버퍼는 그대로 둔다
+        Assertions.assertTrue(grownCapacity > 1024);
+        Assertions.assertEquals(16, reused.capacity());
+        Assertions.assertEquals(0, reused.size());
+        Assertions.assertEquals("[]", new String(reused.reset().write(List.<PointHistory>of()).toByteArray(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,153 @@
+package io.hhplus.tdd.point.replication;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointCommitListener;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointServiceImpl;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.scheduler.PriorityWriteScheduler;
+import io.hhplus.tdd.point.scheduler.WriteSchedulerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * localhost 에서 리더 노드 하나와 팔로워 노드 하나를 띄워 복제를 확인한다.
+ */
+public class ReplicationTest {
+
+    private ReplicationLeader leader;
+    private PointServiceImpl leaderService;
+
+    private ReplicationFollower follower;
+    private PointServiceImpl followerService;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        leader = new ReplicationLeader("localhost", 0); // 비어있는 포트
+        leader.start();
+        leaderService = newNode(List.of(leader));
+
+        followerService = newNode(List.of());
+        follower = new ReplicationFollower("localhost", leader.localPort(), followerService);
+        follower.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        follower.close();
+        leader.close();
+    }
+
+    private PointServiceImpl newNode(List<PointCommitListener> listeners) {
+        return PointServiceImpl.builder(new PointHistoryTable(), new UserPointTable())
+                .writeScheduler(new PriorityWriteScheduler(Map.of(), 2000, new WriteSchedulerMetrics(new SimpleMeterRegistry(), "priority")))
+                .commitListeners(listeners)
+                .build();
+    }
+
+    // 팔로워가 리더의 마지막 변경까지 적용할 때까지 기다린다.
+    private void awaitReplication() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (follower.lastAppliedSequence() < leader.lastSequence() && System.currentTimeMillis() < deadline)
+            TimeUnit.MILLISECONDS.sleep(20);
+    }
+
+    @Test
+    @DisplayName("리더에서 충전/사용한 포인트와 내역을 팔로워에서 조회할 수 있다")
+    public void 리더의_포인트변경이_팔로워에_순서대로_복제된다() throws InterruptedException {
+        // given
+        long userId = 1;
+        leaderService.chargePoint(userId, 5000);
+        leaderService.usePoint(userId, 2000);
+        leaderService.chargePoint(userId, 500);
+
+        // when
+        awaitReplication();
+
+        // then
+        Assertions.assertEquals(3, follower.lastAppliedSequence());
+        Assertions.assertEquals(3500, followerService.getUserPointByUserId(userId).point());
+
+        List<PointHistory> histories = followerService.getPointHistoryByUserId(userId);
+        Assertions.assertEquals(3, histories.size());
+        Assertions.assertEquals(TransactionType.CHARGE, histories.get(0).type());
+        Assertions.assertEquals(TransactionType.USE, histories.get(1).type());
+        Assertions.assertEquals(2000, histories.get(1).amount());
+    }
+
+    @Test
+    @DisplayName("늦게 접속한 팔로워도 처음 변경부터 따라온다")
+    public void 늦게_접속한_팔로워도_모든_변경을_받는다() throws Exception {
+        // given
+        leaderService.chargePoint(1, 1000);
+        leaderService.chargePoint(2, 2000);
+
+        PointServiceImpl lateService = newNode(List.of());
+        try (ReplicationFollower late = new ReplicationFollower("localhost", leader.localPort(), lateService)) {
+            // when
+            late.start();
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            while (late.lastAppliedSequence() < 2 && System.currentTimeMillis() < deadline)
+                TimeUnit.MILLISECONDS.sleep(20);
+
+            // then
+            Assertions.assertEquals(1000, lateService.getUserPointByUserId(1).point());
+            Assertions.assertEquals(2000, lateService.getUserPointByUserId(2).point());
+        }
+    }
+
+    @Test
+    @DisplayName("리더가 다시 시작하면 팔로워는 새 리더의 처음 변경부터 다시 받는다")
+    public void 리더가_다시_시작하면_처음부터_다시_받는다() throws Exception {
+        // given
+        leaderService.chargePoint(1, 1000);
+        leaderService.chargePoint(2, 2000);
+        awaitReplication();
+        Assertions.assertEquals(2, follower.lastAppliedSequence());
+        long previousEpoch = follower.leaderEpoch();
+
+        // when
+        int port = leader.localPort();
+        leader.close();
+        leader = new ReplicationLeader("localhost", port); // 같은 포트로 다시 시작한다
+        leader.start();
+        leaderService = newNode(List.of(leader));
+        leaderService.chargePoint(3, 500);
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (follower.resyncs() == 0 && System.currentTimeMillis() < deadline)
+            TimeUnit.MILLISECONDS.sleep(20);
+        awaitReplication();
+
+        // then
+        Assertions.assertEquals(1, follower.resyncs());
+        Assertions.assertNotEquals(previousEpoch, follower.leaderEpoch());
+        Assertions.assertEquals(1, follower.lastAppliedSequence());
+        Assertions.assertEquals(500, followerService.getUserPointByUserId(3).point()); // 새 리더의 순번 1 을 건너뛰지 않는다
+        Assertions.assertEquals(1000, followerService.getUserPointByUserId(1).point()); // 이전 리더에서 받은 잔액은 남는다
+    }
+
+    @Test
+    @DisplayName("팔로워에서 복제받은 변경은 다시 전송하지 않는다")
+    public void 복제받은_변경은_리더_로그에_쌓이지_않는다() throws InterruptedException {
+        // given
+        ReplicationLeader chained = new ReplicationLeader("localhost", 0);
+        PointServiceImpl service = newNode(List.of(chained));
+
+        // when
+        service.applyReplicated(1, 1000, 1000, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // then
+        Assertions.assertEquals(0, chained.lastSequence());
+        Assertions.assertEquals(1000, service.getUserPointByUserId(1).point());
+    }
+}
@@ -0,0 +1,100 @@
+package io.hhplus.tdd.point.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ConsistentHashRingTest {
+
+    private static final List<String> NODES = List.of("http://node-a:8080", "http://node-b:8080", "http://node-c:8080");
+    private static final int USER_COUNT = 30_000;
+
+    @Test
+    @DisplayName("같은 유저아이디는 항상 같은 노드가 소유한다")
+    public void 같은_유저는_같은_노드로_라우팅된다() {
+        // given
+        ConsistentHashRing ring = ConsistentHashRing.of(NODES, 128);
+        ConsistentHashRing sameRing = ConsistentHashRing.of(List.of(NODES.get(2), NODES.get(0), NODES.get(1)), 128);
+
+        // when
+        // then
+        for (long userId = 1; userId <= 1000; userId++)
+            Assertions.assertEquals(ring.ownerOf(userId), sameRing.ownerOf(userId));
+    }
+
+    @Test
+    @DisplayName("가상 노드로 유저가 노드들에 고르게 나뉜다")
+    public void 유저가_노드들에_고르게_분산된다() {
+        // given
+        ConsistentHashRing ring = ConsistentHashRing.of(NODES, 128);
+        Map<String, Integer> owned = new HashMap<>();
+
+        // when
+        for (long userId = 1; userId <= USER_COUNT; userId++)
+            owned.merge(ring.ownerOf(userId), 1, Integer::sum);
+
+        // then
+        // 노드마다 평균(1/3)에서 ±25% 안쪽의 유저를 소유한다.
+        int average = USER_COUNT / NODES.size();
+        for (String node : NODES)
+            Assertions.assertTrue(Math.abs(owned.get(node) - average) < average / 4, node + "=" + owned.get(node));
+    }
+
+    @Test
+    @DisplayName("노드가 합류하면 새 노드로 옮겨가는 유저만 소유 노드가 바뀐다")
+    public void 노드_합류시_새_노드로만_유저가_이동한다() {
+        // given
+        ConsistentHashRing before = ConsistentHashRing.of(NODES, 128);
+        String joined = "http://node-d:8080";
+
+        // when
+        ConsistentHashRing after = before.withNode(joined);
+
+        // then
+        int moved = 0;
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            String owner = after.ownerOf(userId);
+            if (!owner.equals(before.ownerOf(userId))) {
+                Assertions.assertEquals(joined, owner);
+                moved++;
+            }
+        }
+        // 대략 1/4 의 유저만 옮겨간다.
+        Assertions.assertTrue(moved > USER_COUNT / 8 && moved < USER_COUNT * 3 / 8, "moved=" + moved);
+    }
+
+    @Test
+    @DisplayName("노드가 이탈하면 그 노드의 유저만 소유 노드가 바뀐다")
+    public void 노드_이탈시_이탈한_노드의_유저만_이동한다() {
+        // given
+        ConsistentHashRing before = ConsistentHashRing.of(NODES, 128);
+        String left = NODES.get(1);
+
+        // when
+        ConsistentHashRing after = before.withoutNode(left);
+
+        // then
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            String owner = before.ownerOf(userId);
+            if (owner.equals(left))
+                Assertions.assertNotEquals(left, after.ownerOf(userId));
+            else
+                Assertions.assertEquals(owner, after.ownerOf(userId));
+        }
+    }
+
+    @Test
+    @DisplayName("노드가 없으면 라우팅할 수 없다")
+    public void 노드가_없으면_IllegalStateException_예외발생으로_실패한다() {
+        // given
+        ConsistentHashRing ring = ConsistentHashRing.of(List.of(), 128);
+
+        // when
+        // then
+        Assertions.assertThrows(IllegalStateException.class, () -> ring.ownerOf(1));
+    }
+}
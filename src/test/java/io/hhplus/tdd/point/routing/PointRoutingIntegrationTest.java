@@ -0,0 +1,170 @@
+package io.hhplus.tdd.point.routing;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+/**
+ * localhost 에 노드 두 개를 띄워 소유 노드로의 라우팅을 확인한다.
+ */
+public class PointRoutingIntegrationTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private String nodeAUrl;
+    private String nodeBUrl;
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        int portA = freePort();
+        int portB = freePort();
+        nodeAUrl = "http://localhost:" + portA;
+        nodeBUrl = "http://localhost:" + portB;
+        String nodes = nodeAUrl + "," + nodeBUrl;
+
+        nodeA = startNode(portA, nodeAUrl, nodes);
+        nodeB = startNode(portB, nodeBUrl, nodes);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    private ConfigurableApplicationContext startNode(int port, String self, String nodes) {
+        return new SpringApplicationBuilder(TddApplication.class).run(
+                "--spring.profiles.active=test",
+                "--server.port=" + port,
+                "--point.routing.self=" + self,
+                "--point.routing.nodes=" + nodes);
+    }
+
+    private int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // 링에서 owner 노드가 소유하는 첫번째 유저아이디
+    private long userOwnedBy(String owner) {
+        ConsistentHashRing ring = ConsistentHashRing.of(List.of(nodeAUrl, nodeBUrl), 128);
+        long userId = 1;
+        while (!ring.ownerOf(userId).equals(owner))
+            userId++;
+        return userId;
+    }
+
+    private HttpResponse<String> charge(String node, long userId, long amount) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(node + "/point/" + userId + "/charge"))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(amount)))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    @DisplayName("다른 노드가 소유한 유저의 충전 요청은 소유 노드에서 처리된다")
+    public void 다른_노드가_소유한_유저의_충전은_소유_노드로_전달된다() throws Exception {
+        // given
+        long userOnB = userOwnedBy(nodeBUrl);
+
+        // when
+        HttpResponse<String> response = charge(nodeAUrl, userOnB, 1000); // 노드 A 로 요청한다
+
+        // then
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals(1000, nodeB.getBean(PointService.class).getUserPointByUserId(userOnB).point());
+        Assertions.assertEquals(0, nodeA.getBean(UserPointTable.class).selectById(userOnB).point());
+    }
+
+    @Test
+    @DisplayName("이 노드가 소유한 유저의 요청은 이 노드에서 처리된다")
+    public void 이_노드가_소유한_유저의_충전은_이_노드에서_처리된다() throws Exception {
+        // given
+        long userOnA = userOwnedBy(nodeAUrl);
+
+        // when
+        HttpResponse<String> response = charge(nodeAUrl, userOnA, 1000);
+
+        // then
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals(1000, nodeA.getBean(PointService.class).getUserPointByUserId(userOnA).point());
+        Assertions.assertEquals(0, nodeB.getBean(UserPointTable.class).selectById(userOnA).point());
+    }
+
+    @Test
+    @DisplayName("조회 요청도 소유 노드의 데이터를 돌려준다")
+    public void 다른_노드가_소유한_유저의_포인트_조회는_소유_노드의_데이터를_돌려준다() throws Exception {
+        // given
+        long userOnB = userOwnedBy(nodeBUrl);
+        charge(nodeBUrl, userOnB, 2000);
+
+        // when
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(nodeAUrl + "/point/" + userOnB)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // then
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertTrue(response.body().contains("\"point\":2000"), response.body());
+    }
+
+    @Test
+    @DisplayName("클라이언트가 전달 헤더를 붙여도 소유하지 않은 유저의 요청은 처리하지 않는다")
+    public void 전달_헤더를_위조해도_소유_노드가_아니면_421() throws Exception {
+        // given
+        long userOnB = userOwnedBy(nodeBUrl);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(nodeAUrl + "/point/" + userOnB + "/charge"))
+                .header("Content-Type", "application/json")
+                .header(PointRequestRouter.FORWARDED_HEADER, "http://attacker")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("1000"))
+                .build();
+
+        // when
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // then
+        Assertions.assertEquals(421, response.statusCode());
+        Assertions.assertEquals(0, nodeA.getBean(UserPointTable.class).selectById(userOnB).point());
+        Assertions.assertEquals(0, nodeB.getBean(UserPointTable.class).selectById(userOnB).point());
+    }
+
+    @Test
+    @DisplayName("이 노드가 소유하지 않은 유저의 이체는 421 로 응답한다")
+    public void 소유하지_않은_유저의_이체는_421() throws Exception {
+        // given
+        long userOnA = userOwnedBy(nodeAUrl);
+        long userOnB = userOwnedBy(nodeBUrl);
+        charge(nodeAUrl, userOnA, 1000);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(nodeAUrl + "/point/transfer"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"from\":" + userOnA + ",\"to\":" + userOnB + ",\"amount\":500}"))
+                .build();
+
+        // when
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // then
+        Assertions.assertEquals(421, response.statusCode());
+        Assertions.assertEquals(1000, nodeA.getBean(PointService.class).getUserPointByUserId(userOnA).point());
+    }
+}
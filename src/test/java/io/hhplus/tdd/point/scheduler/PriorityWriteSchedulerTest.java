@@ -0,0 +1,123 @@
+package io.hhplus.tdd.point.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class PriorityWriteSchedulerTest {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private PriorityWriteScheduler scheduler(long maxWaitMillis) {
+        return new PriorityWriteScheduler(Map.of(), maxWaitMillis, new WriteSchedulerMetrics(new SimpleMeterRegistry(), "priority"));
+    }
+
+    // 쓰기 권한을 가진 상태에서 대기자를 순서대로 큐에 넣고, 권한을 반납한 뒤 실행된 순서를 돌려준다.
+    private List<WritePriority> runInOrder(PriorityWriteScheduler scheduler, WritePriority... arrivals) throws InterruptedException {
+        List<WritePriority> executed = new CopyOnWriteArrayList<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(arrivals.length);
+        CountDownLatch latch = new CountDownLatch(arrivals.length);
+
+        Assertions.assertTrue(scheduler.acquire(WritePriority.BATCH, NO_DEADLINE)); // 먼저 권한을 잡아둔다
+        for (WritePriority priority : arrivals) {
+            int queuedBefore = scheduler.queueSize(priority);
+            executorService.execute(() -> {
+                try {
+                    if (scheduler.acquire(priority, NO_DEADLINE)) {
+                        executed.add(priority);
+                        scheduler.release();
+                    }
+                } catch (InterruptedException ignored) {
+                } finally {
+                    latch.countDown();
+                }
+            });
+            // 도착 순서를 고정하기 위해 큐에 들어갈 때까지 기다린다.
+            while (scheduler.queueSize(priority) == queuedBefore)
+                Thread.onSpinWait();
+        }
+        scheduler.release();
+
+        latch.await(5, TimeUnit.SECONDS);
+        executorService.shutdown();
+        return executed;
+    }
+
+    @Test
+    @DisplayName("결제 요청은 먼저 도착한 배치 요청보다 먼저 실행된다")
+    public void 결제_요청이_배치_요청보다_먼저_실행된다() throws InterruptedException {
+        // given
+        PriorityWriteScheduler scheduler = scheduler(60_000);
+
+        // when
+        List<WritePriority> executed = runInOrder(scheduler, WritePriority.BATCH, WritePriority.CHARGE, WritePriority.PAYMENT);
+
+        // then
+        Assertions.assertEquals(List.of(WritePriority.PAYMENT, WritePriority.CHARGE, WritePriority.BATCH), executed);
+    }
+
+    @Test
+    @DisplayName("큐가 모두 차있으면 가중치 비율(6:3:1)대로 실행된다")
+    public void 가중치_비율대로_실행된다() throws InterruptedException {
+        // given
+        PriorityWriteScheduler scheduler = scheduler(60_000);
+        WritePriority[] arrivals = new WritePriority[30];
+        for (int i = 0; i < 10; i++) {
+            arrivals[i] = WritePriority.BATCH;
+            arrivals[10 + i] = WritePriority.CHARGE;
+            arrivals[20 + i] = WritePriority.PAYMENT;
+        }
+
+        // when
+        List<WritePriority> executed = runInOrder(scheduler, arrivals);
+
+        // then
+        // 처음 10번의 실행 중 결제 6번, 충전 3번, 배치 1번
+        List<WritePriority> firstRound = executed.subList(0, 10);
+        Assertions.assertEquals(6, firstRound.stream().filter(p -> p == WritePriority.PAYMENT).count());
+        Assertions.assertEquals(3, firstRound.stream().filter(p -> p == WritePriority.CHARGE).count());
+        Assertions.assertEquals(1, firstRound.stream().filter(p -> p == WritePriority.BATCH).count());
+        Assertions.assertEquals(30, executed.size());
+    }
+
+    @Test
+    @DisplayName("maxWait 이상 기다린 요청은 우선순위와 관계없이 먼저 실행된다(기아 방지)")
+    public void 오래_기다린_배치_요청이_먼저_실행된다() throws InterruptedException {
+        // given
+        PriorityWriteScheduler scheduler = scheduler(0); // 모든 요청이 바로 기아 상태가 된다
+
+        // when
+        List<WritePriority> executed = runInOrder(scheduler, WritePriority.BATCH, WritePriority.CHARGE, WritePriority.PAYMENT);
+
+        // then
+        Assertions.assertEquals(List.of(WritePriority.BATCH, WritePriority.CHARGE, WritePriority.PAYMENT), executed);
+    }
+
+    @Test
+    @DisplayName("마감시각까지 쓰기 권한을 얻지 못하면 false 를 반환하고 큐에서 빠진다")
+    public void 마감시각이_지나면_권한을_얻지_못한다() throws InterruptedException {
+        // given
+        PriorityWriteScheduler scheduler = scheduler(60_000);
+        scheduler.acquire(WritePriority.CHARGE, NO_DEADLINE);
+
+        // when
+        boolean acquired = scheduler.acquire(WritePriority.PAYMENT, System.currentTimeMillis() + 50);
+
+        // then
+        Assertions.assertFalse(acquired);
+        Assertions.assertEquals(0, scheduler.queueSize(WritePriority.PAYMENT));
+
+        // 권한을 반납하면 다음 요청은 바로 권한을 얻는다.
+        scheduler.release();
+        Assertions.assertTrue(scheduler.acquire(WritePriority.PAYMENT, System.currentTimeMillis() + 50));
+    }
+}
@@ -0,0 +1,92 @@
+package io.hhplus.tdd.point.scheduler;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class UserLocksTest {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    @Test
+    @DisplayName("잠금을 모두 풀면 유저별 잠금이 남지 않는다")
+    public void 풀린_잠금은_지워진다() throws InterruptedException {
+        // given
+        UserLocks userLocks = new UserLocks();
+
+        // when
+        for (long userId = 1; userId <= 1000; userId++) {
+            Assertions.assertTrue(userLocks.lock(NO_DEADLINE, userId, userId + 1));
+            userLocks.unlock(userId, userId + 1);
+        }
+
+        // then
+        Assertions.assertEquals(0, userLocks.size());
+    }
+
+    @Test
+    @DisplayName("마감시각 안에 잠그지 못한 대기자도 잠금을 남기지 않는다")
+    public void 잠그지_못한_대기자는_잠금을_남기지_않는다() throws Exception {
+        // given
+        UserLocks userLocks = new UserLocks();
+        Assertions.assertTrue(userLocks.lock(NO_DEADLINE, 1, 2));
+
+        // when
+        ExecutorService executorService = Executors.newSingleThreadExecutor(); // 잠금은 재진입되므로 다른 스레드에서 기다린다
+        boolean locked = executorService.submit(() -> userLocks.lock(System.currentTimeMillis() + 50, 2, 3)).get();
+        executorService.shutdown();
+
+        // then
+        Assertions.assertFalse(locked);
+        Assertions.assertEquals(2, userLocks.size()); // 잡고 있는 1, 2 만 남는다
+        userLocks.unlock(1, 2);
+        Assertions.assertEquals(0, userLocks.size());
+    }
+
+    @Test
+    @DisplayName("잠금이 지워졌다가 다시 만들어져도 같은 유저는 한번에 하나씩만 잠근다")
+    public void 같은_유저는_한번에_하나씩만_잠근다() throws InterruptedException {
+        // given
+        UserLocks userLocks = new UserLocks();
+        int threadCount = 8;
+        int rounds = 2000;
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        for (int t = 0; t < threadCount; t++) {
+            executorService.execute(() -> {
+                try {
+                    for (int i = 0; i < rounds; i++) {
+                        userLocks.lock(NO_DEADLINE, 7);
+                        try {
+                            if (inside.incrementAndGet() > 1)
+                                overlaps.incrementAndGet();
+                            inside.decrementAndGet();
+                        } finally {
+                            userLocks.unlock(7);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        Assertions.assertEquals(0, overlaps.get());
+        Assertions.assertEquals(0, userLocks.size());
+    }
+}
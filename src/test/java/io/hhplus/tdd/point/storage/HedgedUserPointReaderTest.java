@@ -0,0 +1,144 @@
+package io.hhplus.tdd.point.storage;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointServiceImpl;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.scheduler.PriorityWriteScheduler;
+import io.hhplus.tdd.point.scheduler.WriteSchedulerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HedgedUserPointReaderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // 첫 조회만 slowMillis 동안 걸리고 이후 조회는 바로 끝나는 저장소
+    private static UserPointReader slowFirstRead(AtomicInteger reads, long slowMillis) {
+        return userId -> {
+            if (reads.incrementAndGet() == 1)
+                sleep(slowMillis);
+            return new UserPoint(userId, 100, 0);
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AdaptiveThreshold fixedThreshold(long millis) {
+        return new AdaptiveThreshold(16, 0.9, 16, 16, TimeUnit.MILLISECONDS.toNanos(millis), 0);
+    }
+
+    @Test
+    @DisplayName("첫 조회가 임계값을 넘으면 헤지 조회를 보내고 먼저 끝난 결과를 돌려준다")
+    public void 느린_조회는_헤지_조회의_결과를_돌려준다() {
+        // given
+        AtomicInteger reads = new AtomicInteger();
+        try (HedgedUserPointReader reader = new HedgedUserPointReader(slowFirstRead(reads, 2_000), registry,
+                fixedThreshold(20), new HedgingBudget(1.0, 1))) {
+
+            // when
+            long start = System.nanoTime();
+            UserPoint userPoint = reader.read(1L);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // then
+            Assertions.assertEquals(100, userPoint.point());
+            Assertions.assertTrue(elapsedMillis < 1_000, "헤지 조회가 먼저 끝나야 한다: " + elapsedMillis + "ms");
+            Assertions.assertEquals(2, reads.get());
+            Assertions.assertEquals(1.0, registry.get("point.read.hedge.sent").counter().count());
+            Assertions.assertEquals(1.0, registry.get("point.read.hedge.won").counter().count());
+        }
+    }
+
+    @Test
+    @DisplayName("헤지 예산이 없으면 느린 조회도 첫 조회의 결과를 기다린다")
+    public void 헤지_예산이_없으면_첫_조회를_기다린다() {
+        // given
+        AtomicInteger reads = new AtomicInteger();
+        try (HedgedUserPointReader reader = new HedgedUserPointReader(slowFirstRead(reads, 200), registry,
+                fixedThreshold(20), new HedgingBudget(0, 1))) {
+
+            // when
+            long start = System.nanoTime();
+            reader.read(1L);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // then
+            Assertions.assertTrue(elapsedMillis >= 200);
+            Assertions.assertEquals(1, reads.get());
+            Assertions.assertEquals(0.0, registry.get("point.read.hedge.sent").counter().count());
+        }
+    }
+
+    @Test
+    @DisplayName("헤지 조회는 조회 대비 예산 비율을 넘지 않는다")
+    public void 헤지_조회는_예산_비율을_넘지_않는다() {
+        // given
+        HedgingBudget budget = new HedgingBudget(0.1, 1);
+        int hedges = 0;
+
+        // when (모든 조회가 임계값을 넘는 상황)
+        for (int i = 0; i < 1_000; i++) {
+            budget.onRead();
+            if (budget.tryHedge())
+                hedges++;
+        }
+
+        // then
+        Assertions.assertEquals(100, hedges);
+    }
+
+    @Test
+    @DisplayName("임계값은 최근 조회 지연의 백분위를 따라간다")
+    public void 임계값은_최근_조회_지연의_백분위를_따라간다() {
+        // given
+        AdaptiveThreshold threshold = new AdaptiveThreshold(100, 0.9, 10, 50, 1_000, 0);
+
+        // when
+        for (int i = 1; i <= 40; i++)
+            threshold.record(i);
+        long beforeWarm = threshold.nanos();
+        for (int i = 41; i <= 100; i++)
+            threshold.record(i);
+        long afterWarm = threshold.nanos();
+        for (int i = 0; i < 100; i++)
+            threshold.record(10_000 + i); // 저장소가 느려졌다
+
+        // then
+        Assertions.assertEquals(1_000, beforeWarm); // 표본이 모이기 전에는 초기값
+        Assertions.assertEquals(90, afterWarm);
+        Assertions.assertEquals(10_089, threshold.nanos());
+    }
+
+    @Test
+    @DisplayName("쓰기는 조회용 reader 의 잔액이 아니라 쓰기 권한 아래에서 읽은 저장소 잔액으로 계산한다")
+    public void 쓰기는_조회용_reader_를_거치지_않는다() {
+        // given
+        UserPointReader stale = userId -> UserPoint.empty(userId); // 잔액을 놓친 조회 (resize 와 겹친 HashMap 조회)
+        PointServiceImpl service = PointServiceImpl.builder(new PointHistoryTable(), new UserPointTable())
+                .writeScheduler(new PriorityWriteScheduler(Map.of(), 2000, new WriteSchedulerMetrics(registry, "priority")))
+                .userPointReader(stale)
+                .build();
+        service.chargePoint(1, 1000);
+
+        // when
+        UserPoint charged = service.chargePoint(1, 500);
+        UserPoint used = service.usePoint(1, 300);
+
+        // then
+        Assertions.assertEquals(1500, charged.point());
+        Assertions.assertEquals(1200, used.point());
+    }
+}
@@ -0,0 +1,238 @@
+package io.hhplus.tdd.point.stream;
+
+import io.hhplus.tdd.point.PointCommit;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+public class PointEventHubTest {
+
+    private static PointEventHub hub() {
+        return new PointEventHub(new SimpleMeterRegistry(), 1, 1_000, 60_000, 60_000);
+    }
+
+    private static PointCommit commit(long userId, long point, long updateMillis) {
+        return new PointCommit(
+                new UserPoint(userId, point, updateMillis),
+                new PointHistory(0, userId, point, TransactionType.CHARGE, updateMillis),
+                false);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+    }
+
+    // 받은 잔액을 기록하는 출구. blockFirst 이면 첫 전송에서 release 될 때까지 멈춘다.
+    private static class RecordingSink implements PointEventSink {
+        final List<Long> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release;
+        volatile boolean broken;
+        volatile boolean closed;
+
+        RecordingSink(boolean blockFirst) {
+            this.release = new CountDownLatch(blockFirst ? 1 : 0);
+        }
+
+        @Override
+        public void send(UserPoint userPoint) throws IOException {
+            if (broken)
+                throw new IOException("broken pipe");
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(userPoint.point());
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            if (broken)
+                throw new IOException("broken pipe");
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Test
+    @DisplayName("구독하면 현재 잔액을 먼저 받고, 이후 커밋된 잔액을 받는다")
+    public void 구독하면_현재_잔액과_이후_변경을_받는다() throws InterruptedException {
+        // given
+        PointEventHub hub = hub();
+        RecordingSink sink = new RecordingSink(false);
+
+        // when
+        hub.subscribe(1L, sink, () -> new UserPoint(1L, 100L, 1L));
+        await(() -> sink.received.size() == 1);
+        hub.onCommit(commit(1L, 300L, 2L));
+        hub.onCommit(commit(2L, 999L, 3L)); // 다른 유저의 변경
+        await(() -> sink.received.size() == 2);
+
+        // then
+        Assertions.assertEquals(List.of(100L, 300L), sink.received);
+        hub.shutdown();
+    }
+
+    @Test
+    @DisplayName("느린 구독자는 중간 잔액을 건너뛰고 최신 잔액만 받는다")
+    public void 느린_구독자는_최신_잔액만_받는다() throws InterruptedException {
+        // given
+        PointEventHub hub = hub();
+        RecordingSink sink = new RecordingSink(true);
+        hub.subscribe(1L, sink, () -> new UserPoint(1L, 0L, 0L));
+        sink.sending.await(5, TimeUnit.SECONDS); // 첫 전송에서 멈춰 있다
+
+        // when
+        for (long i = 1; i <= 100; i++)
+            hub.onCommit(commit(1L, i, i));
+        sink.release.countDown();
+        await(() -> sink.received.size() == 2);
+
+        // then
+        Assertions.assertEquals(List.of(0L, 100L), sink.received);
+        hub.shutdown();
+    }
+
+    @Test
+    @DisplayName("연결이 끊긴 구독자는 heartbeat 에서 정리된다")
+    public void 끊긴_구독자는_정리된다() throws InterruptedException {
+        // given
+        PointEventHub hub = new PointEventHub(new SimpleMeterRegistry(), 1, 1_000, 50, 60_000);
+        RecordingSink sink = new RecordingSink(false);
+        hub.subscribe(1L, sink, () -> new UserPoint(1L, 0L, 0L));
+        await(() -> sink.received.size() == 1);
+
+        // when
+        sink.broken = true;
+        await(() -> hub.subscriberCount() == 0);
+
+        // then
+        Assertions.assertEquals(0, hub.subscriberCount());
+        Assertions.assertTrue(sink.closed);
+        hub.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 유저의 구독과 구독 해제가 겹쳐도 살아있는 구독자는 변경을 받는다")
+    public void 구독과_구독해제가_겹쳐도_구독자를_잃지_않는다() throws Exception {
+        // given
+        PointEventHub hub = hub();
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        List<RecordingSink> alive = new CopyOnWriteArrayList<>();
+
+        // when
+        for (int i = 0; i < 500; i++) {
+            Runnable leaving = hub.subscribe(1L, new RecordingSink(false), () -> new UserPoint(1L, 0L, 0L));
+            RecordingSink staying = new RecordingSink(false);
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?> close = executorService.submit(() -> {
+                start.await();
+                leaving.run();
+                return null;
+            });
+            Future<?> open = executorService.submit(() -> {
+                start.await();
+                hub.subscribe(1L, staying, () -> new UserPoint(1L, 0L, 0L));
+                return null;
+            });
+            start.countDown();
+            close.get();
+            open.get();
+            alive.add(staying);
+        }
+        await(() -> alive.stream().allMatch(sink -> sink.received.size() == 1));
+        hub.onCommit(commit(1L, 700L, 1L));
+        await(() -> alive.stream().allMatch(sink -> sink.received.size() == 2));
+        executorService.shutdown();
+
+        // then
+        Assertions.assertEquals(500, hub.subscriberCount());
+        Assertions.assertTrue(alive.stream().allMatch(sink -> sink.received.equals(List.of(0L, 700L))));
+        hub.shutdown();
+    }
+
+    @Test
+    @DisplayName("받지 않는 구독자의 전송이 제한시간을 넘기면 닫히고, 다른 구독자는 계속 받는다")
+    public void 멈춘_구독자는_닫히고_다른_구독자는_계속_받는다() throws InterruptedException {
+        // given
+        // 전송 스레드가 하나뿐이라 멈춘 구독자가 스레드를 놓지 않으면 다른 구독자는 받지 못한다.
+        PointEventHub hub = new PointEventHub(new SimpleMeterRegistry(), 1, 1_000, 60_000, 100);
+        CountDownLatch stalled = new CountDownLatch(1);
+        RecordingSink stuck = new RecordingSink(false) {
+            @Override
+            public void send(UserPoint userPoint) throws IOException {
+                stalled.countDown();
+                try {
+                    new CountDownLatch(1).await(); // 클라이언트가 받지 않아 쓰기가 끝나지 않는다
+                } catch (InterruptedException e) {
+                    throw new IOException("interrupted");
+                }
+            }
+        };
+        hub.subscribe(1L, stuck, () -> new UserPoint(1L, 0L, 0L));
+        stalled.await(5, TimeUnit.SECONDS);
+
+        // when
+        RecordingSink other = new RecordingSink(false);
+        hub.subscribe(2L, other, () -> new UserPoint(2L, 0L, 0L));
+        hub.onCommit(commit(2L, 700L, 1L));
+        await(() -> other.received.contains(700L));
+
+        // then
+        Assertions.assertTrue(stuck.closed);
+        Assertions.assertEquals(Long.valueOf(700L), other.received.get(other.received.size() - 1)); // 최신 잔액을 받는다
+        Assertions.assertEquals(1, hub.subscriberCount());
+        hub.shutdown();
+    }
+
+    @Test
+    @DisplayName("구독자마다 전송 작업은 하나만 올라가고, 전송 큐가 가득 차면 구독자를 닫는다")
+    public void 구독자의_전송_작업은_하나만_올라간다() {
+        // given
+        List<Runnable> queued = new ArrayList<>();
+        RecordingSink sink = new RecordingSink(false);
+        PointSubscriber subscriber = new PointSubscriber(1L, sink, queued::add, closed -> { });
+
+        // when
+        subscriber.offer(new UserPoint(1L, 100L, 1L));
+        for (int i = 0; i < 100; i++)
+            subscriber.heartbeat();
+        subscriber.offer(new UserPoint(1L, 200L, 2L));
+        int queuedBeforeRun = queued.size();
+        queued.remove(0).run();
+
+        RecordingSink rejectedSink = new RecordingSink(false);
+        PointSubscriber rejected = new PointSubscriber(2L, rejectedSink,
+                task -> { throw new RejectedExecutionException("full"); }, closed -> { });
+        rejected.offer(new UserPoint(2L, 100L, 1L));
+
+        // then
+        Assertions.assertEquals(1, queuedBeforeRun);
+        Assertions.assertEquals(List.of(200L), sink.received);
+        Assertions.assertTrue(queued.isEmpty()); // 잔액을 보냈으므로 밀린 heartbeat 는 따로 보내지 않는다
+        Assertions.assertTrue(rejectedSink.closed);
+    }
+}
@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point.warmup;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointServiceImpl;
+import io.hhplus.tdd.point.cache.PointBalanceCache;
+import io.hhplus.tdd.point.scheduler.FairWriteScheduler;
+import io.hhplus.tdd.point.scheduler.WriteSchedulerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class PointWarmupTest {
+
+    private final UserPointTable userPointRepository = new UserPointTable();
+    private final PointHistoryTable pointHistoryRepository = new PointHistoryTable();
+    private final PointBalanceCache balanceCache = new PointBalanceCache(100);
+    private final PointServiceImpl pointService = PointServiceImpl.builder(pointHistoryRepository, userPointRepository)
+            .writeScheduler(new FairWriteScheduler(new WriteSchedulerMetrics(new SimpleMeterRegistry(), "fair")))
+            .commitListeners(List.of(balanceCache))
+            .balanceCache(balanceCache)
+            .build();
+
+    private static Path tempHotSetFile() throws IOException {
+        return Files.createTempDirectory("point-warmup").resolve("hot-set.txt");
+    }
+
+    @Test
+    @DisplayName("hot set 파일의 유저 잔액을 캐시에 채우고 워밍업 부하를 보낸 뒤 readiness 가 UP 이 된다")
+    public void hot_set_유저를_미리_읽고_워밍업이_끝나면_UP_이_된다() throws IOException {
+        // given
+        Path hotSetFile = tempHotSetFile();
+        Files.write(hotSetFile, List.of("3", "1", "잘못된 줄", "2", "1"));
+        PointWarmup warmup = new PointWarmup(pointService, balanceCache, hotSetFile, 10, 4, 2_000, 30_000, 60_000);
+        PointWarmupHealthIndicator health = new PointWarmupHealthIndicator(warmup);
+        Status before = health.health().getStatus();
+
+        // when
+        warmup.run();
+
+        // then
+        Assertions.assertEquals(Status.OUT_OF_SERVICE, before);
+        Assertions.assertEquals(Status.UP, health.health().getStatus());
+        Assertions.assertEquals(3, warmup.preloadedUsers());
+        Assertions.assertEquals(2_000, warmup.warmupOperations());
+        Assertions.assertEquals(3, balanceCache.size());
+        Assertions.assertEquals(List.of(), pointHistoryRepository.selectAllByUserId(1L)); // 워밍업 부하는 실제 저장소에 쓰지 않는다
+    }
+
+    @Test
+    @DisplayName("최근에 조회된 유저부터 hot set 파일에 저장하고 다음 시작에서 그대로 읽는다")
+    public void 최근_유저를_hot_set_파일에_저장하고_다시_읽는다() throws IOException {
+        // given
+        Path hotSetFile = tempHotSetFile();
+        PointWarmup warmup = new PointWarmup(pointService, balanceCache, hotSetFile, 2, 1, 0, 30_000, 60_000);
+        pointService.getUserPointByUserId(7L);
+        pointService.getUserPointByUserId(8L);
+        pointService.getUserPointByUserId(9L);
+
+        // when
+        warmup.saveHotSet();
+
+        // then
+        Assertions.assertEquals(List.of(9L, 8L), new HotSetFile(hotSetFile).read(10));
+        Assertions.assertFalse(Files.exists(hotSetFile.resolveSibling("hot-set.txt.tmp")));
+    }
+}